@@ -0,0 +1,78 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Identifies an icon of the {@link LoadingSpinner#getIconSequence() iconSequence}, either by index or by key.</p>
+ * <p>Small indices and the first {@link #maxCachedStringKeys} distinct keys are interned: requesting them twice returns the same instance,
+ * so that re-displaying an icon does not allocate. Further keys create a new instance on every request, use {@link #equals(Object)} to compare keys.</p>
+ */
+public class IconKey {
+	private static final int cachedIndexCount = 64;
+	private static final IconKey[] indexKeys = new IconKey[cachedIndexCount];
+	private static final int maxCachedStringKeys = 256;
+	private static final Map<String, IconKey> stringKeys = new ConcurrentHashMap<>();
+
+	static {
+		for (int i = 0; i < cachedIndexCount; i++) {
+			indexKeys[i] = new IconKey(i, null);
+		}
+		// keys displayed by this library itself stay interned, even if the cache is full
+		for (String key : new String[]{LoadingSpinner.trackSuccessIconKey, LoadingSpinner.trackFailureIconKey}) {
+			stringKeys.put(key, new IconKey(null, key));
+		}
+	}
+
+	public final Integer index;
+	public final String key;
+
+	public static IconKey getByIndex(int index) {
+		return index >= 0 && index < cachedIndexCount ? indexKeys[index] : new IconKey(index, null);
+	}
+
+	/**
+	 * @return the key targeting the icon with the given key, or null if the key is null
+	 */
+	public static IconKey getByKey(String key) {
+		if (key == null) {
+			return null;
+		}
+		IconKey iconKey = stringKeys.get(key);
+		if (iconKey != null) {
+			return iconKey;
+		}
+		if (stringKeys.size() >= maxCachedStringKeys) {
+			// do not let arbitrary (e.g. generated) keys grow the cache without bound
+			return new IconKey(null, key);
+		}
+		return stringKeys.computeIfAbsent(key, k -> new IconKey(null, k));
+	}
+
+	private IconKey(Integer index, String key) {
+		this.index = index;
+		this.key = key;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		return o instanceof IconKey other && Objects.equals(index, other.index) && Objects.equals(key, other.key);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(index, key);
+	}
+
+	@Override
+	public String toString() {
+		return "IconKey{"
+				+ "index: " + index
+				+ ", key: '" + key + '\''
+				+ '}';
+	}
+}
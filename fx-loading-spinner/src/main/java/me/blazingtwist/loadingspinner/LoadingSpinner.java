@@ -0,0 +1,1077 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.css.CssMetaData;
+import javafx.css.SimpleStyleableBooleanProperty;
+import javafx.css.SimpleStyleableDoubleProperty;
+import javafx.css.SimpleStyleableObjectProperty;
+import javafx.css.StyleConverter;
+import javafx.css.Styleable;
+import javafx.css.StyleableBooleanProperty;
+import javafx.css.StyleableDoubleProperty;
+import javafx.css.StyleableObjectProperty;
+import javafx.css.StyleableProperty;
+import javafx.css.converter.BooleanConverter;
+import javafx.css.converter.DurationConverter;
+import javafx.css.converter.EnumConverter;
+import javafx.css.converter.SizeConverter;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.layout.Region;
+import javafx.util.Duration;
+
+/**
+ * Fields:
+ * <p>{@link LoadingSpinner#progress}</p>
+ * <p>{@link LoadingSpinner#progressText}</p>
+ * <p>{@link LoadingSpinner#indeterminate}</p>
+ * <p>{@link LoadingSpinner#indeterminateStyle}</p>
+ * <p>{@link LoadingSpinner#startAngle}</p>
+ * <p>{@link LoadingSpinner#radius}</p>
+ * <p>{@link LoadingSpinner#thickness}</p>
+ * <p>{@link LoadingSpinner#paintAnimationSequence}</p>
+ * <p>{@link LoadingSpinner#iconSequence}</p>
+ * <p>{@link LoadingSpinner#displayedIcon}</p>
+ * <p>{@link LoadingSpinner#iconPack}</p>
+ * <p>{@link LoadingSpinner#profile}</p>
+ * <p>{@link LoadingSpinner#clock}</p>
+ * <p>{@link LoadingSpinner#freezeWhenIdle}</p>
+ * <p>{@link LoadingSpinner#maxFps}</p>
+ * <p>{@link LoadingSpinner#animationPriority}</p>
+ * <p>{@link LoadingSpinner#coalesceProgress}</p>
+ * <p>{@link LoadingSpinner#minProgressInterval}</p>
+ * <p>{@link LoadingSpinner#progressSmoothing}</p>
+ * <p>{@link LoadingSpinner#extrapolateProgress}</p>
+ * <p>Properties other than progress, progressText, indeterminate, startAngle, radius, thickness and displayedIcon are created on first access
+ * (by code, binding or css), until then their getters return the value of the {@link LoadingSpinner#profile} or the default.</p>
+ */
+public class LoadingSpinner extends Control {
+	public static final String css_styleClass = "loading-spinner";
+	public static final String css_property_progress = "-ls-progress";
+	public static final String css_property_progress_text = "-ls-progress-text";
+	public static final String css_property_indeterminate = "-ls-indeterminate";
+	public static final String css_property_indeterminateStyle = "-ls-indeterminate-style";
+	public static final String css_property_startAngle = "-ls-start-angle";
+	public static final String css_property_radius = "-ls-radius";
+	public static final String css_property_thickness = "-ls-thickness";
+	public static final String css_property_freezeWhenIdle = "-ls-freeze-when-idle";
+	public static final String css_property_maxFps = "-ls-max-fps";
+	public static final String css_property_animationPriority = "-ls-animation-priority";
+	public static final String css_property_coalesceProgress = "-ls-coalesce-progress";
+	public static final String css_property_minProgressInterval = "-ls-min-progress-interval";
+	public static final String css_property_progressSmoothing = "-ls-progress-smoothing";
+	public static final String css_property_extrapolateProgress = "-ls-extrapolate-progress";
+
+	/**
+	 * Keys of the icons displayed once all futures passed to {@link #track(CompletionStage)} or {@link #trackAll(Collection)} completed.
+	 */
+	public static final String trackSuccessIconKey = "greenCheckMark";
+	public static final String trackFailureIconKey = "redCross";
+
+	/**
+	 * <p>Creates the skin of spinners that do not specify a skin (e.g. via 'setSkin' or '-fx-skin').</p>
+	 * <p>Set to {@link LoadingSpinnerCanvasSkin#LoadingSpinnerCanvasSkin(LoadingSpinner) LoadingSpinnerCanvasSkin::new}
+	 * to render all spinners into a single canvas node.</p>
+	 * <p>default is {@link LoadingSpinnerSkin}</p>
+	 */
+	private static Function<LoadingSpinner, Skin<?>> defaultSkinFactory = LoadingSpinnerSkin::new;
+
+	/**
+	 * <p>Frame rate cap of all spinners that do not specify their own {@link LoadingSpinner#maxFps}. Values <= 0 disable the cap.</p>
+	 *
+	 * <p>default is 0 (animate at the pulse rate)</p>
+	 */
+	private static final DoubleProperty defaultMaxFps = new SimpleDoubleProperty(LoadingSpinner.class, "defaultMaxFps", 0);
+
+	private LoadingSpinnerProgressSink progressSink;
+	private LoadingSpinnerCompletionTracker completionTracker;
+
+	/**
+	 * Icons of the {@link LoadingSpinner#iconSequence} by key, built on the first lookup after the sequence changed.
+	 */
+	private Map<String, LoadingSpinnerAnimatedIcon> iconsByKey;
+
+	/**
+	 * <p>True while an {@link #update(Consumer)} is running, the skin defers its reactions to property changes until it ends.</p>
+	 * <p>Created on first access, the state itself is kept in the update depth.</p>
+	 */
+	private ReadOnlyBooleanWrapper updating;
+	private int updateDepth = 0;
+
+	/**
+	 * <p>Incremented when a setting observed by the skin changes (indeterminateStyle, profile, clock, freezeWhenIdle, maxFps, animationPriority)
+	 * and when the outermost {@link #update(Consumer)} ends.</p>
+	 * <p>Skins observe this instead of the settings themselves, so that most spinners never allocate those properties.
+	 * Created when a skin first observes it.</p>
+	 */
+	private IntegerProperty settingsRevision;
+
+	/**
+	 * <p>Specifies the fill rate and direction of the bar. [-1, +1]</p>
+	 * <p>Negative numbers fill the bar in a counter-clockwise direction from the startAngle.</p>
+	 * <p>Positive numbers fill in a clockwise direction.</p>
+	 *
+	 * <p>default is 0</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_progress}</p>
+	 */
+	private final StyleableDoubleProperty progress = new SimpleStyleableDoubleProperty(
+			StyleableProperties.css_progress, LoadingSpinner.this, "progress", 0d
+	);
+
+	/**
+	 * <p>If enabled, Spinner will additionally display the progress as text. (e.g. '42%')</p>
+	 *
+	 * <p>default is false</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_progress_text}</p>
+	 */
+	private final StyleableBooleanProperty progressText = new SimpleStyleableBooleanProperty(
+			StyleableProperties.css_progress_text, LoadingSpinner.this, "progressText", Boolean.FALSE
+	);
+
+	/**
+	 * <p>If enabled, Spinner will play a rotating, inflating/deflating animation.</p>
+	 *
+	 * <p>You can control the direction of rotation and maximum fill rate by specifying non-zero progress,
+	 * otherwise (counterclockwise, [5°, 250°]) will be used.</p>
+	 *
+	 * <p>For example, 'progress = 0.4' results in an animation with clockwise rotation, deflating to 5° and inflating to 144° (0.4 * 360)</p>
+	 *
+	 * <p>default is false</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_indeterminate}</p>
+	 */
+	private final SimpleStyleableBooleanProperty indeterminate = new SimpleStyleableBooleanProperty(
+			StyleableProperties.css_indeterminate, LoadingSpinner.this, "indeterminate", false
+	);
+
+	/**
+	 * <p>Visual style of the indeterminate animation.</p>
+	 * <p>{@link LoadingSpinnerIndeterminateStyle#ROTATE} keeps the bar at the maximum fill rate of the 'indeterminate' animation
+	 * and only rotates it, which allows the bar to be rendered once and composited as a rotated bitmap.</p>
+	 *
+	 * <p>default is {@link LoadingSpinnerIndeterminateStyle#INFLATE}</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_indeterminateStyle} (e.g. 'rotate')</p>
+	 */
+	private StyleableObjectProperty<LoadingSpinnerIndeterminateStyle> indeterminateStyle;
+
+	/**
+	 * <p>Specifies the angle (in degrees) from which the bar starts filling. [-360, +360]</p>
+	 *
+	 * <p>When 'indeterminate' is enabled, this specifies an offset to the animation.
+	 * The animation will be offset by the specified startAngle, in the direction of rotation.</p>
+	 *
+	 * <p>The angle is measured clockwise starting from the 3 o'clock position.</p>
+	 *
+	 * <p>default is 0</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_startAngle}</p>
+	 */
+	private final StyleableDoubleProperty startAngle = new SimpleStyleableDoubleProperty(
+			StyleableProperties.css_startAngle, LoadingSpinner.this, "startAngle", 0d
+	);
+
+	/**
+	 * <p>Radius of the progress bar.</p>
+	 *
+	 * <p>default is -1 (try fill parent | Region.USE_COMPUTED_SIZE)</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_radius}</p>
+	 */
+	private final StyleableDoubleProperty radius = new SimpleStyleableDoubleProperty(
+			StyleableProperties.css_radius, LoadingSpinner.this, "radius", Region.USE_COMPUTED_SIZE
+	);
+
+	/**
+	 * <p>Thickness of the progress bar.</p>
+	 * <p>Also sets the stroke-width for animated SVG paths.</p>
+	 *
+	 * <p>default is 1</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_thickness}</p>
+	 */
+	private final StyleableDoubleProperty thickness = new SimpleStyleableDoubleProperty(
+			StyleableProperties.css_thickness, LoadingSpinner.this, "thickness", 1d
+	);
+
+	/**
+	 * <p>May contain 0 or more info objects that define the color of the progress bar.</p>
+	 * <p>Until the list is modified, the sequence of the {@link LoadingSpinner#profile} is used.
+	 * Once modified, it is used even when empty, until {@link #resetPaintAnimationSequence()} is called.</p>
+	 * <p>Created on first access, spinners configured by a profile only never allocate it.</p>
+	 */
+	private ObservableList<LoadingSpinnerPaintAnimationInfo> paintAnimationSequence;
+	private boolean paintAnimationSequenceSet = false;
+
+	/**
+	 * <p>May contain 0 or more animated icons.</p>
+	 * <p>Until the list is modified, the sequence of the {@link LoadingSpinner#profile} is used.
+	 * Once modified, it is used even when empty, until {@link #resetIconSequence()} is called.</p>
+	 * <p>Created on first access, spinners configured by a profile only never allocate it.</p>
+	 */
+	private ObservableList<LoadingSpinnerAnimatedIcon> iconSequence;
+	private boolean iconSequenceSet = false;
+
+	/**
+	 * <p>Shared configuration, used for all fields of {@link LoadingSpinnerProfile} that this spinner does not set itself. May be null.</p>
+	 */
+	private ObjectProperty<LoadingSpinnerProfile> profile;
+
+	/**
+	 * Incremented when the paint / icon sequence of this spinner changes, created when a skin first observes them.
+	 */
+	private IntegerProperty paintSequenceRevision;
+	private IntegerProperty iconSequenceRevision;
+
+	/**
+	 * <p>A key to an Icon in the {@link LoadingSpinner#iconSequence}, or null if no Icon should be shown.</p>
+	 * <p>The Spinner will automatically handle animating to this icon when this property changes.</p>
+	 */
+	private final ObjectProperty<IconKey> displayedIcon = new SimpleObjectProperty<>(
+			LoadingSpinner.this, "displayedIcon", null
+	);
+
+	/**
+	 * <p>Icons looked up by key when the key is not part of the {@link LoadingSpinner#iconSequence}, may be null.</p>
+	 * <p>Icons are decoded from the pack on their first display.</p>
+	 */
+	private ObjectProperty<LoadingSpinnerIconPack> iconPack;
+
+	/**
+	 * <p>Time source for animations driven by the {@link LoadingSpinnerAnimationEngine},
+	 * the {@link LoadingSpinner#minProgressInterval minimum progress interval} and the {@link LoadingSpinner#freezeWhenIdle idle freeze} delay.</p>
+	 * <p>Replace with a {@link LoadingSpinnerClock.Manual} to step animations deterministically.</p>
+	 * <p>Animations played by per-skin timelines run in real time, i.e. all animations while the engine is disabled, as well as the icon movement and progress text fade.</p>
+	 *
+	 * <p>default is {@link LoadingSpinnerClock#SYSTEM}</p>
+	 */
+	private ObjectProperty<LoadingSpinnerClock> clock;
+
+	/**
+	 * <p>If enabled, the skin caches its rendered nodes as a bitmap once no animation has been running for a moment.</p>
+	 * <p>The cache is dropped as soon as a property changes or an animation starts.
+	 * Useful for many spinners that rest at a fixed percentage or icon, e.g. in tables.</p>
+	 *
+	 * <p>default is false</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_freezeWhenIdle}</p>
+	 */
+	private StyleableBooleanProperty freezeWhenIdle;
+
+	/**
+	 * <p>Maximum rate at which the animations of this spinner update, e.g. to reduce screen updates over remote desktop connections.</p>
+	 * <p>Only animated motion is throttled, changes of progress or icon still start their effect immediately.</p>
+	 * <p>Values <= 0 fall back to {@link LoadingSpinner#defaultMaxFps}.</p>
+	 *
+	 * <p>default is 0</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_maxFps}</p>
+	 */
+	private StyleableDoubleProperty maxFps;
+
+	/**
+	 * <p>Rank of this spinner in the {@link LoadingSpinnerAnimationScheduler}, spinners with higher priority keep animating first.</p>
+	 *
+	 * <p>default is 0</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_animationPriority}</p>
+	 */
+	private StyleableDoubleProperty animationPriority;
+
+	/**
+	 * <p>If enabled, progress changes that are not visible are not written to the scene graph:
+	 * the percentage text is only updated when the rounded percentage changes,
+	 * the bar is only updated when its end moves by at least one device pixel, or when it reaches 0 or a full circle.</p>
+	 * <p>Useful when the progress is bound to a source that reports many small steps, e.g. a 'Task' updating per processed record.</p>
+	 *
+	 * <p>default is false</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_coalesceProgress}</p>
+	 */
+	private StyleableBooleanProperty coalesceProgress;
+
+	/**
+	 * <p>Minimum time between two visual updates of the progress.
+	 * Changes arriving earlier are delayed, the latest progress is shown on the first pulse after the interval has passed
+	 * on the {@link LoadingSpinner#clock clock}.</p>
+	 *
+	 * <p>default is 0ms</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_minProgressInterval} (e.g. '100ms')</p>
+	 */
+	private StyleableObjectProperty<Duration> minProgressInterval;
+
+	/**
+	 * <p>Time constant of the determinate progress smoothing.
+	 * If greater than 0, the bar eases towards each new progress instead of jumping, covering about 63% of the remaining distance per time constant.</p>
+	 * <p>Allows producers to report progress only a few times per second, without the bar looking choppy.
+	 * The smoothing is driven by the {@link LoadingSpinnerAnimationEngine} pulse.</p>
+	 *
+	 * <p>default is 0ms (disabled)</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_progressSmoothing} (e.g. '250ms')</p>
+	 */
+	private StyleableObjectProperty<Duration> progressSmoothing;
+
+	/**
+	 * <p>If enabled, the smoothed bar keeps moving at the rate observed between the last two progress changes,
+	 * at most until it is one step ahead of the latest progress. Only used while {@link LoadingSpinner#progressSmoothing} is enabled.</p>
+	 *
+	 * <p>default is false</p>
+	 * <p>can be specified with css {@link LoadingSpinner#css_property_extrapolateProgress}</p>
+	 */
+	private StyleableBooleanProperty extrapolateProgress;
+
+	public LoadingSpinner() {
+		getStyleClass().add(css_styleClass);
+	}
+
+	/**
+	 * {@link LoadingSpinner#progress see field javadoc}
+	 */
+	public StyleableDoubleProperty progressProperty() {
+		return progress;
+	}
+
+	/**
+	 * {@link LoadingSpinner#progressText see field javadoc}
+	 */
+	public StyleableBooleanProperty progressTextProperty() {
+		return progressText;
+	}
+
+	/**
+	 * {@link LoadingSpinner#indeterminate see field javadoc}
+	 */
+	public SimpleStyleableBooleanProperty indeterminateProperty() {
+		return indeterminate;
+	}
+
+	/**
+	 * {@link LoadingSpinner#indeterminateStyle see field javadoc}
+	 */
+	public StyleableObjectProperty<LoadingSpinnerIndeterminateStyle> indeterminateStyleProperty() {
+		if (indeterminateStyle == null) {
+			indeterminateStyle = observeSetting(new SimpleStyleableObjectProperty<>(
+					StyleableProperties.css_indeterminateStyle, LoadingSpinner.this, "indeterminateStyle", LoadingSpinnerIndeterminateStyle.INFLATE
+			));
+		}
+		return indeterminateStyle;
+	}
+
+	/**
+	 * {@link LoadingSpinner#startAngle see field javadoc}
+	 */
+	public StyleableDoubleProperty startAngleProperty() {
+		return startAngle;
+	}
+
+	/**
+	 * {@link LoadingSpinner#radius see field javadoc}
+	 */
+	public StyleableDoubleProperty radiusProperty() {
+		return radius;
+	}
+
+	/**
+	 * {@link LoadingSpinner#thickness see field javadoc}
+	 */
+	public StyleableDoubleProperty thicknessProperty() {
+		return thickness;
+	}
+
+	/**
+	 * {@link LoadingSpinner#paintAnimationSequence see field javadoc}
+	 */
+	public ObservableList<LoadingSpinnerPaintAnimationInfo> getPaintAnimationSequence() {
+		if (paintAnimationSequence == null) {
+			paintAnimationSequence = FXCollections.observableArrayList();
+			paintAnimationSequence.addListener((InvalidationListener) observable -> {
+				paintAnimationSequenceSet = true;
+				incrementRevision(paintSequenceRevision);
+			});
+		}
+		return paintAnimationSequence;
+	}
+
+	/**
+	 * Clears the {@link LoadingSpinner#paintAnimationSequence}, so that the sequence of the {@link LoadingSpinner#profile} is used again.
+	 */
+	public void resetPaintAnimationSequence() {
+		// as one update, so that the skin does not start the cleared sequence before the profile's
+		update(spinner -> {
+			if (paintAnimationSequence != null) {
+				paintAnimationSequence.clear();
+			}
+			if (paintAnimationSequenceSet) {
+				paintAnimationSequenceSet = false;
+				incrementRevision(paintSequenceRevision);
+			}
+		});
+	}
+
+	/**
+	 * {@link LoadingSpinner#iconSequence see field javadoc}
+	 */
+	public ObservableList<LoadingSpinnerAnimatedIcon> getIconSequence() {
+		if (iconSequence == null) {
+			iconSequence = FXCollections.observableArrayList();
+			iconSequence.addListener((InvalidationListener) observable -> {
+				iconSequenceSet = true;
+				iconsByKey = null;
+				incrementRevision(iconSequenceRevision);
+			});
+		}
+		return iconSequence;
+	}
+
+	/**
+	 * Clears the {@link LoadingSpinner#iconSequence}, so that the sequence of the {@link LoadingSpinner#profile} is used again.
+	 */
+	public void resetIconSequence() {
+		update(spinner -> {
+			if (iconSequence != null) {
+				iconSequence.clear();
+			}
+			if (iconSequenceSet) {
+				iconSequenceSet = false;
+				incrementRevision(iconSequenceRevision);
+			}
+		});
+	}
+
+	/**
+	 * @return the {@link LoadingSpinner#paintAnimationSequence}, or the one of the {@link LoadingSpinner#profile} until it is modified
+	 */
+	List<LoadingSpinnerPaintAnimationInfo> getEffectivePaintAnimationSequence() {
+		if (paintAnimationSequenceSet) {
+			return paintAnimationSequence;
+		}
+		LoadingSpinnerProfile currentProfile = getProfile();
+		return currentProfile != null ? currentProfile.getPaintAnimationSequence() : List.of();
+	}
+
+	/**
+	 * @return the {@link LoadingSpinner#iconSequence}, or the one of the {@link LoadingSpinner#profile} until it is modified
+	 */
+	List<LoadingSpinnerAnimatedIcon> getEffectiveIconSequence() {
+		if (iconSequenceSet) {
+			return iconSequence;
+		}
+		LoadingSpinnerProfile currentProfile = getProfile();
+		return currentProfile != null ? currentProfile.getIconSequence() : List.of();
+	}
+
+	/**
+	 * Observed by skins instead of the {@link LoadingSpinner#paintAnimationSequence}, so that observing does not allocate it.
+	 */
+	ReadOnlyIntegerProperty paintSequenceRevisionProperty() {
+		if (paintSequenceRevision == null) {
+			paintSequenceRevision = new SimpleIntegerProperty(LoadingSpinner.this, "paintSequenceRevision", 0);
+		}
+		return paintSequenceRevision;
+	}
+
+	/**
+	 * Observed by skins instead of the {@link LoadingSpinner#iconSequence}, so that observing does not allocate it.
+	 */
+	ReadOnlyIntegerProperty iconSequenceRevisionProperty() {
+		if (iconSequenceRevision == null) {
+			iconSequenceRevision = new SimpleIntegerProperty(LoadingSpinner.this, "iconSequenceRevision", 0);
+		}
+		return iconSequenceRevision;
+	}
+
+	/**
+	 * {@link LoadingSpinner#settingsRevision see field javadoc}
+	 */
+	ReadOnlyIntegerProperty settingsRevisionProperty() {
+		if (settingsRevision == null) {
+			settingsRevision = new SimpleIntegerProperty(LoadingSpinner.this, "settingsRevision", 0);
+		}
+		return settingsRevision;
+	}
+
+	/**
+	 * Adds the setting to the {@link LoadingSpinner#settingsRevision}, called when its property is created.
+	 */
+	private <T extends ObservableValue<?>> T observeSetting(T property) {
+		property.addListener((ChangeListener<Object>) (observable, oldValue, newValue) -> incrementRevision(settingsRevision));
+		return property;
+	}
+
+	private static void incrementRevision(IntegerProperty revision) {
+		if (revision != null) {
+			revision.set(revision.get() + 1);
+		}
+	}
+
+	/**
+	 * {@link LoadingSpinner#profile see field javadoc}
+	 */
+	public ObjectProperty<LoadingSpinnerProfile> profileProperty() {
+		if (profile == null) {
+			profile = observeSetting(new SimpleObjectProperty<>(LoadingSpinner.this, "profile", null));
+		}
+		return profile;
+	}
+
+	/**
+	 * {@link LoadingSpinner#displayedIcon see field javadoc}
+	 */
+	public ObjectProperty<IconKey> displayedIconProperty() {
+		return displayedIcon;
+	}
+
+	/**
+	 * {@link LoadingSpinner#iconPack see field javadoc}
+	 */
+	public ObjectProperty<LoadingSpinnerIconPack> iconPackProperty() {
+		if (iconPack == null) {
+			iconPack = new SimpleObjectProperty<>(LoadingSpinner.this, "iconPack", null);
+		}
+		return iconPack;
+	}
+
+	/**
+	 * {@link LoadingSpinner#clock see field javadoc}
+	 */
+	public ObjectProperty<LoadingSpinnerClock> clockProperty() {
+		if (clock == null) {
+			clock = observeSetting(new SimpleObjectProperty<>(LoadingSpinner.this, "clock", LoadingSpinnerClock.SYSTEM));
+		}
+		return clock;
+	}
+
+	/**
+	 * {@link LoadingSpinner#freezeWhenIdle see field javadoc}
+	 */
+	public StyleableBooleanProperty freezeWhenIdleProperty() {
+		if (freezeWhenIdle == null) {
+			freezeWhenIdle = observeSetting(new SimpleStyleableBooleanProperty(
+					StyleableProperties.css_freezeWhenIdle, LoadingSpinner.this, "freezeWhenIdle", Boolean.FALSE
+			));
+		}
+		return freezeWhenIdle;
+	}
+
+	/**
+	 * {@link LoadingSpinner#maxFps see field javadoc}
+	 */
+	public StyleableDoubleProperty maxFpsProperty() {
+		if (maxFps == null) {
+			maxFps = observeSetting(new SimpleStyleableDoubleProperty(StyleableProperties.css_maxFps, LoadingSpinner.this, "maxFps", 0d));
+		}
+		return maxFps;
+	}
+
+	/**
+	 * {@link LoadingSpinner#animationPriority see field javadoc}
+	 */
+	public StyleableDoubleProperty animationPriorityProperty() {
+		if (animationPriority == null) {
+			animationPriority = observeSetting(new SimpleStyleableDoubleProperty(
+					StyleableProperties.css_animationPriority, LoadingSpinner.this, "animationPriority", 0d
+			));
+		}
+		return animationPriority;
+	}
+
+	/**
+	 * {@link LoadingSpinner#coalesceProgress see field javadoc}
+	 */
+	public StyleableBooleanProperty coalesceProgressProperty() {
+		if (coalesceProgress == null) {
+			coalesceProgress = new SimpleStyleableBooleanProperty(
+					StyleableProperties.css_coalesceProgress, LoadingSpinner.this, "coalesceProgress", Boolean.FALSE
+			);
+		}
+		return coalesceProgress;
+	}
+
+	/**
+	 * {@link LoadingSpinner#minProgressInterval see field javadoc}
+	 */
+	public StyleableObjectProperty<Duration> minProgressIntervalProperty() {
+		if (minProgressInterval == null) {
+			minProgressInterval = new SimpleStyleableObjectProperty<>(
+					StyleableProperties.css_minProgressInterval, LoadingSpinner.this, "minProgressInterval", Duration.ZERO
+			);
+		}
+		return minProgressInterval;
+	}
+
+	/**
+	 * {@link LoadingSpinner#progressSmoothing see field javadoc}
+	 */
+	public StyleableObjectProperty<Duration> progressSmoothingProperty() {
+		if (progressSmoothing == null) {
+			progressSmoothing = new SimpleStyleableObjectProperty<>(
+					StyleableProperties.css_progressSmoothing, LoadingSpinner.this, "progressSmoothing", Duration.ZERO
+			);
+		}
+		return progressSmoothing;
+	}
+
+	/**
+	 * {@link LoadingSpinner#extrapolateProgress see field javadoc}
+	 */
+	public StyleableBooleanProperty extrapolateProgressProperty() {
+		if (extrapolateProgress == null) {
+			extrapolateProgress = new SimpleStyleableBooleanProperty(
+					StyleableProperties.css_extrapolateProgress, LoadingSpinner.this, "extrapolateProgress", Boolean.FALSE
+			);
+		}
+		return extrapolateProgress;
+	}
+
+	/**
+	 * sets {@link LoadingSpinner#displayedIcon} to target the icon at the given index in the {@link LoadingSpinner#iconSequence}
+	 */
+	public void displayIconByIndex(int index) {
+		displayedIcon.set(IconKey.getByIndex(index));
+	}
+
+	/**
+	 * sets {@link LoadingSpinner#displayedIcon} to target the icon with the given key, or to display no icon if the key is null
+	 */
+	public void displayIconByKey(String key) {
+		displayedIcon.set(IconKey.getByKey(key));
+	}
+
+	/**
+	 * <p>Applies several changes as one transaction, e.g. progress, indeterminate, displayed icon and paint sequence.</p>
+	 * <p>The skin reacts once to the final state when the outermost update ends,
+	 * so intermediate states do not start (and immediately discard) their animations. Must be called on the FX thread.</p>
+	 *
+	 * @param changes sets the properties of the given spinner (this spinner)
+	 */
+	public void update(Consumer<? super LoadingSpinner> changes) {
+		updateDepth++;
+		if (updating != null) {
+			updating.set(true);
+		}
+		try {
+			changes.accept(this);
+		} finally {
+			updateDepth--;
+			if (updateDepth == 0) {
+				if (updating != null) {
+					updating.set(false);
+				}
+				incrementRevision(settingsRevision);
+			}
+		}
+	}
+
+	/**
+	 * {@link LoadingSpinner#updating see field javadoc}
+	 */
+	public ReadOnlyBooleanProperty updatingProperty() {
+		if (updating == null) {
+			updating = new ReadOnlyBooleanWrapper(LoadingSpinner.this, "updating", updateDepth > 0);
+		}
+		return updating.getReadOnlyProperty();
+	}
+
+	public boolean isUpdating() {
+		return updateDepth > 0;
+	}
+
+	/**
+	 * <p>Shows the indeterminate animation until the stage completes,
+	 * then displays the {@link #trackSuccessIconKey success} or {@link #trackFailureIconKey failure} icon.</p>
+	 * <p>Replaces any previous track, completions of earlier stages are ignored. Must be called on the FX thread.</p>
+	 */
+	public void track(CompletionStage<?> stage) {
+		startTracking(List.of(stage), false);
+	}
+
+	/**
+	 * <p>Shows the fraction of completed stages as progress,
+	 * then displays the {@link #trackFailureIconKey failure} icon if any stage failed, otherwise the {@link #trackSuccessIconKey success} icon.</p>
+	 * <p>Completions within the same pulse update the spinner once.
+	 * Replaces any previous track, completions of earlier stages are ignored. Must be called on the FX thread.</p>
+	 */
+	public void trackAll(Collection<? extends CompletionStage<?>> stages) {
+		startTracking(stages, true);
+	}
+
+	private void startTracking(Collection<? extends CompletionStage<?>> stages, boolean showProgress) {
+		LoadingSpinnerCompletionTracker tracker = new LoadingSpinnerCompletionTracker(this, stages.size(), showProgress);
+		completionTracker = tracker;
+		setDisplayedIcon(null);
+		if (showProgress) {
+			setIndeterminate(false);
+			if (!progress.isBound()) {
+				setProgress(0);
+			}
+		} else {
+			setIndeterminate(true);
+		}
+
+		if (stages.isEmpty()) {
+			tracker.run();
+			return;
+		}
+		for (CompletionStage<?> stage : stages) {
+			stage.whenComplete(tracker::onCompleted);
+		}
+	}
+
+	LoadingSpinnerCompletionTracker getCompletionTracker() {
+		return completionTracker;
+	}
+
+	/**
+	 * @param key the {@link IconKey} to query the {@link LoadingSpinner#iconSequence} (or the one of the {@link LoadingSpinner#profile}) for
+	 * @return the first matching {@link LoadingSpinnerAnimatedIcon}, the icon of the {@link LoadingSpinner#iconPack} with that key, or null
+	 */
+	public LoadingSpinnerAnimatedIcon getAnimatedIcon(IconKey key) {
+		if (key == null) {
+			return null;
+		}
+
+		List<LoadingSpinnerAnimatedIcon> icons = getEffectiveIconSequence();
+		if (key.index != null) {
+			int index = key.index;
+			if (index >= 0 && index < icons.size()) {
+				return icons.get(index);
+			}
+		}
+
+		if (key.key != null) {
+			LoadingSpinnerAnimatedIcon icon = icons == iconSequence ? getSequenceIconByKey(key.key)
+					: getProfile() != null ? getProfile().getIconByKey(key.key)
+					: null;
+			if (icon == null && getIconPack() != null) {
+				icon = getIconPack().getIcon(key.key);
+			}
+			return icon;
+		}
+		return null;
+	}
+
+	private LoadingSpinnerAnimatedIcon getSequenceIconByKey(String key) {
+		if (iconsByKey == null) {
+			iconsByKey = new HashMap<>();
+			for (LoadingSpinnerAnimatedIcon icon : iconSequence) {
+				if (icon.getKey() != null) {
+					iconsByKey.putIfAbsent(icon.getKey(), icon);
+				}
+			}
+		}
+		return iconsByKey.get(key);
+	}
+
+	public double getProgress() {
+		return progress.get();
+	}
+
+	public void setProgress(double progress) {
+		this.progress.set(progress);
+	}
+
+	/**
+	 * <p>Returns the thread-safe progress handle of this spinner, for producers updating the progress at a high rate.</p>
+	 * <p>Call this method on the FX thread, the returned sink may then be shared with any thread.</p>
+	 *
+	 * @return the progress sink of this spinner, created on the first call
+	 */
+	public LoadingSpinnerProgressSink progressSink() {
+		if (progressSink == null) {
+			progressSink = new LoadingSpinnerProgressSink(this);
+		}
+		return progressSink;
+	}
+
+	public boolean isProgressText() {
+		return progressText.get();
+	}
+
+	public void setProgressText(boolean progressText) {
+		this.progressText.set(progressText);
+	}
+
+	public boolean isIndeterminate() {
+		return indeterminate.get();
+	}
+
+	public void setIndeterminate(boolean indeterminate) {
+		this.indeterminate.set(indeterminate);
+	}
+
+	public LoadingSpinnerIndeterminateStyle getIndeterminateStyle() {
+		return indeterminateStyle != null ? indeterminateStyle.get() : LoadingSpinnerIndeterminateStyle.INFLATE;
+	}
+
+	public void setIndeterminateStyle(LoadingSpinnerIndeterminateStyle indeterminateStyle) {
+		indeterminateStyleProperty().set(indeterminateStyle);
+	}
+
+	public double getStartAngle() {
+		return startAngle.get();
+	}
+
+	public void setStartAngle(double startAngle) {
+		this.startAngle.set(startAngle);
+	}
+
+	public double getRadius() {
+		LoadingSpinnerProfile currentProfile = getProfile();
+		return currentProfile != null && currentProfile.getRadius() != null && isUnset(radius) ? currentProfile.getRadius() : radius.get();
+	}
+
+	public void setRadius(double radius) {
+		this.radius.set(radius);
+	}
+
+	public double getThickness() {
+		LoadingSpinnerProfile currentProfile = getProfile();
+		return currentProfile != null && currentProfile.getThickness() != null && isUnset(thickness) ? currentProfile.getThickness() : thickness.get();
+	}
+
+	public void setThickness(double thickness) {
+		this.thickness.set(thickness);
+	}
+
+	public IconKey getDisplayedIcon() {
+		return displayedIcon.get();
+	}
+
+	public void setDisplayedIcon(IconKey displayedIcon) {
+		this.displayedIcon.set(displayedIcon);
+	}
+
+	public LoadingSpinnerProfile getProfile() {
+		return profile != null ? profile.get() : null;
+	}
+
+	public void setProfile(LoadingSpinnerProfile profile) {
+		profileProperty().set(profile);
+	}
+
+	public LoadingSpinnerIconPack getIconPack() {
+		return iconPack != null ? iconPack.get() : null;
+	}
+
+	public void setIconPack(LoadingSpinnerIconPack iconPack) {
+		iconPackProperty().set(iconPack);
+	}
+
+	public LoadingSpinnerClock getClock() {
+		return clock != null ? clock.get() : LoadingSpinnerClock.SYSTEM;
+	}
+
+	public void setClock(LoadingSpinnerClock clock) {
+		clockProperty().set(clock != null ? clock : LoadingSpinnerClock.SYSTEM);
+	}
+
+	public boolean isFreezeWhenIdle() {
+		return freezeWhenIdle != null ? freezeWhenIdle.get() : false;
+	}
+
+	public void setFreezeWhenIdle(boolean freezeWhenIdle) {
+		freezeWhenIdleProperty().set(freezeWhenIdle);
+	}
+
+	public double getMaxFps() {
+		return maxFps != null ? maxFps.get() : 0;
+	}
+
+	public void setMaxFps(double maxFps) {
+		maxFpsProperty().set(maxFps);
+	}
+
+	public double getAnimationPriority() {
+		return animationPriority != null ? animationPriority.get() : 0;
+	}
+
+	public void setAnimationPriority(double animationPriority) {
+		animationPriorityProperty().set(animationPriority);
+	}
+
+	public boolean isCoalesceProgress() {
+		return coalesceProgress != null ? coalesceProgress.get() : false;
+	}
+
+	public void setCoalesceProgress(boolean coalesceProgress) {
+		coalesceProgressProperty().set(coalesceProgress);
+	}
+
+	public Duration getMinProgressInterval() {
+		LoadingSpinnerProfile currentProfile = getProfile();
+		if (minProgressInterval == null || isUnset(minProgressInterval)) {
+			return currentProfile != null && currentProfile.getMinProgressInterval() != null ? currentProfile.getMinProgressInterval() : Duration.ZERO;
+		}
+		return minProgressInterval.get();
+	}
+
+	public void setMinProgressInterval(Duration minProgressInterval) {
+		minProgressIntervalProperty().set(minProgressInterval);
+	}
+
+	public Duration getProgressSmoothing() {
+		LoadingSpinnerProfile currentProfile = getProfile();
+		if (progressSmoothing == null || isUnset(progressSmoothing)) {
+			return currentProfile != null && currentProfile.getProgressSmoothing() != null ? currentProfile.getProgressSmoothing() : Duration.ZERO;
+		}
+		return progressSmoothing.get();
+	}
+
+	/**
+	 * @return true if the property has neither been set, bound nor styled, so that the {@link LoadingSpinner#profile} applies
+	 */
+	private static boolean isUnset(StyleableProperty<?> property) {
+		return property.getStyleOrigin() == null;
+	}
+
+	public void setProgressSmoothing(Duration progressSmoothing) {
+		progressSmoothingProperty().set(progressSmoothing);
+	}
+
+	public boolean isExtrapolateProgress() {
+		return extrapolateProgress != null ? extrapolateProgress.get() : false;
+	}
+
+	public void setExtrapolateProgress(boolean extrapolateProgress) {
+		extrapolateProgressProperty().set(extrapolateProgress);
+	}
+
+	/**
+	 * @return the frame rate cap of this spinner, {@link LoadingSpinner#maxFps} or {@link LoadingSpinner#defaultMaxFps}. Values <= 0 mean no cap.
+	 */
+	public double getEffectiveMaxFps() {
+		double fps = getMaxFps();
+		return fps > 0 ? fps : getDefaultMaxFps();
+	}
+
+	/**
+	 * {@link LoadingSpinner#defaultSkinFactory see field javadoc}
+	 */
+	public static Function<LoadingSpinner, Skin<?>> getDefaultSkinFactory() {
+		return defaultSkinFactory;
+	}
+
+	/**
+	 * {@link LoadingSpinner#defaultSkinFactory see field javadoc}
+	 * <p>Only affects spinners whose skin is created afterwards.</p>
+	 */
+	public static void setDefaultSkinFactory(Function<LoadingSpinner, Skin<?>> defaultSkinFactory) {
+		LoadingSpinner.defaultSkinFactory = defaultSkinFactory != null ? defaultSkinFactory : LoadingSpinnerSkin::new;
+	}
+
+	/**
+	 * {@link LoadingSpinner#defaultMaxFps see field javadoc}
+	 */
+	public static DoubleProperty defaultMaxFpsProperty() {
+		return defaultMaxFps;
+	}
+
+	public static double getDefaultMaxFps() {
+		return defaultMaxFps.get();
+	}
+
+	public static void setDefaultMaxFps(double defaultMaxFps) {
+		LoadingSpinner.defaultMaxFps.set(defaultMaxFps);
+	}
+
+	@Override
+	protected Skin<?> createDefaultSkin() {
+		return defaultSkinFactory.apply(this);
+	}
+
+	@Override
+	protected List<CssMetaData<? extends Styleable, ?>> getControlCssMetaData() {
+		return StyleableProperties.STYLEABLES;
+	}
+
+	private static class StyleableProperties {
+
+		private static <T, TProp extends Property<T> & StyleableProperty<T>> CssMetaData<LoadingSpinner, T> getCssMetaData(
+				String cssPropertyKey, StyleConverter<?, T> converter, T defaultValue, Function<LoadingSpinner, TProp> propertyGetter) {
+			return getCssMetaData(cssPropertyKey, converter, defaultValue, propertyGetter, propertyGetter);
+		}
+
+		/**
+		 * @param fieldGetter returns the property of a spinner if it has been created, so that checking it does not create the property
+		 */
+		private static <T, TProp extends Property<T> & StyleableProperty<T>> CssMetaData<LoadingSpinner, T> getCssMetaData(
+				String cssPropertyKey, StyleConverter<?, T> converter, T defaultValue,
+				Function<LoadingSpinner, TProp> fieldGetter, Function<LoadingSpinner, TProp> propertyGetter) {
+
+			return new CssMetaData<>(cssPropertyKey, converter, defaultValue) {
+				@Override
+				public boolean isSettable(LoadingSpinner loadingSpinner) {
+					TProp property = fieldGetter.apply(loadingSpinner);
+					return property == null || !property.isBound();
+				}
+
+				@Override
+				public StyleableProperty<T> getStyleableProperty(LoadingSpinner loadingSpinner) {
+					return propertyGetter.apply(loadingSpinner);
+				}
+			};
+		}
+
+		private static final CssMetaData<LoadingSpinner, Number> css_progress;
+		private static final CssMetaData<LoadingSpinner, Boolean> css_progress_text;
+		private static final CssMetaData<LoadingSpinner, Boolean> css_indeterminate;
+		private static final CssMetaData<LoadingSpinner, LoadingSpinnerIndeterminateStyle> css_indeterminateStyle;
+		private static final CssMetaData<LoadingSpinner, Number> css_startAngle;
+		private static final CssMetaData<LoadingSpinner, Number> css_radius;
+		private static final CssMetaData<LoadingSpinner, Number> css_thickness;
+		private static final CssMetaData<LoadingSpinner, Boolean> css_freezeWhenIdle;
+		private static final CssMetaData<LoadingSpinner, Number> css_maxFps;
+		private static final CssMetaData<LoadingSpinner, Number> css_animationPriority;
+		private static final CssMetaData<LoadingSpinner, Boolean> css_coalesceProgress;
+		private static final CssMetaData<LoadingSpinner, Duration> css_minProgressInterval;
+		private static final CssMetaData<LoadingSpinner, Duration> css_progressSmoothing;
+		private static final CssMetaData<LoadingSpinner, Boolean> css_extrapolateProgress;
+		private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES;
+
+		static {
+			css_progress = getCssMetaData(css_property_progress, SizeConverter.getInstance(), 0d, LoadingSpinner::progressProperty);
+			css_progress_text = getCssMetaData(css_property_progress_text, BooleanConverter.getInstance(), Boolean.FALSE, LoadingSpinner::progressTextProperty);
+			css_indeterminate = getCssMetaData(css_property_indeterminate, BooleanConverter.getInstance(), Boolean.FALSE, LoadingSpinner::indeterminateProperty);
+			css_indeterminateStyle = getCssMetaData(css_property_indeterminateStyle, new EnumConverter<>(LoadingSpinnerIndeterminateStyle.class),
+					LoadingSpinnerIndeterminateStyle.INFLATE, spinner -> spinner.indeterminateStyle, LoadingSpinner::indeterminateStyleProperty);
+			css_startAngle = getCssMetaData(css_property_startAngle, SizeConverter.getInstance(), 0d, LoadingSpinner::startAngleProperty);
+			css_radius = getCssMetaData(css_property_radius, SizeConverter.getInstance(), Region.USE_COMPUTED_SIZE, LoadingSpinner::radiusProperty);
+			css_thickness = getCssMetaData(css_property_thickness, SizeConverter.getInstance(), 1d, LoadingSpinner::thicknessProperty);
+			css_freezeWhenIdle = getCssMetaData(css_property_freezeWhenIdle, BooleanConverter.getInstance(), Boolean.FALSE, spinner -> spinner.freezeWhenIdle, LoadingSpinner::freezeWhenIdleProperty);
+			css_maxFps = getCssMetaData(css_property_maxFps, SizeConverter.getInstance(), 0d, spinner -> spinner.maxFps, LoadingSpinner::maxFpsProperty);
+			css_animationPriority = getCssMetaData(css_property_animationPriority, SizeConverter.getInstance(), 0d, spinner -> spinner.animationPriority, LoadingSpinner::animationPriorityProperty);
+			css_coalesceProgress = getCssMetaData(css_property_coalesceProgress, BooleanConverter.getInstance(), Boolean.FALSE, spinner -> spinner.coalesceProgress, LoadingSpinner::coalesceProgressProperty);
+			css_minProgressInterval = getCssMetaData(css_property_minProgressInterval, DurationConverter.getInstance(), Duration.ZERO, spinner -> spinner.minProgressInterval, LoadingSpinner::minProgressIntervalProperty);
+			css_progressSmoothing = getCssMetaData(css_property_progressSmoothing, DurationConverter.getInstance(), Duration.ZERO, spinner -> spinner.progressSmoothing, LoadingSpinner::progressSmoothingProperty);
+			css_extrapolateProgress = getCssMetaData(css_property_extrapolateProgress, BooleanConverter.getInstance(), Boolean.FALSE, spinner -> spinner.extrapolateProgress, LoadingSpinner::extrapolateProgressProperty);
+
+			STYLEABLES = List.of(
+					css_progress,
+					css_indeterminate,
+					css_indeterminateStyle,
+					css_startAngle,
+					css_radius,
+					css_thickness,
+					css_freezeWhenIdle,
+					css_maxFps,
+					css_animationPriority,
+					css_coalesceProgress,
+					css_minProgressInterval,
+					css_progressSmoothing,
+					css_extrapolateProgress
+			);
+		}
+	}
+}
@@ -62,22 +62,18 @@ public class LoadingSpinnerAnimatedIcon {
 	private final String path;
 
 	/**
-	 * <p>The length of your svg path.</p>
-	 * <p>You can determine the length of your path by guessing or calculating it:</p>
-	 * <ul>
-	 *     <li>
-	 *         <b>guessing</b>: increase value until path becomes invisible, decrease until you can barely see it, increase by 1 or 2 (path should be invisible)
-	 *     </li>
-	 *     <li>
-	 *         <p><b>calculating</b>: As an estimate, you can take the sum of the euclidean distance of each step along the path.
-	 *         <p>For example: 'M 0 0 l 10 8 l 6 4' has two steps: (10, 8) and (6, 4). With euclidean distances sqrt(10 * 10 + 8 * 8) and sqrt(6 * 6 + 4 * 4)
-	 *         <p>Leaving you with a total approximate length of '20'. For good measure, you can/should increase this value by 1 or 2.
-	 *     </li>
-	 * </ul>
-	 * <p>Default is '0' - this will disable the animation, causing the path to always be visible.</p>
+	 * <p>The length of your svg path, used to animate stroking the path.</p>
+	 * <p>Dash patterns restart at each subpath ('m' / 'M'), so this is the length of the longest subpath.</p>
+	 * <p>Default is the exact length of the longest subpath, as measured by {@link LoadingSpinnerIconRegistry}.
+	 * Specify '0' to disable the animation, causing the path to always be visible.</p>
 	 */
 	private final double pathLength;
 
+	/**
+	 * Parsed path, shared with all icons using the same path.
+	 */
+	private final LoadingSpinnerIconRegistry.Geometry geometry;
+
 	/**
 	 * <p>The spinner radius your path was designed for.</p>
 	 * <p>For example, if your reference radius is 20, but the spinner radius is 40, your path will be scaled by a factor of 2</p>
@@ -143,7 +139,8 @@ public class LoadingSpinnerAnimatedIcon {
 			@NamedArg("offsetY") Double offsetY) {
 		this.key = key;
 		this.path = path;
-		this.pathLength = pathLength != null ? pathLength : 0;
+		this.geometry = path != null ? LoadingSpinnerIconRegistry.getGeometry(path) : null;
+		this.pathLength = pathLength != null ? pathLength : (geometry != null ? geometry.getLongestSubpathLength() : 0);
 		this.referenceRadius = referenceRadius != null ? referenceRadius : 10;
 		this.paint = paint;
 		this.gapWidth = gapWidth != null ? gapWidth : 0;
@@ -173,6 +170,13 @@ public class LoadingSpinnerAnimatedIcon {
 		return pathLength;
 	}
 
+	/**
+	 * @return the parsed {@link LoadingSpinnerAnimatedIcon#path}
+	 */
+	public LoadingSpinnerIconRegistry.Geometry getGeometry() {
+		return geometry;
+	}
+
 	/**
 	 * {@link LoadingSpinnerAnimatedIcon#referenceRadius see field javadoc}
 	 */
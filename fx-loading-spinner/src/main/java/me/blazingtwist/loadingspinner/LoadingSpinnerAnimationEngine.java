@@ -0,0 +1,132 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
+/**
+ * <p>Opt-in animation engine that drives the continuous animations of all registered {@link LoadingSpinnerSkin}s
+ * (indeterminate rotation, paint cycle and icon stroke) from a single {@link AnimationTimer}.</p>
+ * <p>Without the engine every skin runs its own timelines, with the engine the toolkit only ticks one pulse callback,
+ * which advances every animating spinner in one loop.</p>
+ * <p>Skins register a pulse callback while they are shown and have a continuous animation running,
+ * the timer is stopped while no callback is registered.
+ * Other pulse driven work of this library (e.g. canvas redraws) shares the same timer.</p>
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ */
+public final class LoadingSpinnerAnimationEngine {
+
+	/**
+	 * <p>If enabled, newly started continuous animations are driven by the engine instead of per-skin timelines.</p>
+	 * <p>Running animations are migrated when this property changes.</p>
+	 * <p>default is false</p>
+	 */
+	private static final BooleanProperty enabled = new SimpleBooleanProperty(LoadingSpinnerAnimationEngine.class, "enabled", false);
+
+	private static final List<Runnable> pulseCallbacks = new ArrayList<>();
+	private static AnimationTimer timer;
+	private static boolean ticking = false;
+	private static boolean callbacksRemoved = false;
+	private static long pulseNanos = 0;
+
+	private LoadingSpinnerAnimationEngine() {
+	}
+
+	/**
+	 * {@link LoadingSpinnerAnimationEngine#enabled see field javadoc}
+	 */
+	public static BooleanProperty enabledProperty() {
+		return enabled;
+	}
+
+	public static boolean isEnabled() {
+		return enabled.get();
+	}
+
+	public static void setEnabled(boolean enabled) {
+		LoadingSpinnerAnimationEngine.enabled.set(enabled);
+	}
+
+	/**
+	 * @return the number of callbacks (e.g. spinner skins) that are currently invoked on every pulse
+	 */
+	public static int getRegisteredCount() {
+		int count = 0;
+		for (Runnable callback : pulseCallbacks) {
+			if (callback != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * <p>Timestamp of the current (or last) pulse, identical for all callbacks invoked during that pulse.</p>
+	 * <p>Frame rate caps are aligned to this time, so that all capped spinners update on the same pulses.</p>
+	 */
+	static long getPulseNanos() {
+		return pulseNanos != 0 ? pulseNanos : System.nanoTime();
+	}
+
+	/**
+	 * <p>Invokes the callback on every pulse, until it is unregistered.</p>
+	 * <p>Callers are responsible for not registering a callback twice.</p>
+	 */
+	static void register(Runnable pulseCallback) {
+		pulseCallbacks.add(pulseCallback);
+		if (timer == null) {
+			timer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					pulseNanos = now;
+					tick();
+				}
+			};
+		}
+		timer.start();
+	}
+
+	static void unregister(Runnable pulseCallback) {
+		int index = pulseCallbacks.indexOf(pulseCallback);
+		if (index < 0) {
+			return;
+		}
+		if (ticking) {
+			// keep indices stable while iterating, compacted at the end of the tick
+			pulseCallbacks.set(index, null);
+			callbacksRemoved = true;
+		} else {
+			pulseCallbacks.remove(index);
+			stopTimerIfIdle();
+		}
+	}
+
+	private static void tick() {
+		ticking = true;
+		try {
+			final int callbackCount = pulseCallbacks.size();
+			for (int i = 0; i < callbackCount; i++) {
+				Runnable callback = pulseCallbacks.get(i);
+				if (callback != null) {
+					callback.run();
+				}
+			}
+		} finally {
+			ticking = false;
+		}
+
+		if (callbacksRemoved) {
+			callbacksRemoved = false;
+			pulseCallbacks.removeIf(callback -> callback == null);
+			stopTimerIfIdle();
+		}
+	}
+
+	private static void stopTimerIfIdle() {
+		if (pulseCallbacks.isEmpty() && timer != null) {
+			timer.stop();
+		}
+	}
+}
@@ -0,0 +1,424 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.List;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * <p>Analytic description of the spinner motion, as a pure function of elapsed time.</p>
+ * <p>The model does not depend on a scene graph or toolkit, it can be evaluated for any timestamp,
+ * which allows skins to jump to any phase and tests or benchmarks to step animations headless.</p>
+ * <p>Evaluating the model does not allocate, apart from blended {@link Color}s during paint transitions.</p>
+ * Motion:
+ * <ul>
+ *     <li>indeterminate: rotation at 150°/s, inflation/deflation at 540°/s, see {@link #computeIndeterminateKeyFrames()}</li>
+ *     <li>rotate-only indeterminate: fixed bar rotating at 270°/s, see {@link #getRotateOnlyAngle(double)}</li>
+ *     <li>angle transition (e.g. to an icon gap): 630°/s, see {@link #computeAngleTransition(double, double, double, double, double, double)}</li>
+ *     <li>paint cycle, see {@link #evaluatePaint(List, int, double)}</li>
+ *     <li>icon stroke, see {@link #getIconDashOffset(double, double, double, double)}</li>
+ * </ul>
+ */
+public class LoadingSpinnerAnimationModel {
+
+	/**
+	 * <p>Number of indeterminate cycles described by the indeterminate key frames.</p>
+	 * <p>Every cycle advances the bar by 450°, after 4 cycles the bar has rotated by exactly 5 full turns,
+	 * which allows the key frames to loop indefinitely without a visible jump.</p>
+	 */
+	public static final int indeterminateCycleCount = 4;
+	public static final int indeterminateStepsPerCycle = 4;
+	public static final int indeterminateKeyFrameCount = (indeterminateCycleCount * indeterminateStepsPerCycle) + 1;
+	public static final int angleTransitionKeyFrameCount = 4;
+
+	public static final double deflateLength = 5;
+	public static final double indeterminateRotationAnglePerSecond = 150;
+	public static final double indeterminateInflateAnglePerSecond = 540;
+	public static final double angleTransitionAnglePerSecond = 630;
+	public static final double rotateOnlyAnglePerSecond = 270;
+
+	private double inflateLength = (2d / 3d) * 360d;
+	private double rotationFactor = 1;
+
+	private final double[] indeterminateKeyTimes = new double[indeterminateKeyFrameCount];
+	private final double[] indeterminateKeyAngles = new double[indeterminateKeyFrameCount];
+	private final double[] indeterminateKeyLengths = new double[indeterminateKeyFrameCount];
+
+	private final double[] angleTransitionKeyTimes = new double[angleTransitionKeyFrameCount];
+	private final double[] angleTransitionKeyAngles = new double[angleTransitionKeyFrameCount];
+	private final double[] angleTransitionKeyLengths = new double[angleTransitionKeyFrameCount];
+
+	private int evaluatedPaintIndex = 0;
+
+	public LoadingSpinnerAnimationModel() {
+		computeIndeterminateKeyFrames();
+	}
+
+	/**
+	 * Updates the deflate parameters for the given {@link LoadingSpinner#progressProperty() progress}.
+	 *
+	 * @return true if the parameters changed, in which case the indeterminate key frames have been recomputed
+	 */
+	public boolean setProgress(double progress) {
+		final double newInflateLength = progress != 0
+				? Math.max(deflateLength, Math.abs(progress) * 360d)
+				: (2d / 3d) * 360d;
+		final double newRotationFactor = progress > 0 ? -1 : 1; // rotate clockwise, if progress is > 0
+		if (newInflateLength == inflateLength && newRotationFactor == rotationFactor) {
+			return false;
+		}
+		inflateLength = newInflateLength;
+		rotationFactor = newRotationFactor;
+		computeIndeterminateKeyFrames();
+		return true;
+	}
+
+	/**
+	 * @return the maximum (absolute) bar length of the indeterminate animation
+	 */
+	public double getInflateLength() {
+		return inflateLength;
+	}
+
+	/**
+	 * @return -1 for clockwise rotation, 1 for counter-clockwise rotation
+	 */
+	public double getRotationFactor() {
+		return rotationFactor;
+	}
+
+	/**
+	 * <p>Computes the indeterminate key frames for the current deflate parameters.</p>
+	 * <p>Each cycle starts a quarter rotation after the previous cycle and consists of 4 steps:</p>
+	 * <ul>
+	 *     <li>inflate while rotating</li>
+	 *     <li>rotate inflated bar</li>
+	 *     <li>deflate while rotating (deflation advances the angle)</li>
+	 *     <li>rotate deflated bar</li>
+	 * </ul>
+	 */
+	private void computeIndeterminateKeyFrames() {
+		final double angleOffsetPerCycle = (360d / indeterminateCycleCount);
+		final double deflateAngleGain = (inflateLength - deflateLength); // deflation advances angle
+		final double perStepAngleGain = ((360 + angleOffsetPerCycle) - deflateAngleGain) / indeterminateStepsPerCycle;
+
+		final double deflateAnimSeconds = deflateAngleGain / indeterminateInflateAnglePerSecond;
+		final double stepAnimSeconds = perStepAngleGain / indeterminateRotationAnglePerSecond;
+		final double inflateStepSeconds = Math.max(deflateAnimSeconds, stepAnimSeconds);
+
+		double time = 0;
+		double angle = 0;
+		int frameIndex = 0;
+		for (int cycle = 0; cycle < indeterminateCycleCount; cycle++) {
+			setIndeterminateKeyFrame(frameIndex++, time, angle, deflateLength);
+			time += inflateStepSeconds;
+			angle += perStepAngleGain;
+			setIndeterminateKeyFrame(frameIndex++, time, angle, inflateLength);
+			time += stepAnimSeconds;
+			angle += perStepAngleGain;
+			setIndeterminateKeyFrame(frameIndex++, time, angle, inflateLength);
+			time += inflateStepSeconds;
+			angle += perStepAngleGain + deflateAngleGain;
+			setIndeterminateKeyFrame(frameIndex++, time, angle, deflateLength);
+			time += stepAnimSeconds;
+			angle += perStepAngleGain;
+		}
+		setIndeterminateKeyFrame(frameIndex, time, angle, deflateLength);
+	}
+
+	private void setIndeterminateKeyFrame(int frameIndex, double seconds, double angle, double length) {
+		indeterminateKeyTimes[frameIndex] = seconds;
+		indeterminateKeyAngles[frameIndex] = angle * rotationFactor;
+		indeterminateKeyLengths[frameIndex] = length * rotationFactor;
+	}
+
+	/**
+	 * @return the duration of all {@link #indeterminateCycleCount} indeterminate cycles, after which the animation repeats
+	 */
+	public double getIndeterminateSeconds() {
+		return indeterminateKeyTimes[indeterminateKeyFrameCount - 1];
+	}
+
+	public double getIndeterminateKeyTime(int frameIndex) {
+		return indeterminateKeyTimes[frameIndex];
+	}
+
+	public double getIndeterminateKeyAngle(int frameIndex) {
+		return indeterminateKeyAngles[frameIndex];
+	}
+
+	public double getIndeterminateKeyLength(int frameIndex) {
+		return indeterminateKeyLengths[frameIndex];
+	}
+
+	/**
+	 * @param seconds time since the indeterminate animation started, may exceed {@link #getIndeterminateSeconds()}
+	 * @return the time within the looping indeterminate animation
+	 */
+	public double wrapIndeterminateSeconds(double seconds) {
+		double totalSeconds = getIndeterminateSeconds();
+		return totalSeconds > 0 ? Math.max(0, seconds) % totalSeconds : 0;
+	}
+
+	/**
+	 * @param seconds time since the indeterminate animation started
+	 * @return the start angle of the bar
+	 */
+	public double getIndeterminateStartAngle(double seconds) {
+		return evaluateKeyFrames(indeterminateKeyTimes, indeterminateKeyAngles, wrapIndeterminateSeconds(seconds));
+	}
+
+	/**
+	 * @param seconds time since the indeterminate animation started
+	 * @return the (signed) length of the bar
+	 */
+	public double getIndeterminateLength(double seconds) {
+		return evaluateKeyFrames(indeterminateKeyTimes, indeterminateKeyLengths, wrapIndeterminateSeconds(seconds));
+	}
+
+	/**
+	 * @return the duration of one turn of the {@link LoadingSpinnerIndeterminateStyle#ROTATE rotate-only} indeterminate animation
+	 */
+	public double getRotateOnlySeconds() {
+		return 360d / rotateOnlyAnglePerSecond;
+	}
+
+	/**
+	 * @return the (signed) length of the bar during the rotate-only indeterminate animation, the bar starts at angle 0
+	 */
+	public double getRotateOnlyLength() {
+		return inflateLength * rotationFactor;
+	}
+
+	/**
+	 * @param seconds time since the rotate-only indeterminate animation started
+	 * @return the node rotation of the pane containing the bar (clockwise, unlike arc angles)
+	 */
+	public double getRotateOnlyAngle(double seconds) {
+		double turnSeconds = getRotateOnlySeconds();
+		return -rotationFactor * ((Math.max(0, seconds) % turnSeconds) * rotateOnlyAnglePerSecond);
+	}
+
+	/**
+	 * <p>Computes the key frames to animate the bar from its current state to the specified target angle and length.</p>
+	 * <p>The transition happens in 3 steps:</p>
+	 * <ul>
+	 *     <li>deflate to bar length 5 while increasing angle (end-position stays fixed in place)</li>
+	 *     <li>spin deflated bar</li>
+	 *     <li>inflate to target length after reaching target start angle</li>
+	 * </ul>
+	 *
+	 * @param currentStartAngle current start angle of the bar
+	 * @param currentLength     current length of the bar
+	 * @param paneRotation      rotation of the pane containing the bar, the target angle is corrected by this value
+	 * @param targetAngle       angle to rotate to
+	 * @param minAngleChange    should be >= 0, minimum amount to rotate by (will add extra 360° rotations, if the direct path rotates by less than this value)
+	 * @param targetLength      should be >= 0, length of the progress bar to animate to, length will be added in the direction of rotation
+	 * @return the duration of the transition in seconds
+	 */
+	public double computeAngleTransition(double currentStartAngle, double currentLength, double paneRotation,
+										 double targetAngle, double minAngleChange, double targetLength) {
+		final boolean clockwise = rotationFactor < 0;
+
+		double normalizedAngle = currentStartAngle % 360;
+		if (normalizedAngle < 0) {
+			normalizedAngle += 360;
+		}
+
+		if (clockwise) {
+			// convert from [0, 360] to [-360, 0]
+			normalizedAngle -= 360;
+		}
+
+		double startLength = Math.abs(currentLength) * rotationFactor;
+		double targetInflateLength = targetLength * rotationFactor;
+
+		double inflateAnimAngleGain = 0;
+		if (targetLength < deflateLength) {
+			inflateAnimAngleGain = deflateLength - targetLength;
+		}
+
+		double signedDeflateLength = deflateLength * rotationFactor;
+		double deflateDifference = Math.abs(signedDeflateLength - startLength);
+		double deflateSeconds = deflateDifference / angleTransitionAnglePerSecond;
+		double deflateEndAngle = normalizedAngle + (deflateDifference * rotationFactor);
+
+		double extraSpin = Math.max(90, minAngleChange);
+		double extraSpinEndAngle = deflateEndAngle + (extraSpin * rotationFactor);
+		double targetAngleGain = (targetAngle - extraSpinEndAngle - inflateAnimAngleGain - (paneRotation * rotationFactor)) % 360;
+		if (targetAngleGain < 0) {
+			targetAngleGain += 360;
+		}
+		if (rotationFactor < 0) {
+			extraSpin += (360 - targetAngleGain);
+			extraSpinEndAngle += (targetAngleGain - 360);
+		} else {
+			extraSpin += targetAngleGain;
+			extraSpinEndAngle += targetAngleGain;
+		}
+		double extraSpinSeconds = (extraSpin / angleTransitionAnglePerSecond) + deflateSeconds;
+
+		double inflateDifference = Math.abs(targetLength - deflateLength);
+		double inflateSeconds = (inflateDifference / angleTransitionAnglePerSecond) + extraSpinSeconds;
+		double inflateEndAngle = extraSpinEndAngle + (inflateAnimAngleGain * rotationFactor);
+
+		setAngleTransitionKeyFrame(0, 0, normalizedAngle, startLength);
+		setAngleTransitionKeyFrame(1, deflateSeconds, deflateEndAngle, signedDeflateLength);
+		setAngleTransitionKeyFrame(2, extraSpinSeconds, extraSpinEndAngle, signedDeflateLength);
+		setAngleTransitionKeyFrame(3, inflateSeconds, inflateEndAngle, targetInflateLength);
+		return inflateSeconds;
+	}
+
+	private void setAngleTransitionKeyFrame(int frameIndex, double seconds, double angle, double length) {
+		angleTransitionKeyTimes[frameIndex] = seconds;
+		angleTransitionKeyAngles[frameIndex] = angle;
+		angleTransitionKeyLengths[frameIndex] = length;
+	}
+
+	/**
+	 * @return the duration of the last computed angle transition in seconds
+	 */
+	public double getAngleTransitionSeconds() {
+		return angleTransitionKeyTimes[angleTransitionKeyFrameCount - 1];
+	}
+
+	public double getAngleTransitionKeyTime(int frameIndex) {
+		return angleTransitionKeyTimes[frameIndex];
+	}
+
+	public double getAngleTransitionKeyAngle(int frameIndex) {
+		return angleTransitionKeyAngles[frameIndex];
+	}
+
+	public double getAngleTransitionKeyLength(int frameIndex) {
+		return angleTransitionKeyLengths[frameIndex];
+	}
+
+	/**
+	 * @param seconds time since the last computed angle transition started, clamped to the transition duration
+	 * @return the start angle of the bar
+	 */
+	public double getAngleTransitionStartAngle(double seconds) {
+		return evaluateKeyFrames(angleTransitionKeyTimes, angleTransitionKeyAngles, seconds);
+	}
+
+	/**
+	 * @param seconds time since the last computed angle transition started, clamped to the transition duration
+	 * @return the (signed) length of the bar
+	 */
+	public double getAngleTransitionLength(double seconds) {
+		return evaluateKeyFrames(angleTransitionKeyTimes, angleTransitionKeyLengths, seconds);
+	}
+
+	/**
+	 * @param icon the icon to show
+	 * @return the start angle of the bar when it surrounds the icon, leaving the icon's gap open
+	 * @see #getIconBarLength(LoadingSpinnerAnimatedIcon)
+	 */
+	public double getIconGapStartAngle(LoadingSpinnerAnimatedIcon icon) {
+		double gapAngle = (icon.getGapWidth() / 2) - icon.getGapAngle();
+		if (rotationFactor < 0) {
+			gapAngle -= icon.getGapWidth();
+		}
+		return gapAngle;
+	}
+
+	/**
+	 * @param icon the icon to show
+	 * @return the (absolute) length of the bar when it surrounds the icon, leaving the icon's gap open
+	 */
+	public static double getIconBarLength(LoadingSpinnerAnimatedIcon icon) {
+		return 360 - icon.getGapWidth();
+	}
+
+	/**
+	 * <p>Evaluates the paint cycle, which starts at the paint at 'startIndex'.</p>
+	 * <p>Each paint blends in from its predecessor for (predecessor.blendOut + paint.blendIn), then holds for paint.hold.</p>
+	 * <p>The index of the returned paint is available through {@link #getEvaluatedPaintIndex()}.</p>
+	 *
+	 * @param paintSequence the paint infos to cycle through
+	 * @param startIndex    index of the first paint of the cycle
+	 * @param seconds       time since the paint cycle started
+	 * @return the paint at the given time or null, if the sequence is empty
+	 */
+	public Paint evaluatePaint(List<LoadingSpinnerPaintAnimationInfo> paintSequence, int startIndex, double seconds) {
+		final int paintCount = paintSequence.size();
+		if (paintCount == 0) {
+			return null;
+		}
+
+		double cycleMillis = 0;
+		for (int i = 0; i < paintCount; i++) {
+			LoadingSpinnerPaintAnimationInfo paintInfo = paintSequence.get(i);
+			cycleMillis += paintInfo.getBlendOutDuration().toMillis() + paintInfo.getBlendInDuration().toMillis() + paintInfo.getHoldDuration().toMillis();
+		}
+		double millis = Math.max(0, seconds * 1000d);
+		millis = cycleMillis > 0 ? millis % cycleMillis : 0;
+
+		for (int step = 0; step < paintCount; step++) {
+			int paintIndex = (startIndex + step) % paintCount;
+			LoadingSpinnerPaintAnimationInfo previousPaint = paintSequence.get((paintIndex + paintCount - 1) % paintCount);
+			LoadingSpinnerPaintAnimationInfo paintInfo = paintSequence.get(paintIndex);
+			double blendMillis = previousPaint.getBlendOutDuration().toMillis() + paintInfo.getBlendInDuration().toMillis();
+			double holdMillis = paintInfo.getHoldDuration().toMillis();
+			if (millis < blendMillis + holdMillis || step == paintCount - 1) {
+				evaluatedPaintIndex = paintIndex;
+				return millis < blendMillis
+						? interpolatePaint(previousPaint.getPaint(), paintInfo.getPaint(), millis / blendMillis)
+						: paintInfo.getPaint();
+			}
+			millis -= blendMillis + holdMillis;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the index of the paint returned by the last call to {@link #evaluatePaint(List, int, double)}
+	 */
+	public int getEvaluatedPaintIndex() {
+		return evaluatedPaintIndex;
+	}
+
+	/**
+	 * @param fromOffset      dash offset at the start of the icon stroke animation
+	 * @param toOffset        dash offset at the end of the icon stroke animation
+	 * @param durationSeconds duration of the icon stroke animation
+	 * @param seconds         time since the icon stroke animation started, negative values are treated as 0
+	 * @return the dash offset of the icon path
+	 */
+	public static double getIconDashOffset(double fromOffset, double toOffset, double durationSeconds, double seconds) {
+		double fraction = durationSeconds > 0 ? Math.max(0, Math.min(1, seconds / durationSeconds)) : 1;
+		return interpolate(fromOffset, toOffset, fraction);
+	}
+
+	/**
+	 * Linearly interpolates the key frames at the given time, times outside the key frames are clamped.
+	 */
+	public static double evaluateKeyFrames(double[] keyTimes, double[] keyValues, double seconds) {
+		final int lastIndex = keyTimes.length - 1;
+		int frameIndex = 1;
+		while (frameIndex < lastIndex && keyTimes[frameIndex] < seconds) {
+			frameIndex++;
+		}
+		double segmentStart = keyTimes[frameIndex - 1];
+		double segmentDuration = keyTimes[frameIndex] - segmentStart;
+		double fraction = segmentDuration > 0 ? Math.max(0, Math.min(1, (seconds - segmentStart) / segmentDuration)) : 1;
+		return interpolate(keyValues[frameIndex - 1], keyValues[frameIndex], fraction);
+	}
+
+	public static double interpolate(double from, double to, double fraction) {
+		return from + ((to - from) * fraction);
+	}
+
+	/**
+	 * Interpolates like a {@link javafx.animation.Timeline} would: colors are blended, other paints switch at the end of the blend.
+	 */
+	public static Paint interpolatePaint(Paint from, Paint to, double fraction) {
+		if (from == to || fraction >= 1) {
+			return to;
+		}
+		if (from instanceof Color fromColor && to instanceof Color toColor) {
+			return fromColor.equals(toColor) ? toColor : fromColor.interpolate(toColor, fraction);
+		}
+		return from;
+	}
+}
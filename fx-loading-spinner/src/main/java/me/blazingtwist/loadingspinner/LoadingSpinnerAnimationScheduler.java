@@ -0,0 +1,172 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Bounds;
+import javafx.scene.Scene;
+import javafx.util.Duration;
+
+/**
+ * <p>Limits how many spinners animate at the same time.</p>
+ * <p>All shown spinners are ranked, the first {@link #budget} spinners animate,
+ * the animations of all others are paused and show a still frame until they are ranked within the budget again.
+ * State transitions (e.g. to an icon) are not affected.</p>
+ * Ranking, from most to least important:
+ * <ul>
+ *     <li>higher {@link LoadingSpinner#animationPriorityProperty() animation priority}</li>
+ *     <li>inside the bounds of its scene</li>
+ *     <li>more recent progress update</li>
+ *     <li>larger on-screen area</li>
+ * </ul>
+ * <p>Spinners are re-ranked when they are shown or hidden, when their progress, priority or size changes and when the budget changes.
+ * Requests are coalesced into at most one ranking per {@link #rankingIntervalMillis}, nothing is computed while nothing changes,
+ * so frequent progress updates do not cause a ranking per event.
+ * Call {@link #requestRanking()} after changes the scheduler does not observe, e.g. scrolling.</p>
+ * <p>Animating spinners keep their slot until another spinner out-ranks them by a margin
+ * ({@link #progressHysteresisMillis}, {@link #areaHysteresisFactor}), so that spinners near the budget boundary do not keep swapping.</p>
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ */
+public final class LoadingSpinnerAnimationScheduler {
+
+	/**
+	 * <p>Maximum number of spinners animating at the same time. Values <= 0 disable the limit.</p>
+	 * <p>default is 0</p>
+	 */
+	private static final IntegerProperty budget = new SimpleIntegerProperty(LoadingSpinnerAnimationScheduler.class, "budget", 0);
+
+	/**
+	 * Minimum time between two rankings.
+	 */
+	public static final long rankingIntervalMillis = 250;
+
+	/**
+	 * Animating spinners rank as if their last progress update was this much more recent.
+	 */
+	public static final long progressHysteresisMillis = 1000;
+
+	/**
+	 * Animating spinners rank as if their on-screen area was larger by this factor.
+	 */
+	public static final double areaHysteresisFactor = 1.25;
+
+	private static final List<LoadingSpinnerSkin> skins = new ArrayList<>();
+	private static final Comparator<LoadingSpinnerSkin> ranking = Comparator
+			.comparingDouble((LoadingSpinnerSkin skin) -> -skin.control.getAnimationPriority())
+			.thenComparing(skin -> !skin.schedulerInScene)
+			.thenComparingLong(skin -> -(skin.lastProgressChangeNanos + (skin.animationAllowed ? progressHysteresisMillis * 1_000_000 : 0)))
+			.thenComparingDouble(skin -> -(skin.schedulerScreenArea * (skin.animationAllowed ? areaHysteresisFactor : 1)));
+
+	private static boolean rankingRequested = false;
+	private static long lastRankingNanos = Long.MIN_VALUE / 2;
+	private static PauseTransition rankingDelay;
+
+	static {
+		budget.addListener(observable -> requestRanking());
+	}
+
+	private LoadingSpinnerAnimationScheduler() {
+	}
+
+	/**
+	 * {@link LoadingSpinnerAnimationScheduler#budget see field javadoc}
+	 */
+	public static IntegerProperty budgetProperty() {
+		return budget;
+	}
+
+	public static int getBudget() {
+		return budget.get();
+	}
+
+	public static void setBudget(int budget) {
+		LoadingSpinnerAnimationScheduler.budget.set(budget);
+	}
+
+	/**
+	 * @return the number of shown spinners, animating or not
+	 */
+	public static int getShownCount() {
+		return skins.size();
+	}
+
+	/**
+	 * Ranks all shown spinners on the next run of the JavaFX Application Thread,
+	 * or {@link #rankingIntervalMillis} after the last ranking if that is later, unless a ranking is already pending.
+	 */
+	public static void requestRanking() {
+		if (rankingRequested) {
+			return;
+		}
+		rankingRequested = true;
+		long waitNanos = (lastRankingNanos + (rankingIntervalMillis * 1_000_000)) - System.nanoTime();
+		if (waitNanos <= 0) {
+			Platform.runLater(LoadingSpinnerAnimationScheduler::rank);
+			return;
+		}
+		if (rankingDelay == null) {
+			rankingDelay = new PauseTransition();
+			rankingDelay.setOnFinished(event -> rank());
+		}
+		rankingDelay.setDuration(Duration.millis(waitNanos / 1_000_000d));
+		rankingDelay.playFromStart();
+	}
+
+	static void onShown(LoadingSpinnerSkin skin) {
+		skins.add(skin);
+		requestRanking();
+	}
+
+	static void onHidden(LoadingSpinnerSkin skin) {
+		skins.remove(skin);
+		skin.setAnimationAllowed(true);
+		requestRanking();
+	}
+
+	/**
+	 * Requests a ranking, if the limit is enabled.
+	 */
+	static void onRankingInputChanged() {
+		if (getBudget() > 0) {
+			requestRanking();
+		}
+	}
+
+	private static void rank() {
+		rankingRequested = false;
+		lastRankingNanos = System.nanoTime();
+		final int currentBudget = getBudget();
+		if (currentBudget <= 0 || skins.size() <= currentBudget) {
+			for (LoadingSpinnerSkin skin : skins) {
+				skin.setAnimationAllowed(true);
+			}
+			return;
+		}
+
+		for (LoadingSpinnerSkin skin : skins) {
+			measure(skin);
+		}
+		skins.sort(ranking);
+		for (int i = 0; i < skins.size(); i++) {
+			skins.get(i).setAnimationAllowed(i < currentBudget);
+		}
+	}
+
+	private static void measure(LoadingSpinnerSkin skin) {
+		Scene scene = skin.control.getScene();
+		Bounds bounds = skin.control.localToScene(skin.control.getLayoutBounds());
+		if (scene == null || bounds == null) {
+			skin.schedulerInScene = false;
+			skin.schedulerScreenArea = 0;
+			return;
+		}
+		double visibleWidth = Math.min(bounds.getMaxX(), scene.getWidth()) - Math.max(bounds.getMinX(), 0);
+		double visibleHeight = Math.min(bounds.getMaxY(), scene.getHeight()) - Math.max(bounds.getMinY(), 0);
+		skin.schedulerInScene = visibleWidth > 0 && visibleHeight > 0;
+		skin.schedulerScreenArea = skin.schedulerInScene ? visibleWidth * visibleHeight : 0;
+	}
+}
@@ -0,0 +1,232 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * <p>Alternative skin that renders track, progress bar, progress text and icon into a single {@link Canvas}.</p>
+ * <p>The animations are identical to {@link LoadingSpinnerSkin}, but the animated shapes are never attached to the scene graph,
+ * which removes their CSS, layout and bounds work. The canvas is redrawn at most once per pulse and only if something changed.</p>
+ * <p>Because the shapes are not part of the scene graph, they are not styled by CSS,
+ * e.g. the {@link LoadingSpinnerSkin#css_styleClass_track track} is only drawn if a stroke is set programmatically.</p>
+ * <p>Select this skin per control with 'setSkin' or '-fx-skin', or globally with {@link LoadingSpinner#setDefaultSkinFactory}.</p>
+ */
+public class LoadingSpinnerCanvasSkin extends LoadingSpinnerSkin {
+
+	protected final Canvas canvas;
+
+	protected boolean redrawRequested;
+
+	/**
+	 * Stays registered at the engine for one idle pulse after each redraw, to avoid re-registering on every animation frame.
+	 */
+	protected boolean redrawPulseActive;
+
+	private final InvalidationListener redrawListener = this::onRedrawPropertyInvalidated;
+
+	private List<Double> iconDashSource;
+	private double[] iconDashes = new double[0];
+	private Font textFont;
+
+	public LoadingSpinnerCanvasSkin(LoadingSpinner control) {
+		super(control);
+		canvas = new Canvas();
+		canvas.setManaged(false);
+		this.getChildren().setAll(canvas);
+
+		observeForRedraw(
+				progressBar.startAngleProperty(), progressBar.lengthProperty(), progressBar.strokeProperty(), progressBar.strokeLineCapProperty(),
+				progressRotationPane.rotateProperty(), indeterminateRotate.angleProperty(),
+				track.strokeProperty(),
+				progressText.textProperty(), progressText.visibleProperty(), progressText.opacityProperty(), progressText.fillProperty(),
+				iconPath.getElements(), iconPath.strokeProperty(), iconPath.strokeDashOffsetProperty(), iconPath.getStrokeDashArray()
+		);
+	}
+
+	private void observeForRedraw(Observable... observables) {
+		for (Observable observable : observables) {
+			observable.addListener(redrawListener);
+		}
+	}
+
+	private void onRedrawPropertyInvalidated(Observable observable) {
+		requestRedraw();
+	}
+
+	/**
+	 * Schedules a redraw of the canvas on the next pulse.
+	 */
+	protected void requestRedraw() {
+		if (!redrawRequested) {
+			redrawRequested = true;
+			updateEngineRegistration();
+		}
+	}
+
+	@Override
+	protected void checkControlVisibility() {
+		super.checkControlVisibility();
+		if (controlVisible) {
+			requestRedraw();
+		}
+	}
+
+	/**
+	 * The canvas draws the progress bar directly, cached frames are not used.
+	 */
+	@Override
+	protected boolean useIndeterminateFrameCache() {
+		return false;
+	}
+
+	@Override
+	protected boolean needsAnimationPulse() {
+		return super.needsAnimationPulse() || redrawRequested || redrawPulseActive;
+	}
+
+	@Override
+	protected void advanceAnimations() {
+		super.advanceAnimations();
+		redrawPulseActive = redrawRequested;
+		if (redrawRequested) {
+			redraw();
+		}
+		updateEngineRegistration();
+	}
+
+	@Override
+	protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+		if (canvas.getWidth() != contentWidth || canvas.getHeight() != contentHeight) {
+			canvas.setWidth(contentWidth);
+			canvas.setHeight(contentHeight);
+		}
+		canvas.relocate(contentX, contentY);
+		redraw();
+	}
+
+	/**
+	 * The progress bar node is not laid out by this skin, the arc is drawn into the canvas at the size computed from the canvas size.
+	 */
+	@Override
+	protected double getArcRadius() {
+		return getArcRadius(canvas.getWidth(), canvas.getHeight());
+	}
+
+	private double getArcRadius(double width, double height) {
+		return (getArcSize(() -> Math.min(width, height)) / 2) - control.getThickness();
+	}
+
+	/**
+	 * Draws the current state of the animated shapes into the canvas.
+	 */
+	protected void redraw() {
+		redrawRequested = false;
+
+		// read every observed property, so that invalidation listeners fire again on the next change
+		final double barStartAngle = progressBar.getStartAngle() - progressRotationPane.getRotate() - indeterminateRotate.getAngle(); // node rotation is clockwise
+		final double barLength = progressBar.getLength();
+		final Paint barStroke = progressBar.getStroke();
+		final Paint trackStroke = track.getStroke();
+		final String text = progressText.getText();
+		final boolean textVisible = progressText.isVisible();
+		final double textOpacity = progressText.getOpacity();
+		final Paint textFill = progressText.getFill();
+		final Paint iconStroke = iconPath.getStroke();
+		final double iconDashOffset = iconPath.getStrokeDashOffset();
+		final List<Double> iconDashArray = iconPath.getStrokeDashArray();
+
+		final double width = canvas.getWidth();
+		final double height = canvas.getHeight();
+		final GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, width, height);
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+
+		final double arcThickness = control.getThickness();
+		final double arcRadius = getArcRadius(width, height);
+		final double centerX = width / 2;
+		final double centerY = height / 2;
+
+		gc.setLineWidth(arcThickness);
+		gc.setLineCap(progressBar.getStrokeLineCap());
+		gc.setLineDashes(null);
+		if (trackStroke != null) {
+			gc.setStroke(trackStroke);
+			gc.strokeOval(centerX - arcRadius, centerY - arcRadius, arcRadius * 2, arcRadius * 2);
+		}
+		if (barStroke != null && barLength != 0) {
+			gc.setStroke(barStroke);
+			gc.strokeArc(centerX - arcRadius, centerY - arcRadius, arcRadius * 2, arcRadius * 2, barStartAngle, barLength, ArcType.OPEN);
+		}
+
+		if (textVisible && text != null && textFill != null) {
+			// same font estimate as LoadingSpinnerSkin#layoutChildren
+			double innerCircleRadius = arcRadius - arcThickness;
+			double targetFontHeight = (innerCircleRadius * 2 * 12 / 16) / 1.75;
+			gc.setFont(getTextFont(Math.max(1, targetFontHeight)));
+			gc.setGlobalAlpha(textOpacity);
+			gc.setFill(textFill);
+			gc.setTextAlign(TextAlignment.CENTER);
+			gc.setTextBaseline(VPos.CENTER);
+			gc.fillText(text, centerX, centerY);
+			gc.setGlobalAlpha(1);
+		}
+
+		if (currentShowAnimIcon != null && !iconPath.getElements().isEmpty() && iconStroke != null) {
+			double referenceRadius = currentShowAnimIcon.getReferenceRadius();
+			referenceRadius = referenceRadius <= 0 ? arcRadius : referenceRadius; // if referenceRadius <= 0, then don't apply scaling
+			double radiusScale = arcRadius / referenceRadius;
+			LoadingSpinnerIconRegistry.Geometry iconGeometry = currentShowAnimIcon.getGeometry();
+
+			gc.save();
+			gc.translate(centerX + (currentShowAnimIcon.getOffsetX() * radiusScale), centerY + (currentShowAnimIcon.getOffsetY() * radiusScale));
+			gc.scale(radiusScale, radiusScale);
+			gc.translate(-iconGeometry.getCenterX(), -iconGeometry.getCenterY());
+			gc.setLineWidth(arcThickness / radiusScale);
+			gc.setLineCap(iconPath.getStrokeLineCap());
+			gc.setLineDashes(getIconDashes(iconDashArray));
+			gc.setLineDashOffset(iconDashOffset);
+			gc.setStroke(iconStroke);
+			gc.beginPath();
+			iconGeometry.appendTo(gc);
+			gc.stroke();
+			gc.restore();
+		}
+	}
+
+	private Font getTextFont(double fontSize) {
+		String family = progressText.getFont().getFamily();
+		if (textFont == null || textFont.getSize() != fontSize || !textFont.getFamily().equals(family)) {
+			textFont = Font.font(family, fontSize);
+		}
+		return textFont;
+	}
+
+	private double[] getIconDashes(List<Double> dashArray) {
+		if (dashArray != iconDashSource || iconDashes.length != dashArray.size()) {
+			iconDashSource = dashArray;
+			iconDashes = new double[dashArray.size()];
+		}
+		for (int i = 0; i < iconDashes.length; i++) {
+			iconDashes[i] = dashArray.get(i);
+		}
+		return iconDashes.length == 0 ? null : iconDashes;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		redrawRequested = false;
+		redrawPulseActive = false;
+		updateEngineRegistration();
+	}
+}
@@ -0,0 +1,55 @@
+package me.blazingtwist.loadingspinner;
+
+import javafx.util.Duration;
+
+/**
+ * <p>Time source for engine driven spinner animations and the pulse checked delays of a {@link LoadingSpinner}.</p>
+ * <p>Timeline animations are not affected, they run in real time.</p>
+ * <p>Replace the {@link LoadingSpinnerClock#SYSTEM system clock} with a {@link Manual manual clock}
+ * to step animations deterministically, e.g. in tests and benchmarks.</p>
+ */
+@FunctionalInterface
+public interface LoadingSpinnerClock {
+
+	/**
+	 * The default clock, backed by {@link System#nanoTime()}.
+	 */
+	LoadingSpinnerClock SYSTEM = System::nanoTime;
+
+	/**
+	 * @return the current time in nanoseconds, only differences between two values are meaningful
+	 */
+	long nanoTime();
+
+	/**
+	 * A clock that only advances when told to.
+	 */
+	final class Manual implements LoadingSpinnerClock {
+		private long nanos;
+
+		public Manual() {
+			this(0);
+		}
+
+		public Manual(long startNanos) {
+			this.nanos = startNanos;
+		}
+
+		@Override
+		public long nanoTime() {
+			return nanos;
+		}
+
+		public void setNanoTime(long nanos) {
+			this.nanos = nanos;
+		}
+
+		public void advance(long deltaNanos) {
+			nanos += deltaNanos;
+		}
+
+		public void advance(Duration delta) {
+			advance((long) (delta.toMillis() * 1_000_000d));
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Shows the state of one or more tracked futures on a {@link LoadingSpinner}, see {@link LoadingSpinner#track(java.util.concurrent.CompletionStage)}.</p>
+ * <p>Completions are counted on the completing thread. The spinner is updated through the {@link LoadingSpinnerPulseDispatcher},
+ * at most once per pulse, no matter how many futures complete within that pulse.</p>
+ */
+final class LoadingSpinnerCompletionTracker implements Runnable {
+
+	private final LoadingSpinner spinner;
+	private final int total;
+	private final boolean showProgress;
+	private final AtomicInteger completedCount = new AtomicInteger();
+	private final AtomicInteger failedCount = new AtomicInteger();
+	private final AtomicBoolean updateQueued = new AtomicBoolean(false);
+
+	/**
+	 * @param total        number of tracked futures
+	 * @param showProgress if true, the spinner shows the fraction of completed futures, otherwise it is indeterminate until all are completed
+	 */
+	LoadingSpinnerCompletionTracker(LoadingSpinner spinner, int total, boolean showProgress) {
+		this.spinner = spinner;
+		this.total = total;
+		this.showProgress = showProgress;
+	}
+
+	/**
+	 * Called by each tracked future once it completes, may be called from any thread.
+	 */
+	void onCompleted(Object result, Throwable failure) {
+		if (failure != null) {
+			failedCount.incrementAndGet();
+		}
+		completedCount.incrementAndGet();
+		if (!updateQueued.getAndSet(true)) {
+			LoadingSpinnerPulseDispatcher.dispatch(this);
+		}
+	}
+
+	/**
+	 * Updates the spinner, runs on the FX thread.
+	 */
+	@Override
+	public void run() {
+		updateQueued.set(false);
+		if (spinner.getCompletionTracker() != this) {
+			return; // replaced by a newer track
+		}
+
+		int completed = completedCount.get();
+		if (showProgress && !spinner.progressProperty().isBound()) {
+			spinner.setProgress(total > 0 ? (double) completed / total : 1);
+		}
+		if (completed >= total) {
+			spinner.setIndeterminate(false);
+			spinner.displayIconByKey(failedCount.get() > 0 ? LoadingSpinner.trackFailureIconKey : LoadingSpinner.trackSuccessIconKey);
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.util.Duration;
+
+/**
+ * <p>Shows the load of a {@link LoadingSpinnerMonitoredExecutor} or {@link ForkJoinPool} on a {@link LoadingSpinner}.</p>
+ * <p>The pool is sampled on the FX thread every {@link #interval}, never on the pool itself.
+ * The spinner shows the utilization (active threads / capacity) as progress,
+ * while the pool is saturated it displays the {@link #saturatedIconKey} icon.</p>
+ * <p>Sampling only runs while the spinner is shown, see {@link LoadingSpinnerVisibilityTracker}.</p>
+ * <p>Sampling takes no locks of the pool, so it never delays threads submitting tasks or starting workers.
+ * A plain {@link ThreadPoolExecutor} is not supported, its monitoring getters take the pool's main lock,
+ * the {@link LoadingSpinnerMonitoredExecutor} counts its tasks itself instead.
+ * The getters of a {@link ForkJoinPool} do not lock, they read counters and scan the work queues.</p>
+ * <p>The saturated icon is only cleared again if the spinner still displays it, icons displayed by other code in the meantime are kept.</p>
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ */
+public final class LoadingSpinnerExecutorMonitor {
+
+	/**
+	 * Metrics of a pool at the time of sampling.
+	 *
+	 * @param activeCount    number of threads executing tasks
+	 * @param capacity       number of threads the pool runs at most (or its parallelism)
+	 * @param queuedCount    number of tasks waiting for a thread, -1 if the queue can not be counted without locking
+	 * @param completedCount number of completed tasks (a lower bound for {@link ForkJoinPool}s, which only count stolen tasks)
+	 */
+	public record Sample(int activeCount, int capacity, long queuedCount, long completedCount) {
+		public double getUtilization() {
+			return capacity > 0 ? Math.min(1, (double) activeCount / capacity) : 0;
+		}
+	}
+
+	/**
+	 * <p>Time between two samples.</p>
+	 * <p>default is 500ms</p>
+	 */
+	private final ObjectProperty<Duration> interval = new SimpleObjectProperty<>(this, "interval", Duration.millis(500));
+
+	/**
+	 * <p>Utilization [0, 1] at and above which the pool counts as saturated, if tasks are queued as well (or the queue can not be counted).</p>
+	 * <p>default is 1 (all threads busy)</p>
+	 */
+	private final DoubleProperty saturationThreshold = new SimpleDoubleProperty(this, "saturationThreshold", 1);
+
+	/**
+	 * <p>Key of the icon displayed while the pool is saturated, nothing is displayed if null.</p>
+	 * <p>default is 'yellowExclamationMark'</p>
+	 */
+	private final ObjectProperty<String> saturatedIconKey = new SimpleObjectProperty<>(this, "saturatedIconKey", "yellowExclamationMark");
+
+	/**
+	 * <p>The last sample, null until the spinner has been shown.</p>
+	 */
+	private final ReadOnlyObjectWrapper<Sample> lastSample = new ReadOnlyObjectWrapper<>(this, "lastSample");
+
+	private final LoadingSpinner spinner;
+	private final Supplier<Sample> sampler;
+	private final LoadingSpinnerVisibilityTracker visibilityTracker;
+	private Timeline sampleTimeline;
+	private boolean saturated = false;
+
+	/**
+	 * Icon displayed by this monitor while the pool is saturated, null if the monitor does not display an icon.
+	 */
+	private IconKey displayedIcon;
+
+	private LoadingSpinnerExecutorMonitor(LoadingSpinner spinner, Supplier<Sample> sampler) {
+		this.spinner = Objects.requireNonNull(spinner);
+		this.sampler = sampler;
+		interval.addListener(observable -> restartSampling());
+		visibilityTracker = new LoadingSpinnerVisibilityTracker(spinner, this::restartSampling);
+		restartSampling();
+	}
+
+	/**
+	 * Starts showing the load of the executor on the spinner, until the monitor is {@link #dispose() disposed}.
+	 */
+	public static LoadingSpinnerExecutorMonitor monitor(LoadingSpinner spinner, LoadingSpinnerMonitoredExecutor executor) {
+		return new LoadingSpinnerExecutorMonitor(spinner, () -> sample(executor));
+	}
+
+	/**
+	 * Reads the counters of the executor, without taking any of its locks.
+	 */
+	static Sample sample(LoadingSpinnerMonitoredExecutor executor) {
+		// pool sizes are volatile fields, the current pool size would need the main lock
+		int activeCount = executor.getRunningCount();
+		int maximumPoolSize = executor.getMaximumPoolSize();
+		int capacity = maximumPoolSize == Integer.MAX_VALUE
+				? Math.max(executor.getCorePoolSize(), activeCount) // unbounded pools, e.g. cached thread pools
+				: maximumPoolSize;
+		return new Sample(activeCount, capacity, executor.getQueuedCountWithoutLocking(), executor.getFinishedCount());
+	}
+
+	/**
+	 * Starts showing the load of the pool on the spinner, until the monitor is {@link #dispose() disposed}.
+	 */
+	public static LoadingSpinnerExecutorMonitor monitor(LoadingSpinner spinner, ForkJoinPool pool) {
+		return new LoadingSpinnerExecutorMonitor(spinner, () -> new Sample(
+				pool.getActiveThreadCount(), pool.getParallelism(),
+				pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount(), pool.getStealCount()
+		));
+	}
+
+	/**
+	 * {@link LoadingSpinnerExecutorMonitor#interval see field javadoc}
+	 */
+	public ObjectProperty<Duration> intervalProperty() {
+		return interval;
+	}
+
+	public Duration getInterval() {
+		return interval.get();
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval.set(interval);
+	}
+
+	/**
+	 * {@link LoadingSpinnerExecutorMonitor#saturationThreshold see field javadoc}
+	 */
+	public DoubleProperty saturationThresholdProperty() {
+		return saturationThreshold;
+	}
+
+	public double getSaturationThreshold() {
+		return saturationThreshold.get();
+	}
+
+	public void setSaturationThreshold(double saturationThreshold) {
+		this.saturationThreshold.set(saturationThreshold);
+	}
+
+	/**
+	 * {@link LoadingSpinnerExecutorMonitor#saturatedIconKey see field javadoc}
+	 */
+	public ObjectProperty<String> saturatedIconKeyProperty() {
+		return saturatedIconKey;
+	}
+
+	public String getSaturatedIconKey() {
+		return saturatedIconKey.get();
+	}
+
+	public void setSaturatedIconKey(String saturatedIconKey) {
+		this.saturatedIconKey.set(saturatedIconKey);
+	}
+
+	/**
+	 * {@link LoadingSpinnerExecutorMonitor#lastSample see field javadoc}
+	 */
+	public ReadOnlyObjectProperty<Sample> lastSampleProperty() {
+		return lastSample.getReadOnlyProperty();
+	}
+
+	public Sample getLastSample() {
+		return lastSample.get();
+	}
+
+	/**
+	 * Stops sampling, the spinner keeps showing the last sample.
+	 */
+	public void dispose() {
+		visibilityTracker.dispose();
+		stopSampling();
+	}
+
+	private void restartSampling() {
+		stopSampling();
+		Duration sampleInterval = getInterval();
+		if (!visibilityTracker.isShown() || sampleInterval == null || !sampleInterval.greaterThan(Duration.ZERO)) {
+			return;
+		}
+		sample();
+		sampleTimeline = new Timeline(new KeyFrame(sampleInterval, event -> sample()));
+		sampleTimeline.setCycleCount(Animation.INDEFINITE);
+		sampleTimeline.play();
+	}
+
+	private void stopSampling() {
+		if (sampleTimeline != null) {
+			sampleTimeline.stop();
+			sampleTimeline = null;
+		}
+	}
+
+	private void sample() {
+		Sample sample = sampler.get();
+		lastSample.set(sample);
+
+		double utilization = sample.getUtilization();
+		if (!spinner.progressProperty().isBound()) {
+			spinner.setProgress(utilization);
+		}
+
+		boolean isSaturated = utilization >= getSaturationThreshold() && sample.queuedCount() != 0;
+		if (isSaturated != saturated) {
+			saturated = isSaturated;
+			if (isSaturated && getSaturatedIconKey() != null) {
+				displayedIcon = IconKey.getByKey(getSaturatedIconKey());
+				spinner.setDisplayedIcon(displayedIcon);
+			} else if (!isSaturated && displayedIcon != null) {
+				if (displayedIcon.equals(spinner.getDisplayedIcon())) {
+					spinner.setDisplayedIcon(null);
+				}
+				displayedIcon = null;
+			}
+		}
+	}
+}
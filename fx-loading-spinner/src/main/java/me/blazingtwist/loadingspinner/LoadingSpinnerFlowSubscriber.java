@@ -0,0 +1,152 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>{@link Flow.Subscriber} that shows the items of a publisher on a {@link LoadingSpinner}.</p>
+ * <p>Items are requested one at a time: the next item is only requested after the previous one has been applied on an FX pulse,
+ * so fast publishers are throttled to the rate the spinner is rendered at and nothing is buffered.</p>
+ * <p>On completion the spinner shows {@link #completeIconKey}, on error {@link #errorIconKey}.</p>
+ *
+ * @param <T> type of the published items
+ */
+public class LoadingSpinnerFlowSubscriber<T> implements Flow.Subscriber<T> {
+
+	/**
+	 * <p>Key of the icon displayed when the publisher completes, nothing is displayed if null.</p>
+	 * <p>default is {@link LoadingSpinner#trackSuccessIconKey}</p>
+	 */
+	private volatile String completeIconKey = LoadingSpinner.trackSuccessIconKey;
+
+	/**
+	 * <p>Key of the icon displayed when the publisher signals an error, nothing is displayed if null.</p>
+	 * <p>default is {@link LoadingSpinner#trackFailureIconKey}</p>
+	 */
+	private volatile String errorIconKey = LoadingSpinner.trackFailureIconKey;
+
+	private final LoadingSpinner spinner;
+	private final BiConsumer<LoadingSpinner, ? super T> itemConsumer;
+
+	private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+	private final AtomicReference<T> latestItem = new AtomicReference<>();
+	private final AtomicBoolean pulseRequested = new AtomicBoolean(false);
+	private final Runnable pulseTask = this::onPulse;
+	private volatile boolean completed = false;
+	private volatile Throwable error;
+
+	/**
+	 * Only accessed on the FX thread.
+	 */
+	private boolean terminated = false;
+
+	/**
+	 * @param spinner      spinner to show the items on
+	 * @param itemConsumer applies an item to the spinner, invoked on the FX thread
+	 */
+	public LoadingSpinnerFlowSubscriber(LoadingSpinner spinner, BiConsumer<LoadingSpinner, ? super T> itemConsumer) {
+		this.spinner = Objects.requireNonNull(spinner);
+		this.itemConsumer = Objects.requireNonNull(itemConsumer);
+	}
+
+	/**
+	 * @return a subscriber that sets the {@link LoadingSpinner#progressProperty() progress} of the spinner to each published value
+	 */
+	public static LoadingSpinnerFlowSubscriber<Number> progress(LoadingSpinner spinner) {
+		return new LoadingSpinnerFlowSubscriber<>(spinner, (target, progress) -> target.setProgress(progress.doubleValue()));
+	}
+
+	/**
+	 * {@link LoadingSpinnerFlowSubscriber#completeIconKey see field javadoc}
+	 */
+	public String getCompleteIconKey() {
+		return completeIconKey;
+	}
+
+	public void setCompleteIconKey(String completeIconKey) {
+		this.completeIconKey = completeIconKey;
+	}
+
+	/**
+	 * {@link LoadingSpinnerFlowSubscriber#errorIconKey see field javadoc}
+	 */
+	public String getErrorIconKey() {
+		return errorIconKey;
+	}
+
+	public void setErrorIconKey(String errorIconKey) {
+		this.errorIconKey = errorIconKey;
+	}
+
+	/**
+	 * Cancels the subscription, the spinner keeps showing the last applied item.
+	 */
+	public void cancel() {
+		Flow.Subscription current = subscription.getAndSet(null);
+		if (current != null) {
+			current.cancel();
+		}
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		if (!this.subscription.compareAndSet(null, subscription)) {
+			subscription.cancel(); // already subscribed
+			return;
+		}
+		subscription.request(1);
+	}
+
+	@Override
+	public void onNext(T item) {
+		latestItem.set(Objects.requireNonNull(item));
+		requestPulse();
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		error = throwable;
+		requestPulse();
+	}
+
+	@Override
+	public void onComplete() {
+		completed = true;
+		requestPulse();
+	}
+
+	private void requestPulse() {
+		if (!pulseRequested.getAndSet(true)) {
+			LoadingSpinnerPulseDispatcher.dispatch(pulseTask);
+		}
+	}
+
+	private void onPulse() {
+		pulseRequested.set(false);
+		if (terminated) {
+			return;
+		}
+
+		T item = latestItem.getAndSet(null);
+		if (item != null) {
+			itemConsumer.accept(spinner, item);
+		}
+
+		if (error != null || completed) {
+			terminated = true;
+			subscription.set(null);
+			String iconKey = error != null ? errorIconKey : completeIconKey;
+			if (iconKey != null) {
+				spinner.displayIconByKey(iconKey);
+			}
+		} else if (item != null) {
+			Flow.Subscription current = subscription.get();
+			if (current != null) {
+				current.request(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.StrokeLineCap;
+
+/**
+ * <p>Shared, memory bounded cache of pre-rendered frames of the indeterminate animation.</p>
+ * <p>The indeterminate animation only depends on radius, thickness, paint, line cap and the deflate parameters
+ * (see {@link LoadingSpinnerAnimationModel#setProgress(double)}).
+ * Spinners with equal parameters and equal render scale share the same frames,
+ * which are rasterized once and then shown by an {@link javafx.scene.image.ImageView}.</p>
+ * <p>Only the frames of the first indeterminate cycle are rendered,
+ * the other cycles are identical apart from a rotation by a multiple of 90°.
+ * Frames are rendered lazily, the first time they are shown.</p>
+ * <p>Entries are evicted in least-recently-used order once {@link #maxBytes} is exceeded.
+ * Evicted frames stay valid for spinners still showing them, but are no longer shared.</p>
+ * <p>The cache is used by spinners whose indeterminate animation is driven by the {@link LoadingSpinnerAnimationEngine}.
+ * Paint blends of the paint cycle bypass the cache, as every blended paint would be a new entry.</p>
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ */
+public final class LoadingSpinnerFrameCache {
+
+	/**
+	 * <p>If enabled, engine driven indeterminate animations show cached frames instead of the progress bar.</p>
+	 * <p>default is false</p>
+	 */
+	private static final BooleanProperty enabled = new SimpleBooleanProperty(LoadingSpinnerFrameCache.class, "enabled", false);
+
+	/**
+	 * <p>Upper bound for the pixel memory of all cached frames, least recently used entries are evicted when exceeded.</p>
+	 * <p>Memory is accounted for when an entry is created, as if all of its frames were rendered.</p>
+	 * <p>default is 64 MiB</p>
+	 */
+	private static final LongProperty maxBytes = new SimpleLongProperty(LoadingSpinnerFrameCache.class, "maxBytes", 64L * 1024 * 1024);
+
+	/**
+	 * <p>Number of frames rendered per second of animation. Changing this value clears the cache.</p>
+	 * <p>default is 60</p>
+	 */
+	private static final IntegerProperty framesPerSecond = new SimpleIntegerProperty(LoadingSpinnerFrameCache.class, "framesPerSecond", 60);
+
+	private static final Map<FrameKey, Frames> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private static long retainedBytes = 0;
+	private static long hitCount = 0;
+	private static long missCount = 0;
+	private static long evictionCount = 0;
+
+	private static Canvas renderCanvas;
+	private static SnapshotParameters snapshotParameters;
+	private static final LoadingSpinnerAnimationModel renderModel = new LoadingSpinnerAnimationModel();
+
+	static {
+		maxBytes.addListener(observable -> evictToLimit());
+		framesPerSecond.addListener(observable -> clear());
+	}
+
+	private LoadingSpinnerFrameCache() {
+	}
+
+	/**
+	 * {@link LoadingSpinnerFrameCache#enabled see field javadoc}
+	 */
+	public static BooleanProperty enabledProperty() {
+		return enabled;
+	}
+
+	public static boolean isEnabled() {
+		return enabled.get();
+	}
+
+	public static void setEnabled(boolean enabled) {
+		LoadingSpinnerFrameCache.enabled.set(enabled);
+	}
+
+	/**
+	 * {@link LoadingSpinnerFrameCache#maxBytes see field javadoc}
+	 */
+	public static LongProperty maxBytesProperty() {
+		return maxBytes;
+	}
+
+	public static long getMaxBytes() {
+		return maxBytes.get();
+	}
+
+	public static void setMaxBytes(long maxBytes) {
+		LoadingSpinnerFrameCache.maxBytes.set(maxBytes);
+	}
+
+	/**
+	 * {@link LoadingSpinnerFrameCache#framesPerSecond see field javadoc}
+	 */
+	public static IntegerProperty framesPerSecondProperty() {
+		return framesPerSecond;
+	}
+
+	public static int getFramesPerSecond() {
+		return framesPerSecond.get();
+	}
+
+	public static void setFramesPerSecond(int framesPerSecond) {
+		LoadingSpinnerFrameCache.framesPerSecond.set(framesPerSecond);
+	}
+
+	/**
+	 * @return the pixel memory of all cached entries in bytes
+	 */
+	public static long getRetainedBytes() {
+		return retainedBytes;
+	}
+
+	public static int getEntryCount() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the number of lookups that found an existing entry
+	 */
+	public static long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return the number of lookups that had to create a new entry
+	 */
+	public static long getMissCount() {
+		return missCount;
+	}
+
+	public static long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public static void resetStatistics() {
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+	}
+
+	/**
+	 * Removes all entries, spinners showing cached frames keep their current frames.
+	 */
+	public static void clear() {
+		entries.clear();
+		retainedBytes = 0;
+	}
+
+	/**
+	 * @param radius       radius of the progress bar
+	 * @param thickness    stroke width of the progress bar
+	 * @param paint        stroke of the progress bar
+	 * @param lineCap      line cap of the progress bar
+	 * @param progress     progress of the spinner, determines the deflate parameters
+	 * @param renderScale  output scale of the window, frames are rendered at 'size * renderScale' pixels
+	 * @return the frames for the given parameters
+	 */
+	static Frames getFrames(double radius, double thickness, Paint paint, StrokeLineCap lineCap, double progress, double renderScale) {
+		renderModel.setProgress(progress);
+		FrameKey key = new FrameKey(radius, thickness, paint, lineCap,
+				renderModel.getInflateLength(), renderModel.getRotationFactor(), renderScale);
+		Frames frames = entries.get(key);
+		if (frames != null) {
+			hitCount++;
+			return frames;
+		}
+
+		missCount++;
+		frames = new Frames(key, renderModel.getIndeterminateSeconds() / LoadingSpinnerAnimationModel.indeterminateCycleCount, getFramesPerSecond());
+		entries.put(key, frames);
+		retainedBytes += frames.byteSize;
+		evictToLimit();
+		return frames;
+	}
+
+	private static void evictToLimit() {
+		Iterator<Frames> iterator = entries.values().iterator();
+		while (retainedBytes > getMaxBytes() && iterator.hasNext()) {
+			Frames eldest = iterator.next();
+			iterator.remove();
+			retainedBytes -= eldest.byteSize;
+			evictionCount++;
+		}
+	}
+
+	private static WritableImage renderFrame(FrameKey key, double seconds, int pixelSize) {
+		if (renderCanvas == null) {
+			renderCanvas = new Canvas();
+			snapshotParameters = new SnapshotParameters();
+			snapshotParameters.setFill(Color.TRANSPARENT);
+		}
+		renderModel.setProgress(key.rotationFactor() < 0 ? key.inflateLength() / 360d : -key.inflateLength() / 360d);
+
+		renderCanvas.setWidth(pixelSize);
+		renderCanvas.setHeight(pixelSize);
+		GraphicsContext gc = renderCanvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, pixelSize, pixelSize);
+		gc.save();
+		gc.scale(key.renderScale(), key.renderScale());
+		double center = (pixelSize / key.renderScale()) / 2;
+		double radius = key.radius();
+		gc.setLineWidth(key.thickness());
+		gc.setLineCap(key.lineCap());
+		gc.setStroke(key.paint());
+		gc.strokeArc(center - radius, center - radius, radius * 2, radius * 2,
+				renderModel.getIndeterminateStartAngle(seconds), renderModel.getIndeterminateLength(seconds), ArcType.OPEN);
+		gc.restore();
+
+		return renderCanvas.snapshot(snapshotParameters, new WritableImage(pixelSize, pixelSize));
+	}
+
+	private record FrameKey(double radius, double thickness, Paint paint, StrokeLineCap lineCap,
+							double inflateLength, double rotationFactor, double renderScale) {
+	}
+
+	/**
+	 * Frames of the first indeterminate cycle, rendered on demand.
+	 */
+	static final class Frames {
+		private final FrameKey key;
+		private final double cycleSeconds;
+		private final double framesPerSecond;
+		private final int pixelSize;
+		private final Image[] images;
+		private final long byteSize;
+
+		private Frames(FrameKey key, double cycleSeconds, int framesPerSecond) {
+			this.key = key;
+			this.cycleSeconds = cycleSeconds;
+			this.framesPerSecond = Math.max(1, framesPerSecond);
+			this.pixelSize = (int) Math.ceil(((key.radius() * 2) + (key.thickness() * 2)) * key.renderScale());
+			this.images = new Image[Math.max(1, (int) Math.ceil(cycleSeconds * this.framesPerSecond))];
+			this.byteSize = (long) images.length * pixelSize * pixelSize * 4;
+		}
+
+		/**
+		 * @return true if these frames were rendered for the given parameters
+		 */
+		boolean matches(double radius, double thickness, Paint paint, StrokeLineCap lineCap, LoadingSpinnerAnimationModel model, double renderScale) {
+			return key.radius() == radius && key.thickness() == thickness && key.paint().equals(paint) && key.lineCap() == lineCap
+					&& key.inflateLength() == model.getInflateLength() && key.rotationFactor() == model.getRotationFactor()
+					&& key.renderScale() == renderScale;
+		}
+
+		/**
+		 * @return size of the frames in layout coordinates
+		 */
+		double getSize() {
+			return pixelSize / key.renderScale();
+		}
+
+		/**
+		 * @param seconds time since the indeterminate animation started
+		 * @return the frame at the given time, to be rotated by {@link #getRotate(double)}
+		 */
+		Image getImage(double seconds) {
+			double cycleTime = cycleSeconds > 0 ? Math.max(0, seconds) % cycleSeconds : 0;
+			int frameIndex = Math.min(images.length - 1, (int) (cycleTime * framesPerSecond));
+			Image image = images[frameIndex];
+			if (image == null) {
+				image = renderFrame(key, frameIndex / framesPerSecond, pixelSize);
+				images[frameIndex] = image;
+			}
+			return image;
+		}
+
+		/**
+		 * @param seconds time since the indeterminate animation started
+		 * @return the node rotation of the frame returned by {@link #getImage(double)}
+		 */
+		double getRotate(double seconds) {
+			int cycle = cycleSeconds > 0 ? (int) (Math.max(0, seconds) / cycleSeconds) : 0;
+			double cycleAngle = (cycle % LoadingSpinnerAnimationModel.indeterminateCycleCount) * (360d / LoadingSpinnerAnimationModel.indeterminateCycleCount);
+			return -cycleAngle * key.rotationFactor(); // arc angles are counter-clockwise, node rotation is clockwise
+		}
+	}
+}
@@ -0,0 +1,419 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleListProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+
+/**
+ * <p>Displays many spinner cells on a single rendering surface.</p>
+ * <p>Instead of one {@link LoadingSpinner} control (with its own skin, nodes and timelines) per spinner,
+ * the per-cell state lives in primitive arrays and all cells are drawn into one canvas,
+ * using the same arc and icon geometry as the {@link LoadingSpinnerSkin}.
+ * Only dirty cells (and cells with an indeterminate animation) are redrawn on each pulse.</p>
+ * <p>Cell state can be updated in bulk, e.g. {@link #setProgress(int[], double[])}.
+ * All methods must be called on the JavaFX Application Thread.</p>
+ * Fields:
+ * <p>{@link LoadingSpinnerGrid#cellCount}</p>
+ * <p>{@link LoadingSpinnerGrid#columns}</p>
+ * <p>{@link LoadingSpinnerGrid#cellSize}</p>
+ * <p>{@link LoadingSpinnerGrid#thickness}</p>
+ * <p>{@link LoadingSpinnerGrid#trackPaint}</p>
+ * <p>{@link LoadingSpinnerGrid#lineCap}</p>
+ * <p>{@link LoadingSpinnerGrid#paints}</p>
+ * <p>{@link LoadingSpinnerGrid#iconSequence}</p>
+ * <p>{@link LoadingSpinnerGrid#clock}</p>
+ */
+public class LoadingSpinnerGrid extends Control {
+	public static final String css_styleClass = "loading-spinner-grid";
+
+	/**
+	 * Index value of cells that do not display an icon.
+	 */
+	public static final int noIcon = -1;
+
+	/**
+	 * <p>Number of spinner cells in this grid.</p>
+	 * <p>default is 0</p>
+	 */
+	private final IntegerProperty cellCount = new SimpleIntegerProperty(LoadingSpinnerGrid.this, "cellCount", 0);
+
+	/**
+	 * <p>Number of cells per row, values &lt;= 0 fit as many cells into a row as the width allows.</p>
+	 * <p>default is 0</p>
+	 */
+	private final IntegerProperty columns = new SimpleIntegerProperty(LoadingSpinnerGrid.this, "columns", 0);
+
+	/**
+	 * <p>Width and height of each cell, the spinner radius is derived like {@link LoadingSpinnerSkin} does for its arc size.</p>
+	 * <p>default is 32</p>
+	 */
+	private final DoubleProperty cellSize = new SimpleDoubleProperty(LoadingSpinnerGrid.this, "cellSize", 32);
+
+	/**
+	 * <p>Thickness of the progress bars and stroke-width of the icons, see {@link LoadingSpinner#thicknessProperty()}.</p>
+	 * <p>default is 2</p>
+	 */
+	private final DoubleProperty thickness = new SimpleDoubleProperty(LoadingSpinnerGrid.this, "thickness", 2);
+
+	/**
+	 * <p>Paint of the full circle behind each progress bar, or null to not draw a track.</p>
+	 * <p>default is null</p>
+	 */
+	private final ObjectProperty<Paint> trackPaint = new SimpleObjectProperty<>(LoadingSpinnerGrid.this, "trackPaint", null);
+
+	/**
+	 * <p>Line cap of the progress bars, see {@link javafx.scene.shape.Shape#strokeLineCapProperty()}. Icons are always drawn with butt caps.</p>
+	 * <p>default is {@link StrokeLineCap#SQUARE}, like the progress bar of the {@link LoadingSpinnerSkin}</p>
+	 */
+	private final ObjectProperty<StrokeLineCap> lineCap = new SimpleObjectProperty<>(LoadingSpinnerGrid.this, "lineCap", StrokeLineCap.SQUARE);
+
+	/**
+	 * <p>Paints that cells refer to by their paint index.</p>
+	 * <p>If empty, all cells use the {@link LoadingSpinnerPaintAnimationInfo#defaultPaint default paint}.</p>
+	 */
+	private final ObservableList<Paint> paints = new SimpleListProperty<>(
+			LoadingSpinnerGrid.this, "paints", FXCollections.observableArrayList()
+	);
+
+	/**
+	 * <p>Icons that cells refer to by their icon index.</p>
+	 */
+	private final ObservableList<LoadingSpinnerAnimatedIcon> iconSequence = new SimpleListProperty<>(
+			LoadingSpinnerGrid.this, "iconSequence", FXCollections.observableArrayList()
+	);
+
+	/**
+	 * <p>Time source for the indeterminate animations.</p>
+	 * <p>default is {@link LoadingSpinnerClock#SYSTEM}</p>
+	 */
+	private final ObjectProperty<LoadingSpinnerClock> clock = new SimpleObjectProperty<>(
+			LoadingSpinnerGrid.this, "clock", LoadingSpinnerClock.SYSTEM
+	);
+
+	private double[] cellProgress = new double[0];
+	private boolean[] cellIndeterminate = new boolean[0];
+	private int[] cellIconIndex = new int[0];
+	private int[] cellPaintIndex = new int[0];
+	private long[] cellIndeterminateStartNanos = new long[0];
+
+	final BitSet dirtyCells = new BitSet();
+	final BitSet indeterminateCells = new BitSet();
+
+	public LoadingSpinnerGrid() {
+		getStyleClass().add(css_styleClass);
+		cellCount.addListener((observable, oldValue, newValue) -> resizeCells(newValue.intValue()));
+	}
+
+	public LoadingSpinnerGrid(int cellCount) {
+		this();
+		setCellCount(cellCount);
+	}
+
+	private void resizeCells(int newCellCount) {
+		int oldCellCount = cellProgress.length;
+		newCellCount = Math.max(0, newCellCount);
+		cellProgress = Arrays.copyOf(cellProgress, newCellCount);
+		cellIndeterminate = Arrays.copyOf(cellIndeterminate, newCellCount);
+		cellIconIndex = Arrays.copyOf(cellIconIndex, newCellCount);
+		cellPaintIndex = Arrays.copyOf(cellPaintIndex, newCellCount);
+		cellIndeterminateStartNanos = Arrays.copyOf(cellIndeterminateStartNanos, newCellCount);
+		if (newCellCount > oldCellCount) {
+			Arrays.fill(cellIconIndex, oldCellCount, newCellCount, noIcon);
+		} else {
+			dirtyCells.clear(newCellCount, Math.max(newCellCount, oldCellCount));
+			indeterminateCells.clear(newCellCount, Math.max(newCellCount, oldCellCount));
+		}
+		requestLayout();
+	}
+
+	private void markCellDirty(int cell) {
+		dirtyCells.set(cell);
+		if (getSkin() instanceof LoadingSpinnerGridSkin gridSkin) {
+			gridSkin.requestRedraw();
+		}
+	}
+
+	/**
+	 * @param cell  index of the cell to update
+	 * @param value progress of the cell, see {@link LoadingSpinner#progressProperty()}
+	 */
+	public void setProgress(int cell, double value) {
+		value = Math.max(-1, Math.min(1, value));
+		if (cellProgress[cell] != value) {
+			cellProgress[cell] = value;
+			markCellDirty(cell);
+		}
+	}
+
+	/**
+	 * @param cells  indices of the cells to update
+	 * @param values progress for each cell, see {@link LoadingSpinner#progressProperty()}
+	 */
+	public void setProgress(int[] cells, double[] values) {
+		if (cells.length != values.length) {
+			throw new IllegalArgumentException("cells and values must have the same length");
+		}
+		for (int i = 0; i < cells.length; i++) {
+			setProgress(cells[i], values[i]);
+		}
+	}
+
+	public double getProgress(int cell) {
+		return cellProgress[cell];
+	}
+
+	/**
+	 * @param cell  index of the cell to update
+	 * @param value whether the cell plays the indeterminate animation, see {@link LoadingSpinner#indeterminateProperty()}
+	 */
+	public void setIndeterminate(int cell, boolean value) {
+		if (cellIndeterminate[cell] != value) {
+			cellIndeterminate[cell] = value;
+			indeterminateCells.set(cell, value);
+			if (value) {
+				cellIndeterminateStartNanos[cell] = getClock().nanoTime();
+			}
+			markCellDirty(cell);
+		}
+	}
+
+	/**
+	 * @param cells indices of the cells to update
+	 * @param value whether the cells play the indeterminate animation
+	 */
+	public void setIndeterminate(int[] cells, boolean value) {
+		for (int cell : cells) {
+			setIndeterminate(cell, value);
+		}
+	}
+
+	/**
+	 * @param cells  indices of the cells to update
+	 * @param values whether each cell plays the indeterminate animation
+	 */
+	public void setIndeterminate(int[] cells, boolean[] values) {
+		if (cells.length != values.length) {
+			throw new IllegalArgumentException("cells and values must have the same length");
+		}
+		for (int i = 0; i < cells.length; i++) {
+			setIndeterminate(cells[i], values[i]);
+		}
+	}
+
+	public boolean isIndeterminate(int cell) {
+		return cellIndeterminate[cell];
+	}
+
+	/**
+	 * @param cell      index of the cell to update
+	 * @param iconIndex index into the {@link LoadingSpinnerGrid#iconSequence} or {@link LoadingSpinnerGrid#noIcon}
+	 */
+	public void setIconIndex(int cell, int iconIndex) {
+		if (cellIconIndex[cell] != iconIndex) {
+			cellIconIndex[cell] = iconIndex;
+			markCellDirty(cell);
+		}
+	}
+
+	/**
+	 * @param cells       indices of the cells to update
+	 * @param iconIndices index into the {@link LoadingSpinnerGrid#iconSequence} or {@link LoadingSpinnerGrid#noIcon} for each cell
+	 */
+	public void setIconIndex(int[] cells, int[] iconIndices) {
+		if (cells.length != iconIndices.length) {
+			throw new IllegalArgumentException("cells and iconIndices must have the same length");
+		}
+		for (int i = 0; i < cells.length; i++) {
+			setIconIndex(cells[i], iconIndices[i]);
+		}
+	}
+
+	/**
+	 * Sets the icon of a cell by its {@link LoadingSpinnerAnimatedIcon#getKey() key}, unknown keys remove the icon.
+	 */
+	public void setIconByKey(int cell, String key) {
+		int iconIndex = noIcon;
+		for (int i = 0; i < iconSequence.size(); i++) {
+			if (iconSequence.get(i).getKey() != null && iconSequence.get(i).getKey().equals(key)) {
+				iconIndex = i;
+				break;
+			}
+		}
+		setIconIndex(cell, iconIndex);
+	}
+
+	public int getIconIndex(int cell) {
+		return cellIconIndex[cell];
+	}
+
+	/**
+	 * @param cell       index of the cell to update
+	 * @param paintIndex index into the {@link LoadingSpinnerGrid#paints}
+	 */
+	public void setPaintIndex(int cell, int paintIndex) {
+		if (cellPaintIndex[cell] != paintIndex) {
+			cellPaintIndex[cell] = paintIndex;
+			markCellDirty(cell);
+		}
+	}
+
+	/**
+	 * @param cells        indices of the cells to update
+	 * @param paintIndices index into the {@link LoadingSpinnerGrid#paints} for each cell
+	 */
+	public void setPaintIndex(int[] cells, int[] paintIndices) {
+		if (cells.length != paintIndices.length) {
+			throw new IllegalArgumentException("cells and paintIndices must have the same length");
+		}
+		for (int i = 0; i < cells.length; i++) {
+			setPaintIndex(cells[i], paintIndices[i]);
+		}
+	}
+
+	public int getPaintIndex(int cell) {
+		return cellPaintIndex[cell];
+	}
+
+	/**
+	 * @return the time (of the {@link LoadingSpinnerGrid#clock}) at which the indeterminate animation of the cell started
+	 */
+	public long getIndeterminateStartNanos(int cell) {
+		return cellIndeterminateStartNanos[cell];
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#cellCount see field javadoc}
+	 */
+	public IntegerProperty cellCountProperty() {
+		return cellCount;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#columns see field javadoc}
+	 */
+	public IntegerProperty columnsProperty() {
+		return columns;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#cellSize see field javadoc}
+	 */
+	public DoubleProperty cellSizeProperty() {
+		return cellSize;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#thickness see field javadoc}
+	 */
+	public DoubleProperty thicknessProperty() {
+		return thickness;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#trackPaint see field javadoc}
+	 */
+	public ObjectProperty<Paint> trackPaintProperty() {
+		return trackPaint;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#lineCap see field javadoc}
+	 */
+	public ObjectProperty<StrokeLineCap> lineCapProperty() {
+		return lineCap;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#paints see field javadoc}
+	 */
+	public ObservableList<Paint> getPaints() {
+		return paints;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#iconSequence see field javadoc}
+	 */
+	public ObservableList<LoadingSpinnerAnimatedIcon> getIconSequence() {
+		return iconSequence;
+	}
+
+	/**
+	 * {@link LoadingSpinnerGrid#clock see field javadoc}
+	 */
+	public ObjectProperty<LoadingSpinnerClock> clockProperty() {
+		return clock;
+	}
+
+	public int getCellCount() {
+		return cellCount.get();
+	}
+
+	public void setCellCount(int cellCount) {
+		this.cellCount.set(cellCount);
+	}
+
+	public int getColumns() {
+		return columns.get();
+	}
+
+	public void setColumns(int columns) {
+		this.columns.set(columns);
+	}
+
+	public double getCellSize() {
+		return cellSize.get();
+	}
+
+	public void setCellSize(double cellSize) {
+		this.cellSize.set(cellSize);
+	}
+
+	public double getThickness() {
+		return thickness.get();
+	}
+
+	public void setThickness(double thickness) {
+		this.thickness.set(thickness);
+	}
+
+	public Paint getTrackPaint() {
+		return trackPaint.get();
+	}
+
+	public void setTrackPaint(Paint trackPaint) {
+		this.trackPaint.set(trackPaint);
+	}
+
+	public StrokeLineCap getLineCap() {
+		return lineCap.get();
+	}
+
+	public void setLineCap(StrokeLineCap lineCap) {
+		this.lineCap.set(lineCap != null ? lineCap : StrokeLineCap.SQUARE);
+	}
+
+	public LoadingSpinnerClock getClock() {
+		return clock.get();
+	}
+
+	public void setClock(LoadingSpinnerClock clock) {
+		this.clock.set(clock != null ? clock : LoadingSpinnerClock.SYSTEM);
+	}
+
+	@Override
+	protected Skin<?> createDefaultSkin() {
+		return new LoadingSpinnerGridSkin(this);
+	}
+}
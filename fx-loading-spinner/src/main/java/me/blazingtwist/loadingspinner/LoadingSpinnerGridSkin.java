@@ -0,0 +1,240 @@
+package me.blazingtwist.loadingspinner;
+
+import javafx.beans.Observable;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.SkinBase;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.StrokeLineCap;
+
+/**
+ * <p>Default skin of the {@link LoadingSpinnerGrid}, draws all cells into a single {@link Canvas}.</p>
+ * <p>Cells are redrawn from the {@link LoadingSpinnerAnimationEngine} pulse, only dirty and indeterminate cells are drawn.
+ * Cells showing an icon are drawn in the final state of the {@link LoadingSpinnerSkin} icon transition.</p>
+ */
+public class LoadingSpinnerGridSkin extends SkinBase<LoadingSpinnerGrid> {
+
+	protected final LoadingSpinnerGrid grid;
+	protected final Canvas canvas;
+
+	protected final LoadingSpinnerAnimationModel animationModel = new LoadingSpinnerAnimationModel();
+
+	private final Runnable enginePulseCallback = this::onPulse;
+	protected boolean engineRegistered = false;
+	protected LoadingSpinnerVisibilityTracker visibilityTracker;
+	protected boolean gridVisible = false;
+	protected boolean redrawRequested = false;
+	protected boolean fullRedrawRequested = true;
+	protected int currentColumns = 1;
+
+	public LoadingSpinnerGridSkin(LoadingSpinnerGrid grid) {
+		super(grid);
+		this.grid = grid;
+		canvas = new Canvas();
+		canvas.setManaged(false);
+		getChildren().setAll(canvas);
+
+		for (Observable observable : new Observable[]{grid.cellCountProperty(), grid.columnsProperty(), grid.cellSizeProperty()}) {
+			registerInvalidationListener(observable, ignored -> grid.requestLayout());
+		}
+		for (Observable observable : new Observable[]{grid.thicknessProperty(), grid.trackPaintProperty(), grid.lineCapProperty(), grid.getPaints(), grid.getIconSequence()}) {
+			registerInvalidationListener(observable, this::onFullRedrawInvalidated);
+		}
+
+		visibilityTracker = new LoadingSpinnerVisibilityTracker(grid, this::checkGridVisibility);
+		checkGridVisibility();
+	}
+
+	private void onFullRedrawInvalidated(Observable observable) {
+		fullRedrawRequested = true;
+		requestRedraw();
+	}
+
+	protected void checkGridVisibility() {
+		gridVisible = visibilityTracker != null && visibilityTracker.isShown();
+		if (gridVisible) {
+			fullRedrawRequested = true;
+			redrawRequested = true;
+		}
+		updateEngineRegistration();
+	}
+
+	/**
+	 * Schedules a redraw of the dirty cells on the next pulse.
+	 */
+	protected void requestRedraw() {
+		if (!redrawRequested) {
+			redrawRequested = true;
+			updateEngineRegistration();
+		}
+	}
+
+	protected void updateEngineRegistration() {
+		boolean shouldRegister = gridVisible && (redrawRequested || !grid.indeterminateCells.isEmpty());
+		if (shouldRegister != engineRegistered) {
+			engineRegistered = shouldRegister;
+			if (shouldRegister) {
+				LoadingSpinnerAnimationEngine.register(enginePulseCallback);
+			} else {
+				LoadingSpinnerAnimationEngine.unregister(enginePulseCallback);
+			}
+		}
+	}
+
+	protected void onPulse() {
+		redrawRequested = false;
+		if (fullRedrawRequested) {
+			redrawAll();
+		} else {
+			grid.dirtyCells.or(grid.indeterminateCells);
+			redrawDirtyCells();
+		}
+		updateEngineRegistration();
+	}
+
+	protected int computeColumns(double width) {
+		int columns = grid.getColumns();
+		if (columns <= 0) {
+			columns = (int) Math.floor(width / grid.getCellSize());
+		}
+		return Math.max(1, columns);
+	}
+
+	protected int computeRows(int columns) {
+		return (grid.getCellCount() + columns - 1) / columns;
+	}
+
+	@Override
+	protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
+		int columns = grid.getColumns() > 0 ? grid.getColumns() : (int) Math.ceil(Math.sqrt(grid.getCellCount()));
+		return leftInset + rightInset + (Math.max(1, columns) * grid.getCellSize());
+	}
+
+	@Override
+	protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
+		int columns = width > 0 ? computeColumns(width - leftInset - rightInset)
+				: grid.getColumns() > 0 ? grid.getColumns() : Math.max(1, (int) Math.ceil(Math.sqrt(grid.getCellCount())));
+		return topInset + bottomInset + (computeRows(columns) * grid.getCellSize());
+	}
+
+	@Override
+	protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+		currentColumns = computeColumns(contentWidth);
+		double canvasWidth = currentColumns * grid.getCellSize();
+		double canvasHeight = computeRows(currentColumns) * grid.getCellSize();
+		if (canvas.getWidth() != canvasWidth || canvas.getHeight() != canvasHeight) {
+			canvas.setWidth(canvasWidth);
+			canvas.setHeight(canvasHeight);
+		}
+		canvas.relocate(contentX, contentY);
+		redrawAll();
+	}
+
+	protected void redrawAll() {
+		fullRedrawRequested = false;
+		canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+		grid.dirtyCells.set(0, grid.getCellCount());
+		redrawDirtyCells();
+	}
+
+	protected void redrawDirtyCells() {
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		long now = grid.getClock().nanoTime();
+		for (int cell = grid.dirtyCells.nextSetBit(0); cell >= 0; cell = grid.dirtyCells.nextSetBit(cell + 1)) {
+			drawCell(gc, cell, now);
+		}
+		grid.dirtyCells.clear();
+	}
+
+	/**
+	 * Draws a single cell, using the same geometry as {@link LoadingSpinnerSkin}.
+	 */
+	protected void drawCell(GraphicsContext gc, int cell, long nowNanos) {
+		final double cellSize = grid.getCellSize();
+		final double cellX = (cell % currentColumns) * cellSize;
+		final double cellY = (cell / currentColumns) * cellSize;
+		gc.clearRect(cellX, cellY, cellSize, cellSize);
+
+		final double arcThickness = grid.getThickness();
+		final double arcRadius = (cellSize / 2) - arcThickness;
+		if (arcRadius <= 0) {
+			return;
+		}
+		final double centerX = cellX + (cellSize / 2);
+		final double centerY = cellY + (cellSize / 2);
+
+		final double progress = grid.getProgress(cell);
+		animationModel.setProgress(progress);
+		final LoadingSpinnerAnimatedIcon icon = getIcon(grid.getIconIndex(cell));
+		Paint paint = getPaint(grid.getPaintIndex(cell));
+
+		final double barStartAngle;
+		final double barLength;
+		if (icon != null) {
+			barStartAngle = animationModel.getIconGapStartAngle(icon);
+			barLength = LoadingSpinnerAnimationModel.getIconBarLength(icon) * animationModel.getRotationFactor();
+			if (icon.getPaint() != null) {
+				paint = icon.getPaint();
+			}
+		} else if (grid.isIndeterminate(cell)) {
+			double seconds = (nowNanos - grid.getIndeterminateStartNanos(cell)) / 1_000_000_000d;
+			barStartAngle = animationModel.getIndeterminateStartAngle(seconds);
+			barLength = animationModel.getIndeterminateLength(seconds);
+		} else {
+			barStartAngle = 0;
+			barLength = -360d * progress;
+		}
+
+		gc.setLineWidth(arcThickness);
+		StrokeLineCap lineCap = grid.getLineCap();
+		gc.setLineCap(lineCap != null ? lineCap : StrokeLineCap.SQUARE);
+		Paint trackPaint = grid.getTrackPaint();
+		if (trackPaint != null) {
+			gc.setStroke(trackPaint);
+			gc.strokeOval(centerX - arcRadius, centerY - arcRadius, arcRadius * 2, arcRadius * 2);
+		}
+		if (barLength != 0) {
+			gc.setStroke(paint);
+			gc.strokeArc(centerX - arcRadius, centerY - arcRadius, arcRadius * 2, arcRadius * 2, barStartAngle, barLength, ArcType.OPEN);
+		}
+
+		if (icon != null) {
+			double referenceRadius = icon.getReferenceRadius();
+			referenceRadius = referenceRadius <= 0 ? arcRadius : referenceRadius; // if referenceRadius <= 0, then don't apply scaling
+			double radiusScale = arcRadius / referenceRadius;
+			LoadingSpinnerIconRegistry.Geometry geometry = icon.getGeometry();
+
+			gc.save();
+			gc.translate(centerX + (icon.getOffsetX() * radiusScale), centerY + (icon.getOffsetY() * radiusScale));
+			gc.scale(radiusScale, radiusScale);
+			gc.translate(-geometry.getCenterX(), -geometry.getCenterY());
+			gc.setLineWidth(arcThickness / radiusScale);
+			gc.setLineCap(StrokeLineCap.BUTT);
+			gc.beginPath();
+			geometry.appendTo(gc);
+			gc.stroke();
+			gc.restore();
+		}
+	}
+
+	private LoadingSpinnerAnimatedIcon getIcon(int iconIndex) {
+		return iconIndex >= 0 && iconIndex < grid.getIconSequence().size() ? grid.getIconSequence().get(iconIndex) : null;
+	}
+
+	private Paint getPaint(int paintIndex) {
+		int paintCount = grid.getPaints().size();
+		return paintCount == 0 ? LoadingSpinnerPaintAnimationInfo.defaultPaint : grid.getPaints().get(Math.floorMod(paintIndex, paintCount));
+	}
+
+	/**
+	 * Removes all listeners, see {@link SkinBase#dispose()}, and leaves the animation engine.
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		visibilityTracker.dispose();
+		gridVisible = false;
+		updateEngineRegistration();
+	}
+}
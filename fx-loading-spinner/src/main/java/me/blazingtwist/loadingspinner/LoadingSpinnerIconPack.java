@@ -0,0 +1,285 @@
+package me.blazingtwist.loadingspinner;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+
+/**
+ * <p>Read-only collection of {@link LoadingSpinnerAnimatedIcon}s stored in a compact binary file.</p>
+ * <p>Packs are created at build time (see the 'icon-pack-compiler' module) or with {@link #write(Collection, OutputStream)}.
+ * Opening a pack only maps the file, icons are decoded on the first lookup of their key, so opening does not depend on the number of icons.</p>
+ * <p>Assign a pack to {@link LoadingSpinner#iconPackProperty() iconPack} to display its icons by key
+ * without adding them to the {@link LoadingSpinner#getIconSequence() iconSequence}.</p>
+ * <p>Format (big endian):</p>
+ * <ul>
+ *     <li>header: magic 'LSIP' (int), version (int), icon count (int)</li>
+ *     <li>index, sorted by key: key offset (int), key byte length (int), record offset (int)</li>
+ *     <li>records: pathLength, referenceRadius, gapWidth, gapAngle, offsetX, offsetY (doubles), paint, path (strings)</li>
+ *     <li>strings: byte length (int, -1 for null) followed by UTF-8 bytes</li>
+ *     <li>paints: css string of {@link Paint#valueOf(String)}, so only {@link Color}s (8 bits per channel) and linear or radial gradients are supported</li>
+ * </ul>
+ * <p>Opening a pack only validates the header, records are validated when they are decoded,
+ * a corrupt record throws an {@link UncheckedIOException} on lookup.</p>
+ * <p>All methods are thread-safe.</p>
+ */
+public final class LoadingSpinnerIconPack {
+
+	private static final int magic = 0x4C534950; // 'LSIP'
+	private static final int version = 1;
+	private static final int headerBytes = 12;
+	private static final int indexEntryBytes = 12;
+
+	private final ByteBuffer buffer;
+	private final int iconCount;
+	private final Map<String, LoadingSpinnerAnimatedIcon> decodedIcons = new ConcurrentHashMap<>();
+
+	private LoadingSpinnerIconPack(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer.asReadOnlyBuffer();
+		if (buffer.remaining() < headerBytes || buffer.getInt(0) != magic) {
+			throw new IOException("not an icon pack");
+		}
+		if (buffer.getInt(4) != version) {
+			throw new IOException("unsupported icon pack version: " + buffer.getInt(4));
+		}
+		this.iconCount = buffer.getInt(8);
+		if (iconCount < 0 || headerBytes + ((long) iconCount * indexEntryBytes) > buffer.limit()) {
+			throw new IOException("corrupt icon pack index");
+		}
+	}
+
+	/**
+	 * Memory-maps the given pack file.
+	 */
+	public static LoadingSpinnerIconPack open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new LoadingSpinnerIconPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads a pack into memory, e.g. from a classpath resource inside a jar, which cannot be mapped.
+	 */
+	public static LoadingSpinnerIconPack read(InputStream inputStream) throws IOException {
+		return new LoadingSpinnerIconPack(ByteBuffer.wrap(inputStream.readAllBytes()));
+	}
+
+	public int getIconCount() {
+		return iconCount;
+	}
+
+	/**
+	 * @return the keys of all icons in this pack, in ascending order
+	 * @throws UncheckedIOException if the index is corrupt
+	 */
+	public List<String> getKeys() {
+		List<String> keys = new ArrayList<>(iconCount);
+		for (int i = 0; i < iconCount; i++) {
+			keys.add(readKey(i));
+		}
+		return Collections.unmodifiableList(keys);
+	}
+
+	/**
+	 * @return the icon with the given key, or null if the pack does not contain it
+	 * @throws UncheckedIOException if the index or the record of the icon is corrupt
+	 */
+	public LoadingSpinnerAnimatedIcon getIcon(String key) {
+		if (key == null) {
+			return null;
+		}
+		LoadingSpinnerAnimatedIcon icon = decodedIcons.get(key);
+		if (icon != null) {
+			return icon;
+		}
+		int index = findIndex(key);
+		if (index < 0) {
+			return null;
+		}
+		return decodedIcons.computeIfAbsent(key, k -> decodeIcon(k, index));
+	}
+
+	private int findIndex(String key) {
+		int low = 0;
+		int high = iconCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = readKey(mid).compareTo(key);
+			if (comparison < 0) {
+				low = mid + 1;
+			} else if (comparison > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private String readKey(int index) {
+		int entry = headerBytes + (index * indexEntryBytes);
+		return readString(buffer.getInt(entry), buffer.getInt(entry + 4));
+	}
+
+	private LoadingSpinnerAnimatedIcon decodeIcon(String key, int index) {
+		int position = buffer.getInt(headerBytes + (index * indexEntryBytes) + 8);
+		checkRange(position, 48 + 4);
+		double pathLength = buffer.getDouble(position);
+		double referenceRadius = buffer.getDouble(position + 8);
+		double gapWidth = buffer.getDouble(position + 16);
+		double gapAngle = buffer.getDouble(position + 24);
+		double offsetX = buffer.getDouble(position + 32);
+		double offsetY = buffer.getDouble(position + 40);
+		position += 48;
+
+		int paintLength = buffer.getInt(position);
+		String paint = readString(position + 4, paintLength);
+		position += 4 + Math.max(0, paintLength);
+		checkRange(position, 4);
+		String path = readString(position + 4, buffer.getInt(position));
+		if (path == null) {
+			throw corrupt("icon '" + key + "' has no path");
+		}
+
+		try {
+			return new LoadingSpinnerAnimatedIcon(key, path, pathLength, referenceRadius,
+					paint != null ? Paint.valueOf(paint) : null, gapWidth, gapAngle, offsetX, offsetY);
+		} catch (IllegalArgumentException e) {
+			throw corrupt("icon '" + key + "' cannot be decoded: " + e.getMessage());
+		}
+	}
+
+	private String readString(int offset, int length) {
+		if (length < 0) {
+			if (length != -1) {
+				throw corrupt("negative string length " + length + " at " + offset);
+			}
+			return null;
+		}
+		checkRange(offset, length);
+		byte[] bytes = new byte[length];
+		buffer.get(offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void checkRange(long offset, long length) {
+		if (offset < 0 || offset + length > buffer.limit()) {
+			throw corrupt("record at " + offset + " with " + length + " bytes exceeds the pack size " + buffer.limit());
+		}
+	}
+
+	private static UncheckedIOException corrupt(String message) {
+		return new UncheckedIOException(new IOException("corrupt icon pack: " + message));
+	}
+
+	/**
+	 * Writes the given icons as a pack.
+	 *
+	 * @throws IllegalArgumentException if an icon has no key, two icons share a key, or an icon has an unsupported paint (see class javadoc)
+	 */
+	public static void write(Collection<LoadingSpinnerAnimatedIcon> icons, OutputStream outputStream) throws IOException {
+		List<LoadingSpinnerAnimatedIcon> sortedIcons = new ArrayList<>(icons);
+		Set<String> keys = new HashSet<>();
+		for (LoadingSpinnerAnimatedIcon icon : sortedIcons) {
+			if (icon.getKey() == null) {
+				throw new IllegalArgumentException("icon packs require a key for every icon: " + icon);
+			}
+			if (!keys.add(icon.getKey())) {
+				throw new IllegalArgumentException("duplicate icon key: " + icon.getKey());
+			}
+		}
+		sortedIcons.sort(Comparator.comparing(LoadingSpinnerAnimatedIcon::getKey));
+
+		List<byte[]> keyBytes = new ArrayList<>(sortedIcons.size());
+		List<byte[]> records = new ArrayList<>(sortedIcons.size());
+		for (LoadingSpinnerAnimatedIcon icon : sortedIcons) {
+			keyBytes.add(icon.getKey().getBytes(StandardCharsets.UTF_8));
+			records.add(encodeRecord(icon));
+		}
+
+		DataOutputStream output = new DataOutputStream(outputStream);
+		output.writeInt(magic);
+		output.writeInt(version);
+		output.writeInt(sortedIcons.size());
+
+		int keyOffset = headerBytes + (sortedIcons.size() * indexEntryBytes);
+		int recordOffset = keyOffset + keyBytes.stream().mapToInt(bytes -> bytes.length).sum();
+		for (int i = 0; i < sortedIcons.size(); i++) {
+			output.writeInt(keyOffset);
+			output.writeInt(keyBytes.get(i).length);
+			output.writeInt(recordOffset);
+			keyOffset += keyBytes.get(i).length;
+			recordOffset += records.get(i).length;
+		}
+		for (byte[] bytes : keyBytes) {
+			output.write(bytes);
+		}
+		for (byte[] record : records) {
+			output.write(record);
+		}
+		output.flush();
+	}
+
+	private static byte[] encodeRecord(LoadingSpinnerAnimatedIcon icon) {
+		byte[] paint = icon.getPaint() != null ? encodePaint(icon).getBytes(StandardCharsets.UTF_8) : null;
+		byte[] path = icon.getPath().getBytes(StandardCharsets.UTF_8);
+		ByteBuffer record = ByteBuffer.allocate(48 + 4 + (paint != null ? paint.length : 0) + 4 + path.length);
+		record.putDouble(icon.getPathLength());
+		record.putDouble(icon.getReferenceRadius());
+		record.putDouble(icon.getGapWidth());
+		record.putDouble(icon.getGapAngle());
+		record.putDouble(icon.getOffsetX());
+		record.putDouble(icon.getOffsetY());
+		record.putInt(paint != null ? paint.length : -1);
+		if (paint != null) {
+			record.put(paint);
+		}
+		record.putInt(path.length);
+		record.put(path);
+		return record.array();
+	}
+
+	/**
+	 * @return the css string of the icon's paint, which {@link Paint#valueOf(String)} parses when the pack is read
+	 * @throws IllegalArgumentException if the paint cannot be stored
+	 */
+	private static String encodePaint(LoadingSpinnerAnimatedIcon icon) {
+		Paint paint = icon.getPaint();
+		if (!(paint instanceof Color || paint instanceof LinearGradient || paint instanceof RadialGradient)) {
+			throw new IllegalArgumentException("icon packs only support colors and linear or radial gradients, icon '" + icon.getKey() + "' has: " + paint);
+		}
+		String css = paint.toString();
+		try {
+			Paint.valueOf(css);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("paint of icon '" + icon.getKey() + "' cannot be stored: " + css, e);
+		}
+		return css;
+	}
+
+	@Override
+	public String toString() {
+		return "LoadingSpinnerIconPack{"
+				+ "iconCount: " + iconCount
+				+ '}';
+	}
+}
@@ -0,0 +1,691 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+
+/**
+ * <p>Process-wide registry of parsed icon paths.</p>
+ * <p>Each distinct <a href="https://www.w3schools.com/graphics/svg_path.asp">svg path</a> is parsed once into an immutable {@link Geometry},
+ * which is shared by all spinners and skins showing it.
+ * The geometry knows the exact length of the path (used as default {@link LoadingSpinnerAnimatedIcon#getPathLength() pathLength})
+ * and its bounds, and can be drawn to a canvas or shown by a {@link javafx.scene.shape.Path} without parsing the path again.</p>
+ * <p>All methods are thread-safe.</p>
+ */
+public final class LoadingSpinnerIconRegistry {
+
+	private static final Map<String, Geometry> geometries = new ConcurrentHashMap<>();
+
+	private LoadingSpinnerIconRegistry() {
+	}
+
+	/**
+	 * @param path svg path
+	 * @return the parsed geometry of the path, parsed on the first request
+	 * @throws IllegalArgumentException if the path is malformed
+	 */
+	public static Geometry getGeometry(String path) {
+		return geometries.computeIfAbsent(path, Geometry::parse);
+	}
+
+	public static int getGeometryCount() {
+		return geometries.size();
+	}
+
+	/**
+	 * Removes all geometries, icons keep the geometries they already resolved.
+	 */
+	public static void clear() {
+		geometries.clear();
+	}
+
+	/**
+	 * <p>Immutable geometry of an svg path, consisting of absolute move, line, quadratic curve, cubic curve and close segments.</p>
+	 * <p>Arcs are converted to cubic curves, shorthand and relative commands are resolved.</p>
+	 */
+	public static final class Geometry {
+		private static final byte segment_move = 0;
+		private static final byte segment_line = 1;
+		private static final byte segment_quad = 2;
+		private static final byte segment_cubic = 3;
+		private static final byte segment_close = 4;
+
+		private final byte[] segments;
+		private final double[] coordinates;
+		private final double length;
+		private final double longestSubpathLength;
+		private final double minX;
+		private final double minY;
+		private final double maxX;
+		private final double maxY;
+
+		/**
+		 * Created on the first request, a race only creates equal lists.
+		 */
+		private volatile List<PathElement> pathElements;
+
+		private Geometry(byte[] segments, double[] coordinates) {
+			this.segments = segments;
+			this.coordinates = coordinates;
+
+			Measure measure = new Measure();
+			forEachSegment(measure);
+			this.length = measure.length;
+			this.longestSubpathLength = Math.max(measure.longestSubpathLength, measure.subpathLength);
+			this.minX = measure.minX;
+			this.minY = measure.minY;
+			this.maxX = measure.maxX;
+			this.maxY = measure.maxY;
+		}
+
+		private static Geometry parse(String path) {
+			Parser parser = new Parser(path);
+			parser.parse();
+			return new Geometry(Arrays.copyOf(parser.segments, parser.segmentCount), Arrays.copyOf(parser.coordinates, parser.coordinateCount));
+		}
+
+		/**
+		 * @return the exact length of the path, curves are integrated numerically
+		 */
+		public double getLength() {
+			return length;
+		}
+
+		/**
+		 * @return the length of the longest subpath, dash patterns restart at each subpath,
+		 * so this is the dash length needed to stroke the whole path
+		 */
+		public double getLongestSubpathLength() {
+			return longestSubpathLength;
+		}
+
+		public double getMinX() {
+			return minX;
+		}
+
+		public double getMinY() {
+			return minY;
+		}
+
+		public double getMaxX() {
+			return maxX;
+		}
+
+		public double getMaxY() {
+			return maxY;
+		}
+
+		public double getCenterX() {
+			return (minX + maxX) / 2;
+		}
+
+		public double getCenterY() {
+			return (minY + maxY) / 2;
+		}
+
+		/**
+		 * Appends the path to the current path of the graphics context, like {@link GraphicsContext#appendSVGPath(String)} without parsing.
+		 */
+		public void appendTo(GraphicsContext gc) {
+			int c = 0;
+			for (byte segment : segments) {
+				switch (segment) {
+					case segment_move -> gc.moveTo(coordinates[c], coordinates[c + 1]);
+					case segment_line -> gc.lineTo(coordinates[c], coordinates[c + 1]);
+					case segment_quad -> gc.quadraticCurveTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3]);
+					case segment_cubic -> gc.bezierCurveTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3],
+							coordinates[c + 4], coordinates[c + 5]);
+					default -> gc.closePath();
+				}
+				c += getCoordinateCount(segment);
+			}
+		}
+
+		/**
+		 * <p>The path as JavaFX path elements, created on the first request and shared by every {@link javafx.scene.shape.Path} showing this geometry.</p>
+		 * <p>The elements are shared, they must not be modified.</p>
+		 */
+		public List<PathElement> getPathElements() {
+			List<PathElement> elements = pathElements;
+			if (elements == null) {
+				elements = createPathElements();
+				pathElements = elements;
+			}
+			return elements;
+		}
+
+		private List<PathElement> createPathElements() {
+			PathElement[] elements = new PathElement[segments.length];
+			int c = 0;
+			for (int i = 0; i < segments.length; i++) {
+				byte segment = segments[i];
+				elements[i] = switch (segment) {
+					case segment_move -> new MoveTo(coordinates[c], coordinates[c + 1]);
+					case segment_line -> new LineTo(coordinates[c], coordinates[c + 1]);
+					case segment_quad -> new QuadCurveTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3]);
+					case segment_cubic -> new CubicCurveTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3],
+							coordinates[c + 4], coordinates[c + 5]);
+					default -> new ClosePath();
+				};
+				c += getCoordinateCount(segment);
+			}
+			return List.of(elements);
+		}
+
+		/**
+		 * @param curveSteps number of points sampled along each curve
+		 * @return points along the path as [x0, y0, x1, y1, ...], lines contribute their end points
+		 */
+		public double[] samplePoints(int curveSteps) {
+			double[] points = new double[16];
+			int count = 0;
+			int c = 0;
+			double x = 0;
+			double y = 0;
+			double startX = 0;
+			double startY = 0;
+			for (byte segment : segments) {
+				int steps = segment == segment_quad || segment == segment_cubic ? curveSteps : 1;
+				if (count + (steps * 2) > points.length) {
+					points = Arrays.copyOf(points, Math.max(points.length * 2, count + (steps * 2)));
+				}
+				for (int step = 1; step <= steps; step++) {
+					double t = (double) step / steps;
+					double u = 1 - t;
+					double px;
+					double py;
+					switch (segment) {
+						case segment_move, segment_line -> {
+							px = coordinates[c];
+							py = coordinates[c + 1];
+						}
+						case segment_quad -> {
+							px = (u * u * x) + (2 * u * t * coordinates[c]) + (t * t * coordinates[c + 2]);
+							py = (u * u * y) + (2 * u * t * coordinates[c + 1]) + (t * t * coordinates[c + 3]);
+						}
+						case segment_cubic -> {
+							px = (u * u * u * x) + (3 * u * u * t * coordinates[c]) + (3 * u * t * t * coordinates[c + 2]) + (t * t * t * coordinates[c + 4]);
+							py = (u * u * u * y) + (3 * u * u * t * coordinates[c + 1]) + (3 * u * t * t * coordinates[c + 3]) + (t * t * t * coordinates[c + 5]);
+						}
+						default -> {
+							px = startX;
+							py = startY;
+						}
+					}
+					points[count++] = px;
+					points[count++] = py;
+				}
+				x = points[count - 2];
+				y = points[count - 1];
+				if (segment == segment_move) {
+					startX = x;
+					startY = y;
+				}
+				c += getCoordinateCount(segment);
+			}
+			return Arrays.copyOf(points, count);
+		}
+
+		private static int getCoordinateCount(byte segment) {
+			return switch (segment) {
+				case segment_move, segment_line -> 2;
+				case segment_quad -> 4;
+				case segment_cubic -> 6;
+				default -> 0;
+			};
+		}
+
+		private void forEachSegment(Measure measure) {
+			int c = 0;
+			double x = 0;
+			double y = 0;
+			double startX = 0;
+			double startY = 0;
+			for (byte segment : segments) {
+				switch (segment) {
+					case segment_move -> {
+						startX = coordinates[c];
+						startY = coordinates[c + 1];
+						measure.move(startX, startY);
+					}
+					case segment_line -> measure.line(x, y, coordinates[c], coordinates[c + 1]);
+					case segment_quad -> measure.cubic(x, y,
+							x + ((2d / 3) * (coordinates[c] - x)), y + ((2d / 3) * (coordinates[c + 1] - y)),
+							coordinates[c + 2] + ((2d / 3) * (coordinates[c] - coordinates[c + 2])),
+							coordinates[c + 3] + ((2d / 3) * (coordinates[c + 1] - coordinates[c + 3])),
+							coordinates[c + 2], coordinates[c + 3]);
+					case segment_cubic -> measure.cubic(x, y, coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3],
+							coordinates[c + 4], coordinates[c + 5]);
+					default -> measure.line(x, y, startX, startY);
+				}
+				if (segment == segment_close) {
+					x = startX;
+					y = startY;
+				} else {
+					int count = getCoordinateCount(segment);
+					x = coordinates[c + count - 2];
+					y = coordinates[c + count - 1];
+				}
+				c += getCoordinateCount(segment);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Geometry{"
+					+ "segments: " + segments.length
+					+ ", length: " + length
+					+ ", bounds: [" + minX + ", " + minY + ", " + maxX + ", " + maxY + "]"
+					+ '}';
+		}
+	}
+
+	/**
+	 * Accumulates length and bounds of the segments of a path.
+	 */
+	private static final class Measure {
+		private static final double[] gaussAbscissae = {-0.9061798459386640, -0.5384693101056831, 0, 0.5384693101056831, 0.9061798459386640};
+		private static final double[] gaussWeights = {0.2369268850561891, 0.4786286704993665, 0.5688888888888889, 0.4786286704993665, 0.2369268850561891};
+		private static final double lengthTolerance = 1e-9;
+		private static final int maxSubdivisions = 16;
+
+		private double length = 0;
+		private double subpathLength = 0;
+		private double longestSubpathLength = 0;
+		private double minX = Double.POSITIVE_INFINITY;
+		private double minY = Double.POSITIVE_INFINITY;
+		private double maxX = Double.NEGATIVE_INFINITY;
+		private double maxY = Double.NEGATIVE_INFINITY;
+
+		private void include(double x, double y) {
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			maxX = Math.max(maxX, x);
+			maxY = Math.max(maxY, y);
+		}
+
+		private void move(double x, double y) {
+			longestSubpathLength = Math.max(longestSubpathLength, subpathLength);
+			subpathLength = 0;
+			include(x, y);
+		}
+
+		private void addLength(double segmentLength) {
+			length += segmentLength;
+			subpathLength += segmentLength;
+		}
+
+		private void line(double x0, double y0, double x1, double y1) {
+			addLength(Math.hypot(x1 - x0, y1 - y0));
+			include(x0, y0);
+			include(x1, y1);
+		}
+
+		private void cubic(double x0, double y0, double x1, double y1, double x2, double y2, double x3, double y3) {
+			double[] c = {x0, y0, x1, y1, x2, y2, x3, y3};
+			addLength(cubicLength(c, 0, 1, gaussLength(c, 0, 1), 0));
+			include(x0, y0);
+			include(x3, y3);
+			includeExtrema(c, 0);
+			includeExtrema(c, 1);
+		}
+
+		/**
+		 * Includes the points where the derivative of the given axis is 0, which are the extreme points of the curve.
+		 */
+		private void includeExtrema(double[] c, int axis) {
+			double p0 = c[axis];
+			double p1 = c[axis + 2];
+			double p2 = c[axis + 4];
+			double p3 = c[axis + 6];
+			// derivative / 3 = a*t^2 + b*t + c
+			double a = -p0 + (3 * p1) - (3 * p2) + p3;
+			double b = 2 * (p0 - (2 * p1) + p2);
+			double k = p1 - p0;
+			if (Math.abs(a) < 1e-12) {
+				if (Math.abs(b) > 1e-12) {
+					includeAt(c, -k / b);
+				}
+				return;
+			}
+			double discriminant = (b * b) - (4 * a * k);
+			if (discriminant >= 0) {
+				double root = Math.sqrt(discriminant);
+				includeAt(c, (-b + root) / (2 * a));
+				includeAt(c, (-b - root) / (2 * a));
+			}
+		}
+
+		private void includeAt(double[] c, double t) {
+			if (t > 0 && t < 1) {
+				double u = 1 - t;
+				double w0 = u * u * u;
+				double w1 = 3 * u * u * t;
+				double w2 = 3 * u * t * t;
+				double w3 = t * t * t;
+				include((w0 * c[0]) + (w1 * c[2]) + (w2 * c[4]) + (w3 * c[6]), (w0 * c[1]) + (w1 * c[3]) + (w2 * c[5]) + (w3 * c[7]));
+			}
+		}
+
+		/**
+		 * Adaptive Gauss-Legendre integration of the curve speed, halves the interval until both halves agree with the whole.
+		 */
+		private static double cubicLength(double[] c, double t0, double t1, double whole, int depth) {
+			double mid = (t0 + t1) / 2;
+			double left = gaussLength(c, t0, mid);
+			double right = gaussLength(c, mid, t1);
+			if (depth >= maxSubdivisions || Math.abs(left + right - whole) <= lengthTolerance) {
+				return left + right;
+			}
+			return cubicLength(c, t0, mid, left, depth + 1) + cubicLength(c, mid, t1, right, depth + 1);
+		}
+
+		private static double gaussLength(double[] c, double t0, double t1) {
+			double halfSpan = (t1 - t0) / 2;
+			double center = (t0 + t1) / 2;
+			double sum = 0;
+			for (int i = 0; i < gaussAbscissae.length; i++) {
+				double t = center + (halfSpan * gaussAbscissae[i]);
+				double u = 1 - t;
+				double dx = 3 * ((u * u * (c[2] - c[0])) + (2 * u * t * (c[4] - c[2])) + (t * t * (c[6] - c[4])));
+				double dy = 3 * ((u * u * (c[3] - c[1])) + (2 * u * t * (c[5] - c[3])) + (t * t * (c[7] - c[5])));
+				sum += gaussWeights[i] * Math.hypot(dx, dy);
+			}
+			return sum * halfSpan;
+		}
+	}
+
+	/**
+	 * Parses svg path data into absolute segments.
+	 */
+	private static final class Parser {
+		private final String path;
+		private int position = 0;
+
+		private byte[] segments = new byte[16];
+		private int segmentCount = 0;
+		private double[] coordinates = new double[64];
+		private int coordinateCount = 0;
+
+		private double x = 0;
+		private double y = 0;
+		private double startX = 0;
+		private double startY = 0;
+		private double lastControlX = 0;
+		private double lastControlY = 0;
+		private char lastCommand = ' ';
+
+		private Parser(String path) {
+			this.path = path;
+		}
+
+		private void parse() {
+			char command = ' ';
+			while (skipSeparators()) {
+				char next = path.charAt(position);
+				if (Character.isLetter(next)) {
+					command = next;
+					position++;
+				} else if (command == ' ') {
+					throw error("path must start with a command");
+				} else if (command == 'M') {
+					command = 'L'; // implicit line-to after move-to
+				} else if (command == 'm') {
+					command = 'l';
+				}
+				parseCommand(command);
+				if (command == 'Z' || command == 'z') {
+					command = ' ';
+				}
+			}
+		}
+
+		private void parseCommand(char command) {
+			boolean relative = Character.isLowerCase(command);
+			double baseX = relative ? x : 0;
+			double baseY = relative ? y : 0;
+			switch (Character.toUpperCase(command)) {
+				case 'M' -> {
+					x = baseX + readNumber();
+					y = baseY + readNumber();
+					startX = x;
+					startY = y;
+					add(Geometry.segment_move, x, y);
+				}
+				case 'L' -> lineTo(baseX + readNumber(), baseY + readNumber());
+				case 'H' -> lineTo(baseX + readNumber(), y);
+				case 'V' -> lineTo(x, baseY + readNumber());
+				case 'Q' -> {
+					double cx = baseX + readNumber();
+					double cy = baseY + readNumber();
+					quadTo(cx, cy, baseX + readNumber(), baseY + readNumber());
+				}
+				case 'T' -> {
+					boolean reflect = lastCommand == 'Q' || lastCommand == 'T';
+					double cx = reflect ? (2 * x) - lastControlX : x;
+					double cy = reflect ? (2 * y) - lastControlY : y;
+					quadTo(cx, cy, baseX + readNumber(), baseY + readNumber());
+					lastCommand = 'T';
+					return;
+				}
+				case 'C' -> {
+					double c1x = baseX + readNumber();
+					double c1y = baseY + readNumber();
+					double c2x = baseX + readNumber();
+					double c2y = baseY + readNumber();
+					cubicTo(c1x, c1y, c2x, c2y, baseX + readNumber(), baseY + readNumber());
+				}
+				case 'S' -> {
+					boolean reflect = lastCommand == 'C' || lastCommand == 'S';
+					double c1x = reflect ? (2 * x) - lastControlX : x;
+					double c1y = reflect ? (2 * y) - lastControlY : y;
+					double c2x = baseX + readNumber();
+					double c2y = baseY + readNumber();
+					cubicTo(c1x, c1y, c2x, c2y, baseX + readNumber(), baseY + readNumber());
+					lastCommand = 'S';
+					return;
+				}
+				case 'A' -> {
+					double radiusX = readNumber();
+					double radiusY = readNumber();
+					double rotation = readNumber();
+					boolean largeArc = readFlag();
+					boolean sweep = readFlag();
+					arcTo(radiusX, radiusY, rotation, largeArc, sweep, baseX + readNumber(), baseY + readNumber());
+				}
+				case 'Z' -> {
+					add(Geometry.segment_close);
+					x = startX;
+					y = startY;
+				}
+				default -> throw error("unknown command '" + command + "'");
+			}
+			lastCommand = Character.toUpperCase(command);
+		}
+
+		private void lineTo(double toX, double toY) {
+			add(Geometry.segment_line, toX, toY);
+			x = toX;
+			y = toY;
+		}
+
+		private void quadTo(double cx, double cy, double toX, double toY) {
+			add(Geometry.segment_quad, cx, cy, toX, toY);
+			lastControlX = cx;
+			lastControlY = cy;
+			x = toX;
+			y = toY;
+		}
+
+		private void cubicTo(double c1x, double c1y, double c2x, double c2y, double toX, double toY) {
+			add(Geometry.segment_cubic, c1x, c1y, c2x, c2y, toX, toY);
+			lastControlX = c2x;
+			lastControlY = c2y;
+			x = toX;
+			y = toY;
+		}
+
+		/**
+		 * Converts an svg arc to cubic curves of at most 90° each, see the endpoint to center conversion of the svg specification.
+		 */
+		private void arcTo(double radiusX, double radiusY, double rotationDegrees, boolean largeArc, boolean sweep, double toX, double toY) {
+			radiusX = Math.abs(radiusX);
+			radiusY = Math.abs(radiusY);
+			if ((x == toX && y == toY)) {
+				return;
+			}
+			if (radiusX == 0 || radiusY == 0) {
+				lineTo(toX, toY);
+				return;
+			}
+
+			double phi = Math.toRadians(rotationDegrees % 360);
+			double cosPhi = Math.cos(phi);
+			double sinPhi = Math.sin(phi);
+			double dx = (x - toX) / 2;
+			double dy = (y - toY) / 2;
+			double x1 = (cosPhi * dx) + (sinPhi * dy);
+			double y1 = (-sinPhi * dx) + (cosPhi * dy);
+
+			double lambda = ((x1 * x1) / (radiusX * radiusX)) + ((y1 * y1) / (radiusY * radiusY));
+			if (lambda > 1) {
+				double scale = Math.sqrt(lambda);
+				radiusX *= scale;
+				radiusY *= scale;
+			}
+
+			double rx2 = radiusX * radiusX;
+			double ry2 = radiusY * radiusY;
+			double numerator = (rx2 * ry2) - (rx2 * y1 * y1) - (ry2 * x1 * x1);
+			double denominator = (rx2 * y1 * y1) + (ry2 * x1 * x1);
+			double coefficient = Math.sqrt(Math.max(0, numerator / denominator)) * (largeArc == sweep ? -1 : 1);
+			double cx1 = coefficient * ((radiusX * y1) / radiusY);
+			double cy1 = coefficient * (-(radiusY * x1) / radiusX);
+			double centerX = (cosPhi * cx1) - (sinPhi * cy1) + ((x + toX) / 2);
+			double centerY = (sinPhi * cx1) + (cosPhi * cy1) + ((y + toY) / 2);
+
+			double startAngle = Math.atan2((y1 - cy1) / radiusY, (x1 - cx1) / radiusX);
+			double endAngle = Math.atan2((-y1 - cy1) / radiusY, (-x1 - cx1) / radiusX);
+			double sweepAngle = endAngle - startAngle;
+			if (sweep && sweepAngle < 0) {
+				sweepAngle += 2 * Math.PI;
+			} else if (!sweep && sweepAngle > 0) {
+				sweepAngle -= 2 * Math.PI;
+			}
+
+			int segmentCount = (int) Math.ceil(Math.abs(sweepAngle) / (Math.PI / 2) - 1e-9);
+			double segmentAngle = sweepAngle / segmentCount;
+			double handle = (4d / 3) * Math.tan(segmentAngle / 4);
+			double angle = startAngle;
+			for (int i = 0; i < segmentCount; i++) {
+				double cos0 = Math.cos(angle);
+				double sin0 = Math.sin(angle);
+				double cos1 = Math.cos(angle + segmentAngle);
+				double sin1 = Math.sin(angle + segmentAngle);
+				double endX = i == segmentCount - 1 ? toX : ellipseX(centerX, radiusX, radiusY, cosPhi, sinPhi, cos1, sin1);
+				double endY = i == segmentCount - 1 ? toY : ellipseY(centerY, radiusX, radiusY, cosPhi, sinPhi, cos1, sin1);
+				cubicTo(
+						ellipseX(centerX, radiusX, radiusY, cosPhi, sinPhi, cos0 - (handle * sin0), sin0 + (handle * cos0)),
+						ellipseY(centerY, radiusX, radiusY, cosPhi, sinPhi, cos0 - (handle * sin0), sin0 + (handle * cos0)),
+						ellipseX(centerX, radiusX, radiusY, cosPhi, sinPhi, cos1 + (handle * sin1), sin1 - (handle * cos1)),
+						ellipseY(centerY, radiusX, radiusY, cosPhi, sinPhi, cos1 + (handle * sin1), sin1 - (handle * cos1)),
+						endX, endY
+				);
+				angle += segmentAngle;
+			}
+		}
+
+		private static double ellipseX(double centerX, double radiusX, double radiusY, double cosPhi, double sinPhi, double unitX, double unitY) {
+			return centerX + (cosPhi * radiusX * unitX) - (sinPhi * radiusY * unitY);
+		}
+
+		private static double ellipseY(double centerY, double radiusX, double radiusY, double cosPhi, double sinPhi, double unitX, double unitY) {
+			return centerY + (sinPhi * radiusX * unitX) + (cosPhi * radiusY * unitY);
+		}
+
+		private void add(byte segment, double... values) {
+			if (segmentCount == segments.length) {
+				segments = Arrays.copyOf(segments, segments.length * 2);
+			}
+			segments[segmentCount++] = segment;
+			if (coordinateCount + values.length > coordinates.length) {
+				coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateCount + values.length));
+			}
+			System.arraycopy(values, 0, coordinates, coordinateCount, values.length);
+			coordinateCount += values.length;
+		}
+
+		/**
+		 * @return true if there are characters left
+		 */
+		private boolean skipSeparators() {
+			while (position < path.length()) {
+				char c = path.charAt(position);
+				if (!Character.isWhitespace(c) && c != ',') {
+					return true;
+				}
+				position++;
+			}
+			return false;
+		}
+
+		private boolean readFlag() {
+			if (!skipSeparators()) {
+				throw error("expected flag");
+			}
+			char c = path.charAt(position++);
+			if (c != '0' && c != '1') {
+				throw error("expected flag '0' or '1'");
+			}
+			return c == '1';
+		}
+
+		private double readNumber() {
+			if (!skipSeparators()) {
+				throw error("expected number");
+			}
+			int start = position;
+			if (path.charAt(position) == '+' || path.charAt(position) == '-') {
+				position++;
+			}
+			boolean seenDot = false;
+			while (position < path.length()) {
+				char c = path.charAt(position);
+				if (Character.isDigit(c)) {
+					position++;
+				} else if (c == '.' && !seenDot) {
+					seenDot = true;
+					position++;
+				} else if ((c == 'e' || c == 'E') && position > start) {
+					position++;
+					if (position < path.length() && (path.charAt(position) == '+' || path.charAt(position) == '-')) {
+						position++;
+					}
+					while (position < path.length() && Character.isDigit(path.charAt(position))) {
+						position++;
+					}
+					break;
+				} else {
+					break;
+				}
+			}
+			try {
+				return Double.parseDouble(path.substring(start, position));
+			} catch (NumberFormatException e) {
+				throw error("malformed number");
+			}
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at index " + position + " of svg path '" + path + "'");
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package me.blazingtwist.loadingspinner;
+
+/**
+ * Visual style of the indeterminate animation, see {@link LoadingSpinner#indeterminateStyleProperty()}.
+ */
+public enum LoadingSpinnerIndeterminateStyle {
+	/**
+	 * The bar rotates while inflating and deflating, its geometry changes on every frame.
+	 */
+	INFLATE,
+
+	/**
+	 * The bar keeps a fixed length and only the transform of its pane rotates.
+	 * The bar is cached as a bitmap once and rotated while compositing, which is considerably cheaper to render.
+	 */
+	ROTATE
+}
@@ -0,0 +1,85 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A {@link ThreadPoolExecutor} that counts its active and completed tasks itself, so that a {@link LoadingSpinnerExecutorMonitor} can sample it without locks.</p>
+ * <p>The getters of a plain {@link ThreadPoolExecutor} ({@link #getActiveCount()}, {@link #getCompletedTaskCount()}, {@link #getPoolSize()})
+ * take the pool's main lock, which is also taken when workers are started or exit.
+ * The counters of this executor are updated by the worker threads in {@link #beforeExecute(Thread, Runnable)} and {@link #afterExecute(Runnable, Throwable)}
+ * and read without locking.</p>
+ * <p>Subclasses overriding beforeExecute / afterExecute must call the super implementation.</p>
+ */
+public class LoadingSpinnerMonitoredExecutor extends ThreadPoolExecutor {
+
+	private final AtomicInteger runningCount = new AtomicInteger();
+	private final LongAdder finishedCount = new LongAdder();
+
+	public LoadingSpinnerMonitoredExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue) {
+		super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+	}
+
+	public LoadingSpinnerMonitoredExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
+			ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+		super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+	}
+
+	/**
+	 * @return a pool of a fixed number of threads with an unbounded queue, like {@link java.util.concurrent.Executors#newFixedThreadPool(int)}
+	 */
+	public static LoadingSpinnerMonitoredExecutor newFixedThreadPool(int threadCount) {
+		return new LoadingSpinnerMonitoredExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+	}
+
+	@Override
+	protected void beforeExecute(Thread thread, Runnable task) {
+		// afterExecute is not called if beforeExecute throws, count the task only once it is going to run
+		super.beforeExecute(thread, task);
+		runningCount.incrementAndGet();
+	}
+
+	@Override
+	protected void afterExecute(Runnable task, Throwable throwable) {
+		try {
+			super.afterExecute(task, throwable);
+		} finally {
+			runningCount.decrementAndGet();
+			finishedCount.increment();
+		}
+	}
+
+	/**
+	 * @return the number of threads executing a task, read without locking
+	 */
+	public int getRunningCount() {
+		return runningCount.get();
+	}
+
+	/**
+	 * @return the number of tasks that finished (normally or exceptionally), read without locking
+	 */
+	public long getFinishedCount() {
+		return finishedCount.sum();
+	}
+
+	/**
+	 * @return the number of queued tasks, or -1 if the queue can only count them while holding its lock
+	 * (e.g. {@link java.util.concurrent.ArrayBlockingQueue} or {@link java.util.concurrent.PriorityBlockingQueue})
+	 */
+	public long getQueuedCountWithoutLocking() {
+		BlockingQueue<Runnable> queue = getQueue();
+		if (queue instanceof LinkedBlockingQueue || queue instanceof LinkedTransferQueue || queue instanceof SynchronousQueue) {
+			return queue.size();
+		}
+		return -1;
+	}
+}
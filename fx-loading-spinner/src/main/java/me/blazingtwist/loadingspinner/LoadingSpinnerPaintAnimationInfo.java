@@ -13,9 +13,14 @@ import javafx.util.Duration;
  */
 public class LoadingSpinnerPaintAnimationInfo {
 
+	/**
+	 * Paint of bars that are not given a paint, color '#4285f4'.
+	 */
+	public static final Paint defaultPaint = Paint.valueOf("#4285f4");
+
 	/**
 	 * <p>Specifies the paint for the loading bar.</p>
-	 * <p>Default is color '#4285f4'</p>
+	 * <p>Default is {@link LoadingSpinnerPaintAnimationInfo#defaultPaint}</p>
 	 */
 	private final Paint paint;
 
@@ -53,7 +58,7 @@ public class LoadingSpinnerPaintAnimationInfo {
 			@NamedArg("blendInDuration") Duration blendInDuration,
 			@NamedArg("holdDuration") Duration holdDuration,
 			@NamedArg("blendOutDuration") Duration blendOutDuration) {
-		this.paint = paint != null ? paint : Paint.valueOf("#4285f4");
+		this.paint = paint != null ? paint : defaultPaint;
 		this.blendInDuration = blendInDuration != null ? blendInDuration : Duration.millis(250);
 		this.holdDuration = holdDuration != null ? holdDuration : Duration.millis(900);
 		this.blendOutDuration = blendOutDuration != null ? blendOutDuration : Duration.millis(250);
@@ -0,0 +1,156 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.beans.NamedArg;
+import javafx.util.Duration;
+
+/**
+ * <p>Immutable configuration shared by many {@link LoadingSpinner}s, see {@link LoadingSpinner#profileProperty()}.</p>
+ * <p>A spinner uses the values of its profile for every field it has not set itself (by code, binding or css),
+ * so thousands of spinners with the same paints and icons reference one profile instead of each holding copies.</p>
+ * Fields:
+ * <p>{@link LoadingSpinnerProfile#paintAnimationSequence}</p>
+ * <p>{@link LoadingSpinnerProfile#iconSequence}</p>
+ * <p>{@link LoadingSpinnerProfile#radius}</p>
+ * <p>{@link LoadingSpinnerProfile#thickness}</p>
+ * <p>{@link LoadingSpinnerProfile#minProgressInterval}</p>
+ * <p>{@link LoadingSpinnerProfile#progressSmoothing}</p>
+ */
+public final class LoadingSpinnerProfile {
+
+	/**
+	 * <p>Used by spinners that have not modified their {@link LoadingSpinner#getPaintAnimationSequence() paintAnimationSequence}.</p>
+	 * <p>Default is an empty list</p>
+	 */
+	private final List<LoadingSpinnerPaintAnimationInfo> paintAnimationSequence;
+
+	/**
+	 * <p>Used by spinners that have not modified their {@link LoadingSpinner#getIconSequence() iconSequence}.</p>
+	 * <p>Default is an empty list</p>
+	 */
+	private final List<LoadingSpinnerAnimatedIcon> iconSequence;
+
+	/**
+	 * <p>{@link LoadingSpinner#radiusProperty()} of spinners that do not set it, null to keep the spinner default.</p>
+	 * <p>Default is null</p>
+	 */
+	private final Double radius;
+
+	/**
+	 * <p>{@link LoadingSpinner#thicknessProperty()} of spinners that do not set it, null to keep the spinner default.</p>
+	 * <p>Default is null</p>
+	 */
+	private final Double thickness;
+
+	/**
+	 * <p>{@link LoadingSpinner#minProgressIntervalProperty()} of spinners that do not set it, null to keep the spinner default.</p>
+	 * <p>Default is null</p>
+	 */
+	private final Duration minProgressInterval;
+
+	/**
+	 * <p>{@link LoadingSpinner#progressSmoothingProperty()} of spinners that do not set it, null to keep the spinner default.</p>
+	 * <p>Default is null</p>
+	 */
+	private final Duration progressSmoothing;
+
+	/**
+	 * Icons of the {@link LoadingSpinnerProfile#iconSequence} by key, the first icon wins for duplicate keys.
+	 */
+	private final Map<String, LoadingSpinnerAnimatedIcon> iconsByKey;
+
+	/**
+	 * @param paintAnimationSequence {@link LoadingSpinnerProfile#paintAnimationSequence see field javadoc}
+	 * @param iconSequence           {@link LoadingSpinnerProfile#iconSequence see field javadoc}
+	 * @param radius                 {@link LoadingSpinnerProfile#radius see field javadoc}
+	 * @param thickness              {@link LoadingSpinnerProfile#thickness see field javadoc}
+	 * @param minProgressInterval    {@link LoadingSpinnerProfile#minProgressInterval see field javadoc}
+	 * @param progressSmoothing      {@link LoadingSpinnerProfile#progressSmoothing see field javadoc}
+	 */
+	public LoadingSpinnerProfile(
+			@NamedArg("paintAnimationSequence") List<LoadingSpinnerPaintAnimationInfo> paintAnimationSequence,
+			@NamedArg("iconSequence") List<LoadingSpinnerAnimatedIcon> iconSequence,
+			@NamedArg("radius") Double radius,
+			@NamedArg("thickness") Double thickness,
+			@NamedArg("minProgressInterval") Duration minProgressInterval,
+			@NamedArg("progressSmoothing") Duration progressSmoothing) {
+		this.paintAnimationSequence = paintAnimationSequence != null ? List.copyOf(paintAnimationSequence) : List.of();
+		this.iconSequence = iconSequence != null ? List.copyOf(iconSequence) : List.of();
+		this.radius = radius;
+		this.thickness = thickness;
+		this.minProgressInterval = minProgressInterval;
+		this.progressSmoothing = progressSmoothing;
+
+		Map<String, LoadingSpinnerAnimatedIcon> iconMap = new HashMap<>();
+		for (LoadingSpinnerAnimatedIcon icon : this.iconSequence) {
+			if (icon.getKey() != null) {
+				iconMap.putIfAbsent(icon.getKey(), icon);
+			}
+		}
+		this.iconsByKey = Collections.unmodifiableMap(iconMap);
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#paintAnimationSequence see field javadoc}
+	 */
+	public List<LoadingSpinnerPaintAnimationInfo> getPaintAnimationSequence() {
+		return paintAnimationSequence;
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#iconSequence see field javadoc}
+	 */
+	public List<LoadingSpinnerAnimatedIcon> getIconSequence() {
+		return iconSequence;
+	}
+
+	/**
+	 * @return the first icon of the {@link LoadingSpinnerProfile#iconSequence} with the given key, or null
+	 */
+	public LoadingSpinnerAnimatedIcon getIconByKey(String key) {
+		return iconsByKey.get(key);
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#radius see field javadoc}
+	 */
+	public Double getRadius() {
+		return radius;
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#thickness see field javadoc}
+	 */
+	public Double getThickness() {
+		return thickness;
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#minProgressInterval see field javadoc}
+	 */
+	public Duration getMinProgressInterval() {
+		return minProgressInterval;
+	}
+
+	/**
+	 * {@link LoadingSpinnerProfile#progressSmoothing see field javadoc}
+	 */
+	public Duration getProgressSmoothing() {
+		return progressSmoothing;
+	}
+
+	@Override
+	public String toString() {
+		return "LoadingSpinnerProfile{"
+				+ "paintAnimationSequence: " + paintAnimationSequence
+				+ ", iconSequence: " + iconSequence
+				+ ", radius: " + radius
+				+ ", thickness: " + thickness
+				+ ", minProgressInterval: " + minProgressInterval
+				+ ", progressSmoothing: " + progressSmoothing
+				+ '}';
+	}
+}
@@ -0,0 +1,171 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Node of a progress tree, which aggregates the progress of many concurrent tasks into the progress of a {@link LoadingSpinner}.</p>
+ * <p>A node without children is a leaf, its progress is the completed work divided by its total work.
+ * Completed work is counted by a {@link LongAdder}, so that any number of threads can report work without contending on a single counter.
+ * The progress of a node with children is the weighted average of its children, its own work is ignored.</p>
+ * <p>Any node can be {@link #attach(LoadingSpinner) attached} to a spinner, e.g. the root to an overview and each stage to its own spinner.
+ * Attached spinners are updated on the FX thread, at most once per pulse and only after work has been reported.</p>
+ * <p>Reporting work and creating children is thread-safe, attaching and detaching spinners must happen on the FX thread.</p>
+ */
+public final class LoadingSpinnerProgressNode {
+
+	/**
+	 * Spinners are held weakly, so that attaching a long-living tree does not keep removed spinners alive.
+	 * Only accessed on the FX thread.
+	 */
+	private static final Map<LoadingSpinner, LoadingSpinnerProgressNode> attachedNodes = new WeakHashMap<>();
+	private static final AtomicBoolean sampleRequested = new AtomicBoolean(false);
+	private static final Runnable sampleTask = LoadingSpinnerProgressNode::sampleAttached;
+
+	private final double weight;
+	private volatile long totalWork;
+	private final LongAdder completedWork = new LongAdder();
+	/**
+	 * Set by {@link #complete()}, instead of topping up the adder, which could not be done atomically with concurrent {@link #add(long)} calls.
+	 */
+	private volatile boolean completed = false;
+	private final List<LoadingSpinnerProgressNode> children = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Creates a root node.
+	 *
+	 * @param totalWork amount of work that completes this node, if it has no children
+	 */
+	public LoadingSpinnerProgressNode(long totalWork) {
+		this(1, totalWork);
+	}
+
+	private LoadingSpinnerProgressNode(double weight, long totalWork) {
+		this.weight = weight;
+		this.totalWork = totalWork;
+	}
+
+	/**
+	 * @param weight    share of this child in the progress of its parent, relative to its siblings
+	 * @param totalWork amount of work that completes the child, if it has no children
+	 * @return the new child node
+	 */
+	public LoadingSpinnerProgressNode createChild(double weight, long totalWork) {
+		LoadingSpinnerProgressNode child = new LoadingSpinnerProgressNode(weight, totalWork);
+		children.add(child);
+		requestSample();
+		return child;
+	}
+
+	/**
+	 * @return an unmodifiable view of the children of this node
+	 */
+	public List<LoadingSpinnerProgressNode> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	public double getWeight() {
+		return weight;
+	}
+
+	public long getTotalWork() {
+		return totalWork;
+	}
+
+	public void setTotalWork(long totalWork) {
+		this.totalWork = totalWork;
+		requestSample();
+	}
+
+	/**
+	 * @return the reported work, or the total work once the node is {@link #complete() completed}
+	 */
+	public long getCompletedWork() {
+		return completed ? totalWork : completedWork.sum();
+	}
+
+	/**
+	 * Reports completed work, may be called from any thread.
+	 */
+	public void add(long work) {
+		completedWork.add(work);
+		requestSample();
+	}
+
+	public void increment() {
+		add(1);
+	}
+
+	/**
+	 * Marks all work of this node as completed, may be called from any thread.
+	 * Work reported afterwards, and later changes of the total work, do not change the progress of a completed node.
+	 */
+	public void complete() {
+		completed = true;
+		requestSample();
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	/**
+	 * @return the progress of this node [0, 1]
+	 */
+	public double getProgress() {
+		if (children.isEmpty()) {
+			if (completed) {
+				return 1;
+			}
+			long total = totalWork;
+			return total > 0 ? Math.max(0, Math.min(1, (double) completedWork.sum() / total)) : 0;
+		}
+		double weightSum = 0;
+		double weightedProgress = 0;
+		for (LoadingSpinnerProgressNode child : children) {
+			weightSum += child.weight;
+			weightedProgress += child.weight * child.getProgress();
+		}
+		return weightSum > 0 ? weightedProgress / weightSum : 0;
+	}
+
+	/**
+	 * Shows the progress of this node on the given spinner, replacing any node previously attached to that spinner.
+	 */
+	public void attach(LoadingSpinner spinner) {
+		attachedNodes.put(spinner, this);
+		if (!spinner.progressProperty().isBound()) {
+			spinner.setProgress(getProgress());
+		}
+	}
+
+	/**
+	 * Stops updating the given spinner, its progress keeps the last sampled value.
+	 */
+	public static void detach(LoadingSpinner spinner) {
+		attachedNodes.remove(spinner);
+	}
+
+	private static void requestSample() {
+		if (!sampleRequested.get() && !sampleRequested.getAndSet(true)) {
+			LoadingSpinnerPulseDispatcher.dispatch(sampleTask);
+		}
+	}
+
+	private static void sampleAttached() {
+		// cleared before sampling, work reported from now on requests the next sample
+		sampleRequested.set(false);
+
+		for (Map.Entry<LoadingSpinner, LoadingSpinnerProgressNode> entry : attachedNodes.entrySet()) {
+			LoadingSpinner spinner = entry.getKey();
+			if (!spinner.progressProperty().isBound()) {
+				spinner.setProgress(entry.getValue().getProgress());
+			}
+		}
+	}
+}
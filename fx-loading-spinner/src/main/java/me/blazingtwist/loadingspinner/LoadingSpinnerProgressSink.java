@@ -0,0 +1,77 @@
+package me.blazingtwist.loadingspinner;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Thread-safe handle to the progress of a {@link LoadingSpinner}, see {@link LoadingSpinner#progressSink()}.</p>
+ * <p>Any thread may {@link #setProgress(double) set} the progress at any rate, the FX thread applies only the latest value,
+ * at most once per pulse and in one batch for all sinks.
+ * Writing is wait-free apart from the first write after a drain, which queues the sink with a single compare-and-set.
+ * Writing never blocks and does not allocate, only the first write to any sink after a drain submits one task to the {@link LoadingSpinnerPulseDispatcher}.</p>
+ * <p>The sink holds its spinner weakly, writes to a sink of a collected spinner are ignored.</p>
+ */
+public final class LoadingSpinnerProgressSink {
+
+	/**
+	 * Head of the intrusive stack of dirty sinks, linked by {@link LoadingSpinnerProgressSink#nextDirty}.
+	 */
+	private static final AtomicReference<LoadingSpinnerProgressSink> dirtyHead = new AtomicReference<>();
+	private static final Runnable drainTask = LoadingSpinnerProgressSink::drain;
+
+	private final WeakReference<LoadingSpinner> spinner;
+	private final AtomicLong progressBits = new AtomicLong();
+	private final AtomicBoolean dirty = new AtomicBoolean(false);
+	private LoadingSpinnerProgressSink nextDirty;
+
+	LoadingSpinnerProgressSink(LoadingSpinner spinner) {
+		this.spinner = new WeakReference<>(spinner);
+		progressBits.set(Double.doubleToRawLongBits(spinner.getProgress()));
+	}
+
+	/**
+	 * @return the latest value written to this sink, which may not have been applied to the spinner yet
+	 */
+	public double getProgress() {
+		return Double.longBitsToDouble(progressBits.get());
+	}
+
+	/**
+	 * Stores the progress, which is applied to {@link LoadingSpinner#progressProperty()} on the next pulse. May be called from any thread.
+	 */
+	public void setProgress(double progress) {
+		progressBits.set(Double.doubleToRawLongBits(progress));
+		if (!dirty.get() && !dirty.getAndSet(true)) {
+			enqueue();
+		}
+	}
+
+	private void enqueue() {
+		LoadingSpinnerProgressSink head;
+		do {
+			head = dirtyHead.get();
+			nextDirty = head;
+		} while (!dirtyHead.compareAndSet(head, this));
+		if (head == null) {
+			// first sink since the last drain, every following sink is picked up by the same drain
+			LoadingSpinnerPulseDispatcher.dispatch(drainTask);
+		}
+	}
+
+	private static void drain() {
+		LoadingSpinnerProgressSink sink = dirtyHead.getAndSet(null);
+		while (sink != null) {
+			// read the link before clearing the flag, a concurrent write may queue the sink again
+			LoadingSpinnerProgressSink next = sink.nextDirty;
+			sink.nextDirty = null;
+			sink.dirty.set(false);
+			LoadingSpinner target = sink.spinner.get();
+			if (target != null && !target.progressProperty().isBound()) {
+				target.setProgress(sink.getProgress());
+			}
+			sink = next;
+		}
+	}
+}
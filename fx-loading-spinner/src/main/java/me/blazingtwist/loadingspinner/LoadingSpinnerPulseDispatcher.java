@@ -0,0 +1,57 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+
+/**
+ * <p>Runs tasks submitted from any thread on the next {@link LoadingSpinnerAnimationEngine} pulse.</p>
+ * <p>All tasks submitted until the pulse are run in one batch, which costs a single {@link Platform#runLater(Runnable)}
+ * instead of one per task.</p>
+ */
+final class LoadingSpinnerPulseDispatcher {
+
+	private static final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+	private static final AtomicBoolean drainRequested = new AtomicBoolean(false);
+	private static final Runnable drainRequest = LoadingSpinnerPulseDispatcher::registerDrain;
+	private static final Runnable drainCallback = LoadingSpinnerPulseDispatcher::drain;
+
+	/**
+	 * Only accessed on the FX thread.
+	 */
+	private static boolean drainRegistered = false;
+
+	private LoadingSpinnerPulseDispatcher() {
+	}
+
+	/**
+	 * <p>Runs the task on the FX thread, on the next pulse. May be called from any thread.</p>
+	 * <p>Every call queues the task once, frequent callers (e.g. progress reports) guard it with their own dirty flag.</p>
+	 */
+	static void dispatch(Runnable task) {
+		pendingTasks.add(task);
+		if (!drainRequested.get() && !drainRequested.getAndSet(true)) {
+			Platform.runLater(drainRequest);
+		}
+	}
+
+	private static void registerDrain() {
+		if (!drainRegistered) {
+			drainRegistered = true;
+			LoadingSpinnerAnimationEngine.register(drainCallback);
+		}
+	}
+
+	private static void drain() {
+		drainRegistered = false;
+		LoadingSpinnerAnimationEngine.unregister(drainCallback);
+		// cleared before draining, tasks submitted from now on request the next pulse
+		drainRequested.set(false);
+
+		Runnable task;
+		while ((task = pendingTasks.poll()) != null) {
+			task.run();
+		}
+	}
+}
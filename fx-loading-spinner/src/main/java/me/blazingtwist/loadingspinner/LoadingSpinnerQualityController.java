@@ -0,0 +1,289 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Scene;
+import javafx.util.Duration;
+
+/**
+ * <p>Lowers the rendering quality of all spinners while the JavaFX Application Thread is overloaded.</p>
+ * <p>The controller measures the pulses of every {@link #monitor(Scene) monitored} scene:
+ * the time spent between the pre- and post-layout pulse listeners and the gap between consecutive pulses.
+ * If the smoothed frame time stays above {@link #frameBudget} for {@link #degradeDelay},
+ * the {@link #tier} is lowered by one step, see {@link LoadingSpinnerQualityTier}.</p>
+ * <p>The tier is raised by one step after the frame time stayed below {@link #recoverRatio} of the budget for {@link #recoverDelay}.
+ * The gap between both thresholds and the longer recover delay keep the tier from oscillating.</p>
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ */
+public final class LoadingSpinnerQualityController {
+
+	/**
+	 * Pulses further apart than this are treated as idle time, not as a long frame.
+	 */
+	private static final long idleGapNanos = 250_000_000L;
+	private static final double frameTimeSmoothing = 0.1;
+
+	/**
+	 * <p>Current quality tier of all spinners, observe this property to log tier transitions.</p>
+	 * <p>default is {@link LoadingSpinnerQualityTier#FULL}</p>
+	 */
+	private static final ReadOnlyObjectWrapper<LoadingSpinnerQualityTier> tier = new ReadOnlyObjectWrapper<>(
+			LoadingSpinnerQualityController.class, "tier", LoadingSpinnerQualityTier.FULL
+	);
+
+	/**
+	 * <p>Frame time above which the application is considered overloaded.</p>
+	 * <p>default is 25ms, which leaves room for jitter of a 60Hz pulse</p>
+	 */
+	private static final ObjectProperty<Duration> frameBudget = new SimpleObjectProperty<>(
+			LoadingSpinnerQualityController.class, "frameBudget", Duration.millis(25)
+	);
+
+	/**
+	 * <p>Fraction of the {@link #frameBudget} the frame time has to stay below, before the tier is raised again.</p>
+	 * <p>default is 0.6</p>
+	 */
+	private static final DoubleProperty recoverRatio = new SimpleDoubleProperty(LoadingSpinnerQualityController.class, "recoverRatio", 0.6);
+
+	/**
+	 * <p>How long the frame budget has to be exceeded, before the tier is lowered by one step.</p>
+	 * <p>default is 1s</p>
+	 */
+	private static final ObjectProperty<Duration> degradeDelay = new SimpleObjectProperty<>(
+			LoadingSpinnerQualityController.class, "degradeDelay", Duration.seconds(1)
+	);
+
+	/**
+	 * <p>How long the frame time has to stay below the recover threshold, before the tier is raised by one step.</p>
+	 * <p>default is 3s</p>
+	 */
+	private static final ObjectProperty<Duration> recoverDelay = new SimpleObjectProperty<>(
+			LoadingSpinnerQualityController.class, "recoverDelay", Duration.seconds(3)
+	);
+
+	/**
+	 * <p>Frame rate cap of all spinners in tiers below {@link LoadingSpinnerQualityTier#FULL}.</p>
+	 * <p>default is 20</p>
+	 */
+	private static final DoubleProperty reducedFps = new SimpleDoubleProperty(LoadingSpinnerQualityController.class, "reducedFps", 20);
+
+	private static final Map<Scene, SceneMonitor> monitors = new WeakHashMap<>();
+
+	private static double smoothedFrameNanos = 0;
+	private static long overBudgetSinceNanos = 0;
+	private static long lastPressureNanos = 0;
+	private static PauseTransition recoverCheck;
+
+	private LoadingSpinnerQualityController() {
+	}
+
+	/**
+	 * Starts measuring the pulses of the given scene. Scenes are held weakly.
+	 */
+	public static void monitor(Scene scene) {
+		if (monitors.containsKey(scene)) {
+			return;
+		}
+		SceneMonitor monitor = new SceneMonitor();
+		monitors.put(scene, monitor);
+		scene.addPreLayoutPulseListener(monitor.preLayoutListener);
+		scene.addPostLayoutPulseListener(monitor.postLayoutListener);
+	}
+
+	public static void unmonitor(Scene scene) {
+		SceneMonitor monitor = monitors.remove(scene);
+		if (monitor != null) {
+			scene.removePreLayoutPulseListener(monitor.preLayoutListener);
+			scene.removePostLayoutPulseListener(monitor.postLayoutListener);
+		}
+	}
+
+	/**
+	 * Returns to {@link LoadingSpinnerQualityTier#FULL} and discards all measurements.
+	 */
+	public static void reset() {
+		smoothedFrameNanos = 0;
+		overBudgetSinceNanos = 0;
+		lastPressureNanos = 0;
+		setTier(LoadingSpinnerQualityTier.FULL);
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#tier see field javadoc}
+	 */
+	public static ReadOnlyObjectProperty<LoadingSpinnerQualityTier> tierProperty() {
+		return tier.getReadOnlyProperty();
+	}
+
+	public static LoadingSpinnerQualityTier getTier() {
+		return tier.get();
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#frameBudget see field javadoc}
+	 */
+	public static ObjectProperty<Duration> frameBudgetProperty() {
+		return frameBudget;
+	}
+
+	public static Duration getFrameBudget() {
+		return frameBudget.get();
+	}
+
+	public static void setFrameBudget(Duration frameBudget) {
+		LoadingSpinnerQualityController.frameBudget.set(frameBudget);
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#recoverRatio see field javadoc}
+	 */
+	public static DoubleProperty recoverRatioProperty() {
+		return recoverRatio;
+	}
+
+	public static double getRecoverRatio() {
+		return recoverRatio.get();
+	}
+
+	public static void setRecoverRatio(double recoverRatio) {
+		LoadingSpinnerQualityController.recoverRatio.set(recoverRatio);
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#degradeDelay see field javadoc}
+	 */
+	public static ObjectProperty<Duration> degradeDelayProperty() {
+		return degradeDelay;
+	}
+
+	public static Duration getDegradeDelay() {
+		return degradeDelay.get();
+	}
+
+	public static void setDegradeDelay(Duration degradeDelay) {
+		LoadingSpinnerQualityController.degradeDelay.set(degradeDelay);
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#recoverDelay see field javadoc}
+	 */
+	public static ObjectProperty<Duration> recoverDelayProperty() {
+		return recoverDelay;
+	}
+
+	public static Duration getRecoverDelay() {
+		return recoverDelay.get();
+	}
+
+	public static void setRecoverDelay(Duration recoverDelay) {
+		LoadingSpinnerQualityController.recoverDelay.set(recoverDelay);
+	}
+
+	/**
+	 * {@link LoadingSpinnerQualityController#reducedFps see field javadoc}
+	 */
+	public static DoubleProperty reducedFpsProperty() {
+		return reducedFps;
+	}
+
+	public static double getReducedFps() {
+		return reducedFps.get();
+	}
+
+	public static void setReducedFps(double reducedFps) {
+		LoadingSpinnerQualityController.reducedFps.set(reducedFps);
+	}
+
+	/**
+	 * @param maxFps frame rate cap of a spinner, values <= 0 mean no cap
+	 * @return the frame rate cap in the current tier
+	 */
+	public static double applyFrameRateCap(double maxFps) {
+		if (getTier() == LoadingSpinnerQualityTier.FULL || getReducedFps() <= 0) {
+			return maxFps;
+		}
+		return maxFps > 0 ? Math.min(maxFps, getReducedFps()) : getReducedFps();
+	}
+
+	private static void onFrameMeasured(long frameNanos, long now) {
+		smoothedFrameNanos = LoadingSpinnerAnimationModel.interpolate(smoothedFrameNanos, frameNanos, frameTimeSmoothing);
+		double budgetNanos = getFrameBudget().toMillis() * 1_000_000d;
+
+		if (smoothedFrameNanos >= budgetNanos * getRecoverRatio()) {
+			lastPressureNanos = now;
+		}
+		if (smoothedFrameNanos <= budgetNanos) {
+			overBudgetSinceNanos = 0;
+			return;
+		}
+
+		if (overBudgetSinceNanos == 0) {
+			overBudgetSinceNanos = now;
+		} else if (now - overBudgetSinceNanos >= getDegradeDelay().toMillis() * 1_000_000d) {
+			overBudgetSinceNanos = now; // the next step needs another full delay
+			LoadingSpinnerQualityTier currentTier = getTier();
+			if (currentTier.ordinal() < LoadingSpinnerQualityTier.values().length - 1) {
+				setTier(LoadingSpinnerQualityTier.values()[currentTier.ordinal() + 1]);
+			}
+		}
+	}
+
+	/**
+	 * Runs every {@link #recoverDelay} while degraded, pulses may have stopped entirely once the spinners are static.
+	 */
+	private static void checkRecovery() {
+		long now = System.nanoTime();
+		LoadingSpinnerQualityTier currentTier = getTier();
+		if (currentTier != LoadingSpinnerQualityTier.FULL && now - lastPressureNanos >= getRecoverDelay().toMillis() * 1_000_000d) {
+			lastPressureNanos = now; // the next step needs another full delay
+			setTier(LoadingSpinnerQualityTier.values()[currentTier.ordinal() - 1]);
+		}
+		if (getTier() != LoadingSpinnerQualityTier.FULL) {
+			recoverCheck.setDuration(getRecoverDelay());
+			recoverCheck.playFromStart();
+		}
+	}
+
+	private static void setTier(LoadingSpinnerQualityTier newTier) {
+		tier.set(newTier);
+		if (newTier == LoadingSpinnerQualityTier.FULL) {
+			if (recoverCheck != null) {
+				recoverCheck.stop();
+			}
+			return;
+		}
+		if (recoverCheck == null) {
+			recoverCheck = new PauseTransition();
+			recoverCheck.setOnFinished(event -> checkRecovery());
+		}
+		recoverCheck.setDuration(getRecoverDelay());
+		recoverCheck.playFromStart();
+	}
+
+	private static final class SceneMonitor {
+		private long pulseStartNanos = 0;
+		private long previousPulseStartNanos = 0;
+
+		private final Runnable preLayoutListener = this::onPreLayout;
+		private final Runnable postLayoutListener = this::onPostLayout;
+
+		private void onPreLayout() {
+			previousPulseStartNanos = pulseStartNanos;
+			pulseStartNanos = System.nanoTime();
+		}
+
+		private void onPostLayout() {
+			long now = System.nanoTime();
+			long pulseNanos = now - pulseStartNanos;
+			long gapNanos = pulseStartNanos - previousPulseStartNanos;
+			onFrameMeasured(gapNanos < idleGapNanos ? Math.max(pulseNanos, gapNanos) : pulseNanos, now);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package me.blazingtwist.loadingspinner;
+
+/**
+ * Rendering quality of all spinners, chosen by the {@link LoadingSpinnerQualityController}. Ordered from best to cheapest.
+ */
+public enum LoadingSpinnerQualityTier {
+	/**
+	 * Animations run as configured.
+	 */
+	FULL,
+
+	/**
+	 * Animations update at most at {@link LoadingSpinnerQualityController#getReducedFps()}, or the spinner's own cap, if it is lower.
+	 */
+	REDUCED_FPS,
+
+	/**
+	 * Like {@link #REDUCED_FPS}, indeterminate animations additionally use {@link LoadingSpinnerIndeterminateStyle#ROTATE}.
+	 */
+	ROTATE_ONLY,
+
+	/**
+	 * Like {@link #REDUCED_FPS}, indeterminate spinners additionally show a static bar instead of an animation.
+	 */
+	STATIC
+}
@@ -0,0 +1,1615 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
+import javafx.scene.control.Control;
+import javafx.scene.control.SkinBase;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.transform.Rotate;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+public class LoadingSpinnerSkin extends SkinBase<Control> {
+
+	public static final String css_styleClass_progressBar = "-ls-progress-bar";
+	public static final String css_styleClass_track = "-ls-track";
+	public static final String css_styleClass_progressText = "-ls-progress-text";
+	public static final String css_styleClass_iconSVGPath = "-ls-icon-svg-path";
+
+	private static final double iconAnimationMinAngleChange = 120;
+	private static final long idleFreezeDelayNanos = 500_000_000L;
+
+	protected final LoadingSpinner control;
+
+	protected final Arc progressBar;
+	protected final Pane progressRotationPane;
+	protected final Arc track;
+	protected final Text progressText;
+	/**
+	 * Shows the elements of the current icon's shared {@link LoadingSpinnerIconRegistry.Geometry}, so that switching icons does not parse the svg path.
+	 */
+	protected final Path iconPath;
+	protected final StackPane containerPane;
+
+	protected int currentPaintIndex = 0;
+	protected Timeline paintTimeline;
+
+	protected final LoadingSpinnerAnimationModel animationModel = new LoadingSpinnerAnimationModel();
+	protected Timeline indeterminateTimeline;
+
+	/**
+	 * Style of the running (or last) indeterminate animation, see {@link LoadingSpinner#indeterminateStyleProperty()}.
+	 */
+	protected LoadingSpinnerIndeterminateStyle activeIndeterminateStyle = LoadingSpinnerIndeterminateStyle.INFLATE;
+
+	/**
+	 * True from {@link #startIndeterminateAnimation()} until {@link #clearIndeterminateTimeline()},
+	 * also while the {@link LoadingSpinnerQualityTier#STATIC static tier} shows a still bar instead.
+	 */
+	protected boolean indeterminateActive = false;
+	private LoadingSpinnerIndeterminateStyle indeterminateKeyFrameStyle;
+
+	/**
+	 * Rotates the {@link LoadingSpinnerSkin#progressRotationPane} around the bar center during {@link LoadingSpinnerIndeterminateStyle#ROTATE rotate-only} animations.
+	 */
+	protected final Rotate indeterminateRotate = new Rotate(0);
+
+	/**
+	 * Shows frames of the {@link LoadingSpinnerFrameCache} in place of the {@link LoadingSpinnerSkin#progressBar} during engine driven indeterminate animations.
+	 */
+	protected final ImageView indeterminateFrameView;
+	private LoadingSpinnerFrameCache.Frames indeterminateFrames;
+
+	protected boolean progressTextShown = true;
+	protected FadeTransition progressTextFadeAnimation;
+
+	/**
+	 * <p>Progress and rounded percentage last written to the scene graph,
+	 * see {@link LoadingSpinner#coalesceProgressProperty()} and {@link LoadingSpinner#minProgressIntervalProperty()}.</p>
+	 */
+	protected double appliedProgress = Double.NaN;
+	protected long appliedPercent = -1;
+	protected long progressAppliedNanos = 0;
+
+	/**
+	 * <p>State of a progress update held back by the {@link LoadingSpinner#minProgressIntervalProperty() minimum interval}.</p>
+	 * <p>The latest progress is applied on the first engine pulse at or after {@link LoadingSpinnerSkin#progressDelayDueNanos} (in skin time),
+	 * so that the delay follows the control's {@link LoadingSpinner#clockProperty() clock}.</p>
+	 */
+	protected boolean progressDelayPending = false;
+	protected long progressDelayDueNanos = 0;
+
+	/**
+	 * <p>State of the determinate progress smoothing, see {@link LoadingSpinner#progressSmoothingProperty()}.</p>
+	 * <p>The displayed progress eases towards the target progress on every engine pulse, in skin time.</p>
+	 */
+	protected boolean engineSmoothingRunning = false;
+	protected double smoothedProgress = 0;
+	protected double smoothingTarget = 0;
+	protected double smoothingPreviousTarget = 0;
+	protected double smoothingRate = 0;
+	protected long smoothingTargetNanos = 0;
+	protected long smoothingLastNanos = 0;
+
+	/**
+	 * <p>State of the icon transitions.</p>
+	 * <ul>
+	 *     <li>STATIC: no icon, the bar shows the progress or the indeterminate animation</li>
+	 *     <li>SHOWING: the {@link LoadingSpinnerSkin#currentShowAnimIcon} is moving in or shown</li>
+	 *     <li>HIDING: the {@link LoadingSpinnerSkin#currentShowAnimIcon} is fading out, afterwards the skin heads for the {@link LoadingSpinnerSkin#iconTransitionTarget}</li>
+	 * </ul>
+	 * <p>Only the most recent target is kept, intermediate targets are never animated.
+	 * The icon timelines are reused by every transition.</p>
+	 */
+	protected enum IconTransitionState {
+		STATIC, SHOWING, HIDING
+	}
+
+	protected IconTransitionState iconTransitionState = IconTransitionState.STATIC;
+	protected LoadingSpinnerAnimatedIcon iconTransitionTarget = null;
+	protected LoadingSpinnerAnimatedIcon currentShowAnimIcon = null;
+	protected Timeline iconAngleTimeline;
+	protected Timeline iconColorTimeline;
+	protected Timeline iconPathStrokeTimeline;
+
+	/**
+	 * <p>Visibility of the control, see {@link LoadingSpinnerVisibilityTracker}.</p>
+	 * <p>All animations are paused while hidden and continue at the phase they would have reached, once the control is shown again.</p>
+	 */
+	protected LoadingSpinnerVisibilityTracker visibilityTracker;
+	protected boolean controlVisible = false;
+
+	/**
+	 * Measured with {@link System#nanoTime()}, as the paused Timelines run in real time regardless of the control's clock.
+	 */
+	protected long hiddenSinceNanos = 0;
+
+	/**
+	 * <p>State of the animations driven by the {@link LoadingSpinnerAnimationEngine}.</p>
+	 * <p>Timestamps are measured in 'skin time', which is the time of the control's clock plus an offset,
+	 * that keeps the skin time continuous when the clock is replaced.</p>
+	 */
+	protected boolean engineRegistered = false;
+	private final Runnable enginePulseCallback = this::advanceAnimations;
+	protected long engineClockOffsetNanos = 0;
+	protected boolean engineIndeterminateRunning = false;
+	protected long engineIndeterminateStartNanos = 0;
+	protected boolean enginePaintCycleRunning = false;
+	protected long enginePaintCycleStartNanos = 0;
+	protected int enginePaintCycleStartIndex = 0;
+	protected boolean engineIconStrokeRunning = false;
+	protected long engineIconStrokeStartNanos = 0;
+	protected long engineIconStrokeDurationNanos = 0;
+	protected double engineIconStrokeFromOffset = 0;
+	protected double engineIconStrokeToOffset = 0;
+	protected Runnable engineIconStrokeFinished;
+
+	/**
+	 * Frame slot (of the engine pulse time) of the last engine driven animation update, see {@link LoadingSpinner#getEffectiveMaxFps()}.
+	 */
+	protected long engineLastFrameSlot = Long.MIN_VALUE;
+
+	/**
+	 * <p>State of the idle freeze, see {@link LoadingSpinner#freezeWhenIdleProperty()}.</p>
+	 * <p>A freeze is pending after every change and happens on the first engine pulse
+	 * at least {@link LoadingSpinnerSkin#idleFreezeDelayNanos} later, if no animation is running by then.</p>
+	 */
+	protected boolean frozen = false;
+	protected boolean freezePending = false;
+	protected long freezeRequestedNanos = 0;
+	private final InvalidationListener idleFreezeListener = observable -> requestIdleFreeze();
+
+	/**
+	 * <p>Values seen by the last change of the quality tier and {@link LoadingSpinner#settingsRevisionProperty() settings} listeners,
+	 * which need the previous value or compare it to find the changed settings.</p>
+	 * <p>Listeners on the control and on static properties are registered through {@link SkinBase}, which removes them in {@link #dispose()}.
+	 * The status listeners on this skin's animations ({@link #observeAnimation(Animation)}) and the listeners of the {@link LoadingSpinnerVisibilityTracker}
+	 * on the control's ancestors, scene and window are added directly, they are removed in {@link #dispose()} as well.</p>
+	 */
+	protected LoadingSpinnerClock observedClock;
+	protected LoadingSpinnerQualityTier observedTier;
+	protected LoadingSpinnerIndeterminateStyle observedIndeterminateStyle;
+	protected LoadingSpinnerProfile observedProfile;
+	protected boolean observedFreezeWhenIdle;
+	protected double observedMaxFps;
+	protected double observedAnimationPriority;
+
+	/**
+	 * Changes deferred until the running {@link LoadingSpinner#update(java.util.function.Consumer) update} of the control ends.
+	 */
+	protected static final int pendingUpdate_progress = 1;
+	protected static final int pendingUpdate_indeterminate = 1 << 1;
+	protected static final int pendingUpdate_paint = 1 << 2;
+	protected static final int pendingUpdate_icon = 1 << 3;
+	protected int pendingUpdates = 0;
+
+	/**
+	 * <p>State of the {@link LoadingSpinnerAnimationScheduler}.</p>
+	 * <p>Spinners outside the animation budget pause their continuous animations (indeterminate and paint cycle).</p>
+	 */
+	protected boolean animationAllowed = true;
+	protected long animationSuspendedSinceNanos = 0;
+	protected long lastProgressChangeNanos = 0;
+	boolean schedulerInScene = false;
+	double schedulerScreenArea = 0;
+
+	protected LoadingSpinnerSkin(LoadingSpinner control) {
+		super(control);
+		this.control = control;
+
+		progressBar = new Arc();
+		progressBar.setManaged(false);
+		progressBar.getStyleClass().add(css_styleClass_progressBar);
+		progressBar.setFill(Color.TRANSPARENT);
+
+		indeterminateFrameView = new ImageView();
+		indeterminateFrameView.setManaged(false);
+		indeterminateFrameView.setVisible(false);
+
+		progressRotationPane = new Pane();
+		progressRotationPane.getChildren().addAll(progressBar, indeterminateFrameView);
+		progressRotationPane.getTransforms().add(indeterminateRotate);
+
+		track = new Arc();
+		track.getStyleClass().add(css_styleClass_track);
+		track.setFill(Color.TRANSPARENT);
+		track.setLength(360);
+
+		progressText = new Text();
+		progressText.getStyleClass().add(css_styleClass_progressText);
+
+		iconPath = new Path();
+		iconPath.setManaged(false);
+		iconPath.getStyleClass().add(css_styleClass_iconSVGPath);
+		iconPath.setFill(Color.TRANSPARENT);
+		iconPath.setStrokeLineCap(StrokeLineCap.BUTT);
+
+		containerPane = new StackPane();
+		containerPane.setAlignment(Pos.CENTER);
+		containerPane.setPrefSize(64, 64);
+		containerPane.getChildren().addAll(progressRotationPane, track, progressText, iconPath);
+
+		this.getChildren().setAll(containerPane);
+		animationModel.setProgress(control.getProgress());
+		attachListeners(control);
+	}
+
+	private <DataType> void attachListenerAndExecute(ObservableValue<DataType> property, Runnable onChangeCallback) {
+		registerChangeListener(property, observable -> onChangeCallback.run());
+		onChangeCallback.run();
+	}
+
+	private <DataType> void attachListenerAndExecute(ObservableValue<DataType> property, Consumer<DataType> newValueConsumer) {
+		registerChangeListener(property, observable -> newValueConsumer.accept(property.getValue()));
+		newValueConsumer.accept(property.getValue());
+	}
+
+	private void attachIdleFreezeListener(Observable... observables) {
+		for (Observable observable : observables) {
+			registerInvalidationListener(observable, ignored -> requestIdleFreeze());
+		}
+	}
+
+	protected void pauseTimeline(Animation timeline, boolean shouldPause) {
+		if (timeline != null && timeline.getStatus() != Animation.Status.STOPPED) {
+			if (shouldPause) {
+				timeline.pause();
+			} else {
+				timeline.play();
+			}
+		}
+	}
+
+	/**
+	 * Resumes a paused animation at the time it would have reached, if it had kept running for the elapsed time.
+	 * Looping animations wrap around, other animations are clamped to their end.
+	 */
+	protected void resumeAnimation(Animation animation, Duration elapsed) {
+		if (animation == null || animation.getStatus() != Animation.Status.PAUSED) {
+			return;
+		}
+		Duration targetTime = animation.getCurrentTime().add(elapsed);
+		if (animation.getCycleCount() == Animation.INDEFINITE) {
+			double cycleMillis = animation.getCycleDuration().toMillis();
+			targetTime = cycleMillis > 0 ? Duration.millis(targetTime.toMillis() % cycleMillis) : Duration.ZERO;
+		} else if (targetTime.greaterThan(animation.getTotalDuration())) {
+			targetTime = animation.getTotalDuration();
+		}
+		animation.jumpTo(targetTime);
+		animation.play();
+	}
+
+	protected void checkControlVisibility() {
+		boolean isVisible = visibilityTracker != null && visibilityTracker.isShown();
+		if (isVisible == controlVisible) {
+			return;
+		}
+
+		controlVisible = isVisible;
+		if (isVisible) {
+			LoadingSpinnerAnimationScheduler.onShown(this);
+			Duration elapsed = Duration.millis((System.nanoTime() - hiddenSinceNanos) / 1_000_000d);
+			resumeAnimation(progressTextFadeAnimation, elapsed);
+			resumeAnimation(iconAngleTimeline, elapsed);
+			resumeAnimation(iconColorTimeline, elapsed);
+			resumeAnimation(iconPathStrokeTimeline, elapsed);
+			if (!isContinuousAnimationPaused()) {
+				resumeAnimation(paintTimeline, elapsed);
+				resumeAnimation(indeterminateTimeline, elapsed);
+			}
+		} else {
+			hiddenSinceNanos = System.nanoTime();
+			pauseTimeline(progressTextFadeAnimation, true);
+			pauseTimeline(iconAngleTimeline, true);
+			pauseTimeline(iconColorTimeline, true);
+			pauseTimeline(iconPathStrokeTimeline, true);
+			pauseTimeline(paintTimeline, true);
+			pauseTimeline(indeterminateTimeline, true);
+			LoadingSpinnerAnimationScheduler.onHidden(this);
+		}
+		updateEngineRegistration();
+	}
+
+	/**
+	 * @return true if continuous animations (indeterminate and paint cycle) should be paused,
+	 * because the control is hidden or outside the {@link LoadingSpinnerAnimationScheduler animation budget}
+	 */
+	protected boolean isContinuousAnimationPaused() {
+		return !controlVisible || !animationAllowed;
+	}
+
+	/**
+	 * Called by the {@link LoadingSpinnerAnimationScheduler}, pauses or resumes the continuous animations.
+	 */
+	protected void setAnimationAllowed(boolean allowed) {
+		if (allowed == animationAllowed) {
+			return;
+		}
+		animationAllowed = allowed;
+		long skinNanos = getEngineSkinNanos();
+		if (!allowed) {
+			animationSuspendedSinceNanos = skinNanos;
+		} else {
+			// engine driven animations continue where they were suspended
+			long suspendedNanos = skinNanos - animationSuspendedSinceNanos;
+			engineIndeterminateStartNanos += suspendedNanos;
+			enginePaintCycleStartNanos += suspendedNanos;
+		}
+		pauseTimeline(paintTimeline, isContinuousAnimationPaused());
+		pauseTimeline(indeterminateTimeline, isContinuousAnimationPaused());
+		updateEngineRegistration();
+		requestIdleFreeze();
+	}
+
+	/**
+	 * @return the current skin time in nanoseconds
+	 */
+	protected long getEngineSkinNanos() {
+		return control.getClock().nanoTime() + engineClockOffsetNanos;
+	}
+
+	/**
+	 * @return the current skin time of continuous animations, which additionally does not advance while outside the animation budget
+	 */
+	protected long getEngineContinuousNanos() {
+		return animationAllowed ? getEngineSkinNanos() : animationSuspendedSinceNanos;
+	}
+
+	/**
+	 * Keeps the skin time continuous when the {@link LoadingSpinner#clockProperty() clock} is replaced.
+	 */
+	protected void onClockChanged(LoadingSpinnerClock oldClock, LoadingSpinnerClock newClock) {
+		long clockDelta = newClock.nanoTime() - oldClock.nanoTime();
+		engineClockOffsetNanos -= clockDelta;
+	}
+
+	/**
+	 * Registers this skin at the {@link LoadingSpinnerAnimationEngine} while it is visible and has an engine driven animation running.
+	 */
+	protected void updateEngineRegistration() {
+		boolean shouldRegister = controlVisible && needsAnimationPulse();
+		if (shouldRegister != engineRegistered) {
+			engineRegistered = shouldRegister;
+			if (shouldRegister) {
+				LoadingSpinnerAnimationEngine.register(enginePulseCallback);
+			} else {
+				LoadingSpinnerAnimationEngine.unregister(enginePulseCallback);
+			}
+		}
+	}
+
+	/**
+	 * @return true if this skin needs to be advanced by the {@link LoadingSpinnerAnimationEngine} on the next pulse
+	 */
+	protected boolean needsAnimationPulse() {
+		return (animationAllowed && (engineIndeterminateRunning || enginePaintCycleRunning)) || engineIconStrokeRunning || engineSmoothingRunning
+				|| progressDelayPending || (freezePending && !isAnimating());
+	}
+
+	/**
+	 * @return true if any timeline or engine driven animation of this skin is running
+	 */
+	protected boolean isAnimating() {
+		return isRunning(indeterminateTimeline) || isRunning(paintTimeline) || isRunning(progressTextFadeAnimation)
+				|| isRunning(iconAngleTimeline) || isRunning(iconColorTimeline) || isRunning(iconPathStrokeTimeline)
+				|| (animationAllowed && (engineIndeterminateRunning || enginePaintCycleRunning)) || engineIconStrokeRunning || engineSmoothingRunning;
+	}
+
+	private static boolean isRunning(Animation animation) {
+		return animation != null && animation.getStatus() == Animation.Status.RUNNING;
+	}
+
+	/**
+	 * @return the frame rate cap of the control in the current {@link LoadingSpinnerQualityController#getTier() quality tier}, values <= 0 mean no cap
+	 */
+	protected double getMaxFps() {
+		return LoadingSpinnerQualityController.applyFrameRateCap(control.getEffectiveMaxFps());
+	}
+
+	/**
+	 * Creates a timeline that updates at most at the {@link #getMaxFps() frame rate cap} of the control.
+	 */
+	protected Timeline createTimeline(KeyFrame... keyFrames) {
+		double maxFps = getMaxFps();
+		return maxFps > 0 ? new Timeline(maxFps, keyFrames) : new Timeline(keyFrames);
+	}
+
+	/**
+	 * <p>Applies a changed frame rate cap.</p>
+	 * <p>Engine driven animations read the cap on every pulse.
+	 * The indeterminate timeline is recreated and continues at its current time, other timelines use the new cap once they are restarted.</p>
+	 */
+	protected void onMaxFpsChanged() {
+		// reused icon timelines keep their frame rate, drop them so that the next transition creates them at the new rate
+		if (!isRunning(iconAngleTimeline)) {
+			unobserveAnimation(iconAngleTimeline);
+			iconAngleTimeline = null;
+		}
+		if (!isRunning(iconColorTimeline)) {
+			unobserveAnimation(iconColorTimeline);
+			iconColorTimeline = null;
+		}
+		if (!isRunning(iconPathStrokeTimeline)) {
+			unobserveAnimation(iconPathStrokeTimeline);
+			iconPathStrokeTimeline = null;
+		}
+
+		if (indeterminateTimeline == null) {
+			return;
+		}
+		Animation.Status status = indeterminateTimeline.getStatus();
+		Duration currentTime = indeterminateTimeline.getCurrentTime();
+		indeterminateTimeline.stop();
+		unobserveAnimation(indeterminateTimeline);
+		indeterminateTimeline = observeAnimation(createTimeline(createIndeterminateKeyFrames()));
+		indeterminateTimeline.setCycleCount(Animation.INDEFINITE);
+		indeterminateTimeline.setDelay(Duration.ZERO);
+		if (status != Animation.Status.STOPPED) {
+			indeterminateTimeline.playFrom(currentTime);
+			if (status == Animation.Status.PAUSED) {
+				indeterminateTimeline.pause();
+			}
+		}
+	}
+
+	/**
+	 * Registers the skin to be notified when the animation starts or stops, to thaw or freeze the skin.
+	 */
+	protected <T extends Animation> T observeAnimation(T animation) {
+		animation.statusProperty().addListener(idleFreezeListener);
+		return animation;
+	}
+
+	/**
+	 * Removes the listener added by {@link #observeAnimation(Animation)}, the animation may be null.
+	 */
+	protected void unobserveAnimation(Animation animation) {
+		if (animation != null) {
+			animation.statusProperty().removeListener(idleFreezeListener);
+		}
+	}
+
+	/**
+	 * Returns to live rendering and, if {@link LoadingSpinner#freezeWhenIdleProperty() enabled}, schedules the next idle freeze.
+	 */
+	protected void requestIdleFreeze() {
+		if (frozen) {
+			frozen = false;
+			containerPane.setCache(false);
+		}
+		freezePending = control.isFreezeWhenIdle();
+		freezeRequestedNanos = control.getClock().nanoTime();
+		updateEngineRegistration();
+	}
+
+	/**
+	 * Caches the rendered nodes as a bitmap, until {@link #requestIdleFreeze()} is called.
+	 */
+	protected void freeze() {
+		freezePending = false;
+		frozen = true;
+		containerPane.setCacheHint(CacheHint.QUALITY);
+		containerPane.setCache(true);
+		updateEngineRegistration();
+	}
+
+	/**
+	 * <p>Moves running continuous animations between the per-skin timelines and the {@link LoadingSpinnerAnimationEngine}.</p>
+	 * <p>The indeterminate animation keeps its phase, the paint cycle restarts with the current paint.</p>
+	 */
+	protected void onAnimationEngineToggled(boolean engineEnabled) {
+		if (engineEnabled) {
+			if (indeterminateTimeline != null && indeterminateTimeline.getStatus() != Animation.Status.STOPPED) {
+				long phaseNanos = (long) (indeterminateTimeline.getCurrentTime().toMillis() * 1_000_000d);
+				indeterminateTimeline.stop();
+				engineIndeterminateRunning = true;
+				engineIndeterminateStartNanos = getEngineContinuousNanos() - phaseNanos;
+			}
+			if (paintTimeline != null) {
+				clearPaintTimeline();
+				onPaintAnimationSequenceChanged();
+			}
+		} else {
+			if (engineIndeterminateRunning) {
+				double phaseSeconds = getEngineIndeterminateSeconds();
+				engineIndeterminateRunning = false;
+				hideIndeterminateFrame();
+				startIndeterminateAnimation();
+				indeterminateTimeline.playFrom(Duration.seconds(phaseSeconds));
+				pauseTimeline(indeterminateTimeline, isContinuousAnimationPaused());
+			}
+			if (enginePaintCycleRunning) {
+				clearPaintTimeline();
+				onPaintAnimationSequenceChanged();
+			}
+		}
+		updateEngineRegistration();
+	}
+
+	/**
+	 * Called by the {@link LoadingSpinnerAnimationEngine} once per pulse while this skin is registered.
+	 * Animations are evaluated at the current time of the control's {@link LoadingSpinner#clockProperty() clock}.
+	 */
+	protected void advanceAnimations() {
+		if (isEngineFrameDue(LoadingSpinnerAnimationEngine.getPulseNanos())) {
+			advanceEngineAnimations(getEngineSkinNanos());
+		}
+		if (progressDelayPending && getEngineSkinNanos() >= progressDelayDueNanos) {
+			applyProgress(control.getProgress());
+		}
+		if (freezePending && !isAnimating() && control.getClock().nanoTime() - freezeRequestedNanos >= idleFreezeDelayNanos) {
+			freeze();
+		}
+	}
+
+	/**
+	 * <p>Frame slots are derived from the engine's pulse time rather than the skin's clock,
+	 * so that all spinners with the same cap update on the same pulses and the scene is only repainted on those.</p>
+	 *
+	 * @param pulseNanos {@link LoadingSpinnerAnimationEngine#getPulseNanos() time of the current pulse}
+	 * @return true if the animations should be updated on this pulse, false if the {@link #getMaxFps() frame rate cap}
+	 * has already been reached within the current frame
+	 */
+	protected boolean isEngineFrameDue(long pulseNanos) {
+		double maxFps = getMaxFps();
+		if (maxFps <= 0) {
+			return true;
+		}
+		long frameSlot = Math.floorDiv(pulseNanos, (long) (1_000_000_000d / maxFps));
+		if (frameSlot == engineLastFrameSlot) {
+			return false;
+		}
+		engineLastFrameSlot = frameSlot;
+		return true;
+	}
+
+	protected void advanceEngineAnimations(long skinNanos) {
+		if (animationAllowed && engineIndeterminateRunning) {
+			advanceEngineIndeterminate(skinNanos);
+		}
+		if (animationAllowed && enginePaintCycleRunning) {
+			advanceEnginePaintCycle(skinNanos);
+		}
+		if (engineIconStrokeRunning) {
+			advanceEngineIconStroke(skinNanos);
+		}
+		if (engineSmoothingRunning) {
+			advanceEngineSmoothing(skinNanos);
+		}
+		if (animationAllowed && engineIndeterminateRunning) {
+			updateIndeterminateFrame(skinNanos);
+		}
+	}
+
+	private double getEngineIndeterminateSeconds() {
+		return wrapIndeterminateSeconds((getEngineContinuousNanos() - engineIndeterminateStartNanos) / 1_000_000_000d);
+	}
+
+	/**
+	 * @return the duration after which the {@link LoadingSpinnerSkin#activeIndeterminateStyle active} indeterminate animation repeats
+	 */
+	protected double getIndeterminateLoopSeconds() {
+		return activeIndeterminateStyle == LoadingSpinnerIndeterminateStyle.ROTATE
+				? animationModel.getRotateOnlySeconds()
+				: animationModel.getIndeterminateSeconds();
+	}
+
+	private double wrapIndeterminateSeconds(double seconds) {
+		double loopSeconds = getIndeterminateLoopSeconds();
+		return loopSeconds > 0 ? Math.max(0, seconds) % loopSeconds : 0;
+	}
+
+	protected void advanceEngineIndeterminate(long skinNanos) {
+		double seconds = (skinNanos - engineIndeterminateStartNanos) / 1_000_000_000d;
+		if (activeIndeterminateStyle == LoadingSpinnerIndeterminateStyle.ROTATE) {
+			indeterminateRotate.setAngle(animationModel.getRotateOnlyAngle(seconds));
+		} else {
+			progressBar.setStartAngle(animationModel.getIndeterminateStartAngle(seconds));
+			progressBar.setLength(animationModel.getIndeterminateLength(seconds));
+		}
+	}
+
+	/**
+	 * @return true if engine driven indeterminate animations should show frames of the {@link LoadingSpinnerFrameCache}
+	 */
+	protected boolean useIndeterminateFrameCache() {
+		return LoadingSpinnerFrameCache.isEnabled();
+	}
+
+	/**
+	 * Shows the cached frame of the indeterminate animation, or the progress bar if the cache cannot be used (e.g. during paint blends).
+	 */
+	protected void updateIndeterminateFrame(long skinNanos) {
+		Paint paint = progressBar.getStroke();
+		double radius = progressBar.getRadiusX();
+		if (!useIndeterminateFrameCache() || activeIndeterminateStyle != LoadingSpinnerIndeterminateStyle.INFLATE || paint == null || radius <= 0 || !isPaintCycleHolding(paint)) {
+			hideIndeterminateFrame();
+			return;
+		}
+
+		double thickness = progressBar.getStrokeWidth();
+		StrokeLineCap lineCap = progressBar.getStrokeLineCap();
+		double renderScale = getRenderScale();
+		if (indeterminateFrames == null || !indeterminateFrames.matches(radius, thickness, paint, lineCap, animationModel, renderScale)) {
+			indeterminateFrames = LoadingSpinnerFrameCache.getFrames(radius, thickness, paint, lineCap, control.getProgress(), renderScale);
+		}
+
+		double seconds = (skinNanos - engineIndeterminateStartNanos) / 1_000_000_000d;
+		double size = indeterminateFrames.getSize();
+		indeterminateFrameView.setImage(indeterminateFrames.getImage(seconds));
+		indeterminateFrameView.setRotate(indeterminateFrames.getRotate(seconds));
+		indeterminateFrameView.setFitWidth(size);
+		indeterminateFrameView.setFitHeight(size);
+		indeterminateFrameView.setLayoutX(progressBar.getLayoutX() + progressBar.getCenterX() - (size / 2));
+		indeterminateFrameView.setLayoutY(progressBar.getLayoutY() + progressBar.getCenterY() - (size / 2));
+		indeterminateFrameView.setVisible(true);
+		progressBar.setVisible(false);
+	}
+
+	protected void hideIndeterminateFrame() {
+		if (indeterminateFrameView.isVisible()) {
+			indeterminateFrameView.setVisible(false);
+			indeterminateFrameView.setImage(null);
+			progressBar.setVisible(true);
+		}
+		indeterminateFrames = null;
+	}
+
+	/**
+	 * @return true if the paint is not blended, i.e. it is the current paint of the paint cycle or of the icon
+	 */
+	private boolean isPaintCycleHolding(Paint paint) {
+		for (LoadingSpinnerPaintAnimationInfo paintInfo : control.getEffectivePaintAnimationSequence()) {
+			if (paintInfo.getPaint() == paint) {
+				return true;
+			}
+		}
+		return currentShowAnimIcon != null && currentShowAnimIcon.getPaint() == paint;
+	}
+
+	private double getRenderScale() {
+		Window window = control.getScene() != null ? control.getScene().getWindow() : null;
+		return window != null ? window.getRenderScaleX() : 1;
+	}
+
+	protected void advanceEnginePaintCycle(long skinNanos) {
+		double seconds = (skinNanos - enginePaintCycleStartNanos) / 1_000_000_000d;
+		Paint paint = animationModel.evaluatePaint(control.getEffectivePaintAnimationSequence(), enginePaintCycleStartIndex, seconds);
+		if (paint != null) {
+			currentPaintIndex = animationModel.getEvaluatedPaintIndex();
+			progressBar.setStroke(paint);
+			iconPath.setStroke(paint);
+		}
+		if (control.getEffectivePaintAnimationSequence().size() <= 1) {
+			// a single paint never changes, restarted by onPaintAnimationSequenceChanged
+			enginePaintCycleRunning = false;
+			updateEngineRegistration();
+			requestIdleFreeze();
+		}
+	}
+
+	protected void advanceEngineIconStroke(long skinNanos) {
+		double seconds = (skinNanos - engineIconStrokeStartNanos) / 1_000_000_000d;
+		if (seconds < 0) {
+			return; // still delayed
+		}
+		double durationSeconds = engineIconStrokeDurationNanos / 1_000_000_000d;
+		iconPath.setStrokeDashOffset(LoadingSpinnerAnimationModel.getIconDashOffset(
+				engineIconStrokeFromOffset, engineIconStrokeToOffset, durationSeconds, seconds
+		));
+		if (seconds >= durationSeconds) {
+			Runnable onFinished = engineIconStrokeFinished;
+			engineIconStrokeRunning = false;
+			engineIconStrokeFinished = null;
+			updateEngineRegistration();
+			if (onFinished != null) {
+				onFinished.run();
+			}
+		}
+	}
+
+	/**
+	 * <p>Jumps the indeterminate animation to the given time since its start, without replaying the animation up to that point.</p>
+	 * <p>Has no effect if the indeterminate animation is not running.</p>
+	 *
+	 * @param phase time since the start of the indeterminate animation, may exceed the duration of one loop
+	 */
+	public void jumpToIndeterminatePhase(Duration phase) {
+		double phaseSeconds = wrapIndeterminateSeconds(phase.toSeconds());
+		if (engineIndeterminateRunning) {
+			long skinNanos = getEngineContinuousNanos();
+			engineIndeterminateStartNanos = skinNanos - (long) (phaseSeconds * 1_000_000_000d);
+			advanceEngineIndeterminate(skinNanos);
+		} else if (indeterminateTimeline != null && indeterminateTimeline.getStatus() != Animation.Status.STOPPED) {
+			indeterminateTimeline.jumpTo(Duration.seconds(phaseSeconds));
+		}
+	}
+
+	/**
+	 * Recomputes the deflate parameters and, if they actually changed, the indeterminate key frames.
+	 * A running indeterminate animation continues at the same relative position within its cycles.
+	 */
+	protected void checkIndeterminateParameters() {
+		double totalSeconds = getIndeterminateLoopSeconds();
+		double engineFraction = engineIndeterminateRunning && totalSeconds > 0 ? getEngineIndeterminateSeconds() / totalSeconds : 0;
+		if (!animationModel.setProgress(control.getProgress())) {
+			return;
+		}
+
+		if (activeIndeterminateStyle == LoadingSpinnerIndeterminateStyle.ROTATE && indeterminateActive) {
+			progressBar.setLength(animationModel.getRotateOnlyLength());
+		}
+
+		if (engineIndeterminateRunning) {
+			double phaseSeconds = engineFraction * getIndeterminateLoopSeconds();
+			engineIndeterminateStartNanos = getEngineContinuousNanos() - (long) (phaseSeconds * 1_000_000_000d);
+		}
+
+		if (indeterminateTimeline != null) {
+			Animation.Status status = indeterminateTimeline.getStatus();
+			double cycleFraction = totalSeconds > 0 ? indeterminateTimeline.getCurrentTime().toSeconds() / totalSeconds : 0;
+			indeterminateTimeline.stop();
+			indeterminateTimeline.getKeyFrames().setAll(createIndeterminateKeyFrames());
+			if (status != Animation.Status.STOPPED) {
+				indeterminateTimeline.playFrom(Duration.seconds(cycleFraction * getIndeterminateLoopSeconds()));
+				if (status == Animation.Status.PAUSED) {
+					indeterminateTimeline.pause();
+				}
+			}
+		}
+	}
+
+	protected void updateProgress(Number rawProgress) {
+		lastProgressChangeNanos = control.getClock().nanoTime();
+		LoadingSpinnerAnimationScheduler.onRankingInputChanged();
+
+		Duration minInterval = control.getMinProgressInterval();
+		// the first progress is shown right away, skin time may start at any value
+		if (minInterval != null && minInterval.greaterThan(Duration.ZERO) && !Double.isNaN(appliedProgress)) {
+			long dueNanos = progressAppliedNanos + (long) (minInterval.toMillis() * 1_000_000d);
+			if (dueNanos > getEngineSkinNanos()) {
+				delayProgress(dueNanos);
+				return;
+			}
+		}
+		applyProgress(rawProgress.doubleValue());
+	}
+
+	/**
+	 * Shows the latest progress on the first engine pulse at or after the given skin time, unless a delayed update is already pending.
+	 */
+	protected void delayProgress(long dueNanos) {
+		if (!progressDelayPending) {
+			progressDelayPending = true;
+			progressDelayDueNanos = dueNanos;
+			updateEngineRegistration();
+		}
+	}
+
+	protected void applyProgress(double rawProgress) {
+		progressAppliedNanos = getEngineSkinNanos();
+		if (progressDelayPending) {
+			progressDelayPending = false;
+			updateEngineRegistration();
+		}
+
+		double progress = Math.max(-1, Math.min(1, rawProgress));
+		boolean coalesce = control.isCoalesceProgress();
+		long percent = Math.round(Math.abs(progress) * 100);
+		if (!coalesce || percent != appliedPercent) {
+			appliedPercent = percent;
+			progressText.setText(percent + "%");
+		}
+		if (coalesce && !isProgressChangeVisible(progress)) {
+			return;
+		}
+
+		appliedProgress = progress;
+		checkIndeterminateParameters();
+		if (currentShowAnimIcon == null && !control.isIndeterminate()) {
+			if (getProgressSmoothingNanos() > 0) {
+				smoothProgressTo(progress);
+			} else {
+				stopProgressSmoothing();
+				progressBar.setLength(-360d * progress);
+			}
+		}
+	}
+
+	protected long getProgressSmoothingNanos() {
+		Duration smoothing = control.getProgressSmoothing();
+		return smoothing != null ? (long) (smoothing.toMillis() * 1_000_000d) : 0;
+	}
+
+	/**
+	 * Starts easing the displayed progress towards the given target, starting from the currently displayed bar.
+	 */
+	protected void smoothProgressTo(double targetProgress) {
+		long skinNanos = getEngineSkinNanos();
+		if (engineSmoothingRunning) {
+			double elapsedSeconds = (skinNanos - smoothingTargetNanos) / 1_000_000_000d;
+			smoothingRate = elapsedSeconds > 0 ? (targetProgress - smoothingTarget) / elapsedSeconds : 0;
+		} else {
+			smoothedProgress = -progressBar.getLength() / 360d;
+			smoothingLastNanos = skinNanos;
+			smoothingRate = 0;
+		}
+		smoothingPreviousTarget = engineSmoothingRunning ? smoothingTarget : smoothedProgress;
+		smoothingTarget = targetProgress;
+		smoothingTargetNanos = skinNanos;
+		if (!engineSmoothingRunning) {
+			engineSmoothingRunning = true;
+			updateEngineRegistration();
+		}
+	}
+
+	protected void stopProgressSmoothing() {
+		if (engineSmoothingRunning) {
+			engineSmoothingRunning = false;
+			updateEngineRegistration();
+		}
+	}
+
+	protected void advanceEngineSmoothing(long skinNanos) {
+		long smoothingNanos = getProgressSmoothingNanos();
+		if (currentShowAnimIcon != null || control.isIndeterminate() || smoothingNanos <= 0) {
+			stopProgressSmoothing();
+			return;
+		}
+
+		double goal = smoothingTarget;
+		boolean goalMoving = false;
+		if (control.isExtrapolateProgress() && smoothingRate != 0) {
+			// continue at the observed rate, but never more than one step ahead of the latest progress
+			double limit = Math.max(-1, Math.min(1, smoothingTarget + (smoothingTarget - smoothingPreviousTarget)));
+			double extrapolated = smoothingTarget + (smoothingRate * ((skinNanos - smoothingTargetNanos) / 1_000_000_000d));
+			goal = smoothingRate > 0 ? Math.min(extrapolated, limit) : Math.max(extrapolated, limit);
+			goalMoving = goal != limit;
+		}
+
+		double elapsedNanos = Math.max(0, skinNanos - smoothingLastNanos);
+		smoothingLastNanos = skinNanos;
+		smoothedProgress += (goal - smoothedProgress) * (1 - Math.exp(-elapsedNanos / smoothingNanos));
+		if (!goalMoving && Math.abs(goal - smoothedProgress) < 1e-4) {
+			smoothedProgress = goal;
+			stopProgressSmoothing();
+		}
+		progressBar.setLength(-360d * smoothedProgress);
+	}
+
+	/**
+	 * @return true if the end of the bar moves by at least one device pixel, or reaches 0 or a full circle
+	 */
+	protected boolean isProgressChangeVisible(double progress) {
+		if (progress == appliedProgress) {
+			return false;
+		}
+		if (Double.isNaN(appliedProgress) || progress == 0 || Math.abs(progress) == 1 || Math.signum(progress) != Math.signum(appliedProgress)) {
+			return true;
+		}
+		double radius = getArcRadius();
+		if (radius <= 0) {
+			return true; // not laid out yet
+		}
+		double arcPixels = Math.abs(progress - appliedProgress) * 2 * Math.PI * radius * getRenderScale();
+		return arcPixels >= 1;
+	}
+
+	/**
+	 * @return the radius of the visible progress bar as laid out, 0 or less if it has not been laid out yet
+	 */
+	protected double getArcRadius() {
+		return progressBar.getRadiusX();
+	}
+
+	protected void clearTimeline(Timeline timeline) {
+		if (timeline != null) {
+			timeline.stop();
+			timeline.getKeyFrames().clear();
+		}
+	}
+
+	protected void clearPaintTimeline() {
+		clearTimeline(paintTimeline);
+		unobserveAnimation(paintTimeline);
+		paintTimeline = null;
+		if (enginePaintCycleRunning) {
+			enginePaintCycleRunning = false;
+			updateEngineRegistration();
+		}
+	}
+
+	/**
+	 * Stops the indeterminate animation.
+	 * The timeline and its key frames are kept, so that the animation can be restarted without allocations.
+	 */
+	protected void clearIndeterminateTimeline() {
+		indeterminateActive = false;
+		if (indeterminateTimeline != null) {
+			indeterminateTimeline.stop();
+		}
+		if (engineIndeterminateRunning) {
+			engineIndeterminateRunning = false;
+			hideIndeterminateFrame();
+			updateEngineRegistration();
+		}
+		clearIndeterminateRotation();
+	}
+
+	/**
+	 * Moves the rotation of a stopped {@link LoadingSpinnerIndeterminateStyle#ROTATE rotate-only} animation into the bar's start angle,
+	 * so that following transitions start from the visible position.
+	 */
+	protected void clearIndeterminateRotation() {
+		double rotation = indeterminateRotate.getAngle();
+		if (rotation != 0) {
+			progressBar.setStartAngle(progressBar.getStartAngle() - rotation); // node rotation is clockwise
+			indeterminateRotate.setAngle(0);
+		}
+		progressRotationPane.setCache(false);
+	}
+
+	protected void clearProgressTextFadeAnimation() {
+		if (progressTextFadeAnimation != null) {
+			progressTextFadeAnimation.stop();
+			unobserveAnimation(progressTextFadeAnimation);
+			progressTextFadeAnimation = null;
+		}
+	}
+
+	/**
+	 * Stops the timeline and replaces its key frames, creates a new timeline if there is none to reuse.
+	 */
+	protected Timeline reuseTimeline(Timeline timeline, KeyFrame... keyFrames) {
+		if (timeline == null) {
+			return observeAnimation(createTimeline(keyFrames));
+		}
+		timeline.stop();
+		timeline.setOnFinished(null);
+		timeline.getKeyFrames().setAll(keyFrames);
+		return timeline;
+	}
+
+	/**
+	 * The icon timelines are kept for reuse, see {@link #reuseTimeline(Timeline, KeyFrame...)}.
+	 */
+	protected void clearIconAnimationTimeline() {
+		clearTimeline(iconAngleTimeline);
+	}
+
+	protected void clearIconColorTimeline() {
+		clearTimeline(iconColorTimeline);
+	}
+
+	protected void clearIconPathStrokeTimeline() {
+		clearTimeline(iconPathStrokeTimeline);
+		if (engineIconStrokeRunning) {
+			engineIconStrokeRunning = false;
+			engineIconStrokeFinished = null;
+			updateEngineRegistration();
+		}
+	}
+
+	protected void onCurrentPaintHoldAnimEnd() {
+		List<LoadingSpinnerPaintAnimationInfo> paintAnimationSequence = control.getEffectivePaintAnimationSequence();
+		if (paintAnimationSequence.size() <= 1) {
+			// a single paint never changes, restarted by onPaintAnimationSequenceChanged
+			clearPaintTimeline();
+			return;
+		}
+		LoadingSpinnerPaintAnimationInfo currentPaintInfo = paintAnimationSequence.get(currentPaintIndex);
+		currentPaintIndex = (currentPaintIndex + 1) % paintAnimationSequence.size();
+		LoadingSpinnerPaintAnimationInfo nextPaintInfo = paintAnimationSequence.get(currentPaintIndex);
+
+		Duration blendTimestamp = currentPaintInfo.getBlendOutDuration().add(nextPaintInfo.getBlendInDuration());
+		Duration holdTimestamp = nextPaintInfo.getHoldDuration().add(blendTimestamp);
+
+		clearPaintTimeline();
+		paintTimeline = observeAnimation(createTimeline(
+				new KeyFrame(blendTimestamp,
+						new KeyValue(progressBar.strokeProperty(), nextPaintInfo.getPaint()),
+						new KeyValue(iconPath.strokeProperty(), nextPaintInfo.getPaint())
+				),
+				new KeyFrame(holdTimestamp,
+						new KeyValue(progressBar.strokeProperty(), nextPaintInfo.getPaint()),
+						new KeyValue(iconPath.strokeProperty(), nextPaintInfo.getPaint())
+				)
+		));
+		paintTimeline.setOnFinished(event -> onCurrentPaintHoldAnimEnd());
+		paintTimeline.setCycleCount(1);
+		paintTimeline.setDelay(Duration.ZERO);
+		paintTimeline.playFromStart();
+		pauseTimeline(paintTimeline, isContinuousAnimationPaused());
+	}
+
+	protected void onPaintAnimationSequenceChanged() {
+		if (currentShowAnimIcon != null && currentShowAnimIcon.getPaint() != null) {
+			return;
+		}
+
+		List<LoadingSpinnerPaintAnimationInfo> paintAnimationSequence = control.getEffectivePaintAnimationSequence();
+		if (paintAnimationSequence.isEmpty()) {
+			progressBar.setStroke(null);
+			clearPaintTimeline();
+			return;
+		}
+
+		if (LoadingSpinnerAnimationEngine.isEnabled()) {
+			if (!enginePaintCycleRunning) {
+				currentPaintIndex = currentPaintIndex % paintAnimationSequence.size();
+				enginePaintCycleStartIndex = currentPaintIndex;
+				enginePaintCycleRunning = true;
+				enginePaintCycleStartNanos = getEngineContinuousNanos();
+				updateEngineRegistration();
+			}
+			return;
+		}
+
+		if (paintTimeline == null) {
+			currentPaintIndex = currentPaintIndex % paintAnimationSequence.size();
+			LoadingSpinnerPaintAnimationInfo targetPaint = paintAnimationSequence.get(currentPaintIndex);
+			Paint targetPaintValue = targetPaint.getPaint();
+
+			Duration blendTimestamp = targetPaint.getBlendInDuration();
+			Duration holdTimestamp = targetPaint.getHoldDuration().add(blendTimestamp);
+
+			paintTimeline = observeAnimation(createTimeline(
+					new KeyFrame(blendTimestamp, new KeyValue(progressBar.strokeProperty(), targetPaintValue)),
+					new KeyFrame(holdTimestamp, new KeyValue(progressBar.strokeProperty(), targetPaintValue))
+			));
+			paintTimeline.setOnFinished(event -> onCurrentPaintHoldAnimEnd());
+			paintTimeline.setCycleCount(1);
+			paintTimeline.setDelay(Duration.ZERO);
+			paintTimeline.playFromStart();
+			pauseTimeline(paintTimeline, isContinuousAnimationPaused());
+		}
+	}
+
+	protected KeyFrame[] createIndeterminateKeyFrames() {
+		indeterminateKeyFrameStyle = activeIndeterminateStyle;
+		if (activeIndeterminateStyle == LoadingSpinnerIndeterminateStyle.ROTATE) {
+			double turnSeconds = animationModel.getRotateOnlySeconds();
+			return new KeyFrame[]{
+					new KeyFrame(Duration.ZERO, new KeyValue(indeterminateRotate.angleProperty(), 0)),
+					new KeyFrame(Duration.seconds(turnSeconds), new KeyValue(indeterminateRotate.angleProperty(), -360 * animationModel.getRotationFactor()))
+			};
+		}
+
+		KeyFrame[] keyFrames = new KeyFrame[LoadingSpinnerAnimationModel.indeterminateKeyFrameCount];
+		for (int i = 0; i < keyFrames.length; i++) {
+			keyFrames[i] = new KeyFrame(Duration.seconds(animationModel.getIndeterminateKeyTime(i)),
+					new KeyValue(progressBar.startAngleProperty(), animationModel.getIndeterminateKeyAngle(i)),
+					new KeyValue(progressBar.lengthProperty(), animationModel.getIndeterminateKeyLength(i))
+			);
+		}
+		return keyFrames;
+	}
+
+	/**
+	 * (Re-)starts the indeterminate animation from its first cycle.
+	 * The {@link LoadingSpinnerSkin#indeterminateTimeline} is created once and loops indefinitely,
+	 * its key frames are only rebuilt when the deflate parameters change.
+	 */
+	protected void startIndeterminateAnimation() {
+		indeterminateActive = true;
+		LoadingSpinnerQualityTier tier = LoadingSpinnerQualityController.getTier();
+		activeIndeterminateStyle = tier.compareTo(LoadingSpinnerQualityTier.ROTATE_ONLY) >= 0
+				? LoadingSpinnerIndeterminateStyle.ROTATE
+				: control.getIndeterminateStyle();
+		if (activeIndeterminateStyle == LoadingSpinnerIndeterminateStyle.ROTATE) {
+			clearIndeterminateRotation();
+			progressBar.setStartAngle(0);
+			progressBar.setLength(animationModel.getRotateOnlyLength());
+			if (tier == LoadingSpinnerQualityTier.STATIC) {
+				return; // keep the still bar
+			}
+			progressRotationPane.setCacheHint(CacheHint.ROTATE);
+			progressRotationPane.setCache(true);
+		}
+
+		if (LoadingSpinnerAnimationEngine.isEnabled()) {
+			engineIndeterminateRunning = true;
+			engineIndeterminateStartNanos = getEngineContinuousNanos();
+			updateEngineRegistration();
+			advanceEngineIndeterminate(engineIndeterminateStartNanos);
+			return;
+		}
+
+		if (indeterminateTimeline == null) {
+			indeterminateTimeline = observeAnimation(createTimeline(createIndeterminateKeyFrames()));
+			indeterminateTimeline.setCycleCount(Animation.INDEFINITE);
+			indeterminateTimeline.setDelay(Duration.ZERO);
+		} else if (indeterminateKeyFrameStyle != activeIndeterminateStyle) {
+			indeterminateTimeline.getKeyFrames().setAll(createIndeterminateKeyFrames());
+		}
+		indeterminateTimeline.playFromStart();
+		pauseTimeline(indeterminateTimeline, isContinuousAnimationPaused());
+	}
+
+	/**
+	 * Restarts an active indeterminate animation, e.g. after its style changed.
+	 */
+	protected void restartIndeterminateAnimation() {
+		if (indeterminateActive) {
+			clearIndeterminateTimeline();
+			startIndeterminateAnimation();
+		}
+	}
+
+	protected void animateProgressText(boolean doShowText) {
+		if (doShowText == this.progressTextShown) {
+			return;
+		}
+
+		this.progressTextShown = doShowText;
+		if (doShowText) { // show immediately (otherwise fade-in won't be visible)
+			progressText.setVisible(true);
+		}
+		double currentOpacity = progressText.getOpacity();
+		double targetOpacity = doShowText ? 1 : 0;
+		clearProgressTextFadeAnimation();
+		progressTextFadeAnimation = observeAnimation(new FadeTransition());
+		progressTextFadeAnimation.setNode(progressText);
+		progressTextFadeAnimation.setFromValue(currentOpacity);
+		progressTextFadeAnimation.setToValue(targetOpacity);
+		progressTextFadeAnimation.setDuration(Duration.millis(Math.abs(targetOpacity - currentOpacity) * 300)); // 300ms for full opacity change, scale down linearly.
+
+		if (!doShowText) { // hide after animation (otherwise fade-out won't be visible)
+			progressTextFadeAnimation.setOnFinished(event -> progressText.setVisible(false));
+		}
+		progressTextFadeAnimation.setCycleCount(1);
+		progressTextFadeAnimation.setDelay(Duration.ZERO);
+		progressTextFadeAnimation.playFromStart();
+	}
+
+	/**
+	 * Animates from the current angle to the specified target angle.
+	 * Will correct for the current {@link LoadingSpinnerSkin#progressRotationPane} rotation.
+	 * Occupies {@link LoadingSpinnerSkin#iconAngleTimeline} timeline.
+	 *
+	 * @param targetAngle          angle to rotate to
+	 * @param minAngleChange       should be >= 0, minimum amount to rotate by (will add extra 360° rotations, if the direct path rotates by less than this value)
+	 * @param targetLength         should be >= 0, length of the progress bar to animate to, length will be added in the direction of rotation
+	 * @param animFinishedCallback callback to run after animation ends
+	 * @return the duration of the animation that is started by this method
+	 */
+	protected Duration animateToProgressAndAngle(double targetAngle, double minAngleChange, double targetLength,
+												 Duration delay, Runnable animFinishedCallback) {
+		delay = delay != null ? delay : Duration.ZERO;
+
+		animationModel.computeAngleTransition(
+				progressBar.getStartAngle(), progressBar.getLength(), progressRotationPane.getRotate(),
+				targetAngle, minAngleChange, targetLength
+		);
+		KeyFrame[] keyFrames = new KeyFrame[LoadingSpinnerAnimationModel.angleTransitionKeyFrameCount];
+		for (int i = 0; i < keyFrames.length; i++) {
+			keyFrames[i] = new KeyFrame(Duration.seconds(animationModel.getAngleTransitionKeyTime(i)),
+					new KeyValue(progressBar.lengthProperty(), animationModel.getAngleTransitionKeyLength(i)),
+					new KeyValue(progressBar.startAngleProperty(), animationModel.getAngleTransitionKeyAngle(i))
+			);
+		}
+
+		iconAngleTimeline = reuseTimeline(iconAngleTimeline, keyFrames);
+		if (animFinishedCallback != null) {
+			iconAngleTimeline.setOnFinished(event -> animFinishedCallback.run());
+		}
+		iconAngleTimeline.setCycleCount(1);
+		iconAngleTimeline.setDelay(delay);
+		iconAngleTimeline.playFromStart();
+		return Duration.seconds(animationModel.getAngleTransitionSeconds()).add(delay);
+	}
+
+	protected void animateFromStaticToIcon(LoadingSpinnerAnimatedIcon targetAnimIcon) {
+		iconTransitionState = IconTransitionState.SHOWING;
+		currentShowAnimIcon = targetAnimIcon;
+		clearIndeterminateTimeline();
+
+		Duration angleAnimDuration = animateToProgressAndAngle(
+				animationModel.getIconGapStartAngle(targetAnimIcon), iconAnimationMinAngleChange, LoadingSpinnerAnimationModel.getIconBarLength(targetAnimIcon), null, null
+		);
+
+		Paint paintOverride = targetAnimIcon.getPaint();
+		if (paintOverride != null) {
+			clearPaintTimeline();
+			iconColorTimeline = reuseTimeline(iconColorTimeline, new KeyFrame(angleAnimDuration, new KeyValue(progressBar.strokeProperty(), paintOverride)));
+			iconColorTimeline.setCycleCount(1);
+			iconColorTimeline.setDelay(Duration.ZERO);
+			iconColorTimeline.playFromStart();
+			iconPath.setStroke(paintOverride);
+		}
+
+		iconPath.getElements().setAll(targetAnimIcon.getGeometry().getPathElements());
+		iconPath.getStrokeDashArray().setAll(targetAnimIcon.getPathLength());
+		iconPath.setStrokeDashOffset(targetAnimIcon.getPathLength());
+
+		animateCurrentIcon(true, angleAnimDuration, null);
+		control.requestLayout();
+	}
+
+	/**
+	 * @param fadeIn if enabled, fade current icon in, otherwise fade out
+	 * @param delay  start delay of animation
+	 * @return the end-time of the animation (combined duration of animation and passed delay)
+	 */
+	protected Duration animateCurrentIcon(boolean fadeIn, Duration delay, Runnable onFinished) {
+		Duration pathStrokeAnimDuration = Duration.millis(200);
+		clearIconPathStrokeTimeline();
+		if (!fadeIn) {
+			iconPath.setStrokeDashOffset(-Math.abs(iconPath.getStrokeDashOffset()));
+		}
+
+		if (LoadingSpinnerAnimationEngine.isEnabled()) {
+			engineIconStrokeRunning = true;
+			engineIconStrokeStartNanos = getEngineSkinNanos() + (long) (delay.toMillis() * 1_000_000d);
+			engineIconStrokeDurationNanos = (long) (pathStrokeAnimDuration.toMillis() * 1_000_000d);
+			engineIconStrokeFromOffset = iconPath.getStrokeDashOffset();
+			engineIconStrokeToOffset = fadeIn ? 0 : -currentShowAnimIcon.getPathLength();
+			engineIconStrokeFinished = onFinished;
+			updateEngineRegistration();
+			return pathStrokeAnimDuration;
+		}
+
+		iconPathStrokeTimeline = reuseTimeline(iconPathStrokeTimeline, new KeyFrame(pathStrokeAnimDuration,
+				new KeyValue(iconPath.strokeDashOffsetProperty(), fadeIn ? 0 : -currentShowAnimIcon.getPathLength())
+		));
+		iconPathStrokeTimeline.setCycleCount(1);
+		iconPathStrokeTimeline.setDelay(delay);
+		if (onFinished != null) {
+			iconPathStrokeTimeline.setOnFinished(event -> onFinished.run());
+		}
+		iconPathStrokeTimeline.playFromStart();
+
+		return pathStrokeAnimDuration;
+	}
+
+	/**
+	 * Fades out the current icon, then heads for the {@link LoadingSpinnerSkin#iconTransitionTarget} that is current at that time.
+	 */
+	protected void animateIconOut() {
+		iconTransitionState = IconTransitionState.HIDING;
+		animateCurrentIcon(false, Duration.ZERO, this::onIconHidden);
+	}
+
+	protected void onIconHidden() {
+		iconTransitionState = IconTransitionState.STATIC;
+		currentShowAnimIcon = null;
+		if (iconTransitionTarget != null) {
+			if (iconTransitionTarget.getPaint() == null) {
+				clearIconColorTimeline();
+				onPaintAnimationSequenceChanged();
+			}
+			animateFromStaticToIcon(iconTransitionTarget);
+			return;
+		}
+
+		clearIconColorTimeline();
+		onPaintAnimationSequenceChanged();
+		animateFromIconToStatic();
+	}
+
+	/**
+	 * Moves the bar from the icon position back to the progress, or into the indeterminate animation.
+	 */
+	protected void animateFromIconToStatic() {
+		if (control.isIndeterminate()) {
+			animateToProgressAndAngle(
+					-progressRotationPane.getRotate(), 180, LoadingSpinnerAnimationModel.deflateLength, Duration.ZERO, this::startIndeterminateAnimation
+			);
+		} else {
+			double barLength = 360d * Math.min(1, Math.abs(control.getProgress()));
+			animateToProgressAndAngle(
+					-progressRotationPane.getRotate(), 180, barLength, Duration.ZERO, null
+			);
+		}
+	}
+
+	protected void onIndeterminateChanged() {
+		if (currentShowAnimIcon == null) {
+			if (control.isIndeterminate()) {
+				startIndeterminateAnimation();
+			} else {
+				clearIndeterminateTimeline();
+			}
+		}
+	}
+
+	/**
+	 * Applies the change right away, or once the running {@link LoadingSpinner#update(java.util.function.Consumer) update} ends.
+	 */
+	protected void deferDuringUpdate(int pendingUpdate) {
+		pendingUpdates |= pendingUpdate;
+		if (!control.isUpdating()) {
+			commitPendingUpdates();
+		}
+	}
+
+	/**
+	 * Applies all changes made during an {@link LoadingSpinner#update(java.util.function.Consumer) update} at once,
+	 * starting only the animations of the final state.
+	 */
+	protected void commitPendingUpdates() {
+		int pending = pendingUpdates;
+		pendingUpdates = 0;
+		if (pending == 0) {
+			return;
+		}
+
+		// an icon that is about to be shown replaces the indeterminate animation and its paint override replaces the paint cycle
+		LoadingSpinnerAnimatedIcon takeOverIcon = (pending & pendingUpdate_icon) != 0 && iconTransitionState == IconTransitionState.STATIC
+				? control.getAnimatedIcon(control.getDisplayedIcon())
+				: null;
+
+		if ((pending & pendingUpdate_progress) != 0) {
+			updateProgress(control.getProgress());
+		}
+		if ((pending & pendingUpdate_paint) != 0 && (takeOverIcon == null || takeOverIcon.getPaint() == null)) {
+			onPaintAnimationSequenceChanged();
+		}
+		if ((pending & pendingUpdate_indeterminate) != 0 && takeOverIcon == null) {
+			onIndeterminateChanged();
+		}
+		if ((pending & pendingUpdate_icon) != 0) {
+			checkForIconChange();
+		}
+	}
+
+	protected void checkForIconChange() {
+		// verify that the iconKey still targets the same Icon
+		// otherwise animate transition to icon
+		iconTransitionTarget = control.getAnimatedIcon(control.getDisplayedIcon());
+		switch (iconTransitionState) {
+			case STATIC -> {
+				if (iconTransitionTarget != null) {
+					animateFromStaticToIcon(iconTransitionTarget);
+				}
+			}
+			case SHOWING -> {
+				if (iconTransitionTarget != currentShowAnimIcon) {
+					animateIconOut();
+				}
+			}
+			case HIDING -> {
+				if (iconTransitionTarget == currentShowAnimIcon) {
+					// flapped back before the icon disappeared, fade it in again from where it is
+					iconTransitionState = IconTransitionState.SHOWING;
+					animateCurrentIcon(true, Duration.ZERO, null);
+				}
+				// otherwise the target is picked up once the fade out finishes
+			}
+		}
+	}
+
+	protected void attachListeners(LoadingSpinner control) {
+		registerChangeListener(LoadingSpinnerAnimationEngine.enabledProperty(), observable -> onAnimationEngineToggled(LoadingSpinnerAnimationEngine.isEnabled()));
+		observedClock = control.getClock();
+		observedIndeterminateStyle = control.getIndeterminateStyle();
+		observedProfile = control.getProfile();
+		observedFreezeWhenIdle = control.isFreezeWhenIdle();
+		observedMaxFps = control.getMaxFps();
+		observedAnimationPriority = control.getAnimationPriority();
+		visibilityTracker = new LoadingSpinnerVisibilityTracker(control, this::checkControlVisibility);
+		checkControlVisibility();
+
+		attachListenerAndExecute(control.progressProperty(), () -> deferDuringUpdate(pendingUpdate_progress));
+		attachListenerAndExecute(control.progressTextProperty(), this::animateProgressText);
+
+		attachListenerAndExecute(control.indeterminateProperty(), () -> deferDuringUpdate(pendingUpdate_indeterminate));
+		registerChangeListener(LoadingSpinner.defaultMaxFpsProperty(), observable -> onMaxFpsChanged());
+		registerInvalidationListener(control.layoutBoundsProperty(), observable -> LoadingSpinnerAnimationScheduler.onRankingInputChanged());
+		observedTier = LoadingSpinnerQualityController.getTier();
+		registerChangeListener(LoadingSpinnerQualityController.tierProperty(), observable -> {
+			LoadingSpinnerQualityTier oldTier = observedTier;
+			observedTier = LoadingSpinnerQualityController.getTier();
+			onMaxFpsChanged();
+			if (oldTier.compareTo(LoadingSpinnerQualityTier.ROTATE_ONLY) >= 0 || observedTier.compareTo(LoadingSpinnerQualityTier.ROTATE_ONLY) >= 0) {
+				restartIndeterminateAnimation();
+			}
+		});
+		attachListenerAndExecute(control.startAngleProperty(), newValue -> progressRotationPane.setRotate(newValue.doubleValue()));
+		attachListenerAndExecute(control.radiusProperty(), control::requestLayout);
+		attachListenerAndExecute(control.thicknessProperty(), control::requestLayout);
+		attachListenerAndExecute(control.paintSequenceRevisionProperty(), () -> deferDuringUpdate(pendingUpdate_paint));
+		attachListenerAndExecute(control.iconSequenceRevisionProperty(), () -> deferDuringUpdate(pendingUpdate_icon));
+		attachListenerAndExecute(control.displayedIconProperty(), () -> deferDuringUpdate(pendingUpdate_icon));
+		registerChangeListener(control.settingsRevisionProperty(), observable -> onSettingsChanged());
+
+		// changes after the animations have been updated, so that started animations are seen as running
+		attachIdleFreezeListener(
+				control.progressProperty(), control.progressTextProperty(), control.indeterminateProperty(),
+				control.startAngleProperty(), control.radiusProperty(), control.thicknessProperty(),
+				control.paintSequenceRevisionProperty(), control.displayedIconProperty()
+		);
+		requestIdleFreeze();
+	}
+
+	/**
+	 * <p>Applies the settings that changed since the last call, and the changes deferred by an {@link LoadingSpinner#update(java.util.function.Consumer) update} that ended.</p>
+	 * <p>The settings are observed through one revision, so that spinners which do not set them never create their properties.</p>
+	 */
+	protected void onSettingsChanged() {
+		LoadingSpinnerClock oldClock = observedClock;
+		observedClock = control.getClock();
+		if (oldClock != observedClock) {
+			onClockChanged(oldClock, observedClock);
+		}
+
+		double oldMaxFps = observedMaxFps;
+		observedMaxFps = control.getMaxFps();
+		if (Double.compare(oldMaxFps, observedMaxFps) != 0) {
+			onMaxFpsChanged();
+		}
+
+		double oldAnimationPriority = observedAnimationPriority;
+		observedAnimationPriority = control.getAnimationPriority();
+		if (Double.compare(oldAnimationPriority, observedAnimationPriority) != 0) {
+			LoadingSpinnerAnimationScheduler.onRankingInputChanged();
+		}
+
+		LoadingSpinnerIndeterminateStyle oldIndeterminateStyle = observedIndeterminateStyle;
+		observedIndeterminateStyle = control.getIndeterminateStyle();
+		if (oldIndeterminateStyle != observedIndeterminateStyle) {
+			restartIndeterminateAnimation();
+		}
+
+		LoadingSpinnerProfile oldProfile = observedProfile;
+		observedProfile = control.getProfile();
+		boolean profileChanged = oldProfile != observedProfile;
+		if (profileChanged) {
+			control.requestLayout();
+			deferDuringUpdate(pendingUpdate_paint);
+			deferDuringUpdate(pendingUpdate_icon);
+		}
+
+		if (!control.isUpdating()) {
+			commitPendingUpdates();
+		}
+
+		boolean oldFreezeWhenIdle = observedFreezeWhenIdle;
+		observedFreezeWhenIdle = control.isFreezeWhenIdle();
+		if (profileChanged || oldFreezeWhenIdle != observedFreezeWhenIdle) {
+			requestIdleFreeze();
+		}
+	}
+
+	protected double getArcSize(Supplier<Double> fallbackSupplier) {
+		return control.getRadius() == Region.USE_COMPUTED_SIZE
+				? fallbackSupplier.get()
+				: (control.getRadius() + control.getThickness()) * 2;
+	}
+
+	@Override
+	protected double computeMaxWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
+		return getArcSize(() -> Double.MAX_VALUE);
+	}
+
+	@Override
+	protected double computeMaxHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
+		return getArcSize(() -> Double.MAX_VALUE);
+	}
+
+	@Override
+	protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
+		return getArcSize(containerPane::getPrefWidth);
+	}
+
+	@Override
+	protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
+		return getArcSize(containerPane::getPrefHeight);
+	}
+
+	@Override
+	protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+		double arcSize = getArcSize(() -> Math.min(contentWidth, contentHeight));
+		containerPane.resize(Math.max(arcSize, contentWidth), Math.max(arcSize, contentHeight));
+
+		double arcThickness = control.getThickness();
+		double arcRadius = (arcSize / 2) - arcThickness;
+		progressBar.setRadiusX(arcRadius);
+		progressBar.setRadiusY(arcRadius);
+		progressBar.setStrokeWidth(arcThickness);
+		track.setRadiusX(arcRadius);
+		track.setRadiusY(arcRadius);
+		track.setStrokeWidth(arcThickness);
+
+		progressRotationPane.setPrefWidth(arcSize);
+		progressRotationPane.setPrefHeight(arcSize);
+
+		Bounds layoutBounds = progressBar.getLayoutBounds();
+		progressBar.relocate(
+				((contentWidth - layoutBounds.getWidth()) / 2) + layoutBounds.getCenterX(),
+				((contentHeight - layoutBounds.getHeight()) / 2) + layoutBounds.getCenterY()
+		);
+		indeterminateRotate.setPivotX(progressBar.getLayoutX() + progressBar.getCenterX());
+		indeterminateRotate.setPivotY(progressBar.getLayoutY() + progressBar.getCenterY());
+
+		if (currentShowAnimIcon != null) {
+			double referenceRadius = currentShowAnimIcon.getReferenceRadius();
+			referenceRadius = referenceRadius <= 0 ? arcRadius : referenceRadius; // if referenceRadius <= 0, then don't apply scaling
+			double radiusScale = arcRadius / referenceRadius;
+
+			iconPath.setStrokeWidth(arcThickness / radiusScale);
+			Bounds iconBounds = iconPath.getLayoutBounds();
+			iconPath.relocate(
+					((contentWidth - iconBounds.getWidth()) / 2) + (currentShowAnimIcon.getOffsetX() * radiusScale),
+					((contentHeight - iconBounds.getHeight()) / 2) + (currentShowAnimIcon.getOffsetY() * radiusScale)
+			);
+			iconPath.setScaleX(radiusScale);
+			iconPath.setScaleY(radiusScale);
+		}
+
+		if (progressText.isVisible()) {
+			// assume font is generally twice as tall as it is wide
+			// also assume 3 characters displayed on average -> 1.5 times wider than font-height
+			// also assume 1/4 character width left/right of extra space for readability -> 1.75 times wider
+			// also assume that 16px equal 12 point font size
+			double innerCircleRadius = arcRadius - arcThickness;
+			double targetFontHeight = (innerCircleRadius * 2 * 12 / 16) / 1.75;
+			progressText.setFont(Font.font(progressText.getFont().getFamily(), Math.max(1, targetFontHeight)));
+		}
+
+		super.layoutChildren(contentX, contentY, contentWidth, contentHeight);
+	}
+
+	/**
+	 * Removes all listeners and stops all animations, so that neither the control nor the animation timer keep this skin reachable.
+	 */
+	@Override
+	public void dispose() {
+		// static properties outlive every skin, do not rely on the weak listeners being collected eventually
+		unregisterChangeListeners(LoadingSpinnerAnimationEngine.enabledProperty());
+		unregisterChangeListeners(LoadingSpinner.defaultMaxFpsProperty());
+		unregisterChangeListeners(LoadingSpinnerQualityController.tierProperty());
+		super.dispose();
+		// stopping the animations below must not thaw or re-register the disposed skin
+		unobserveAnimation(paintTimeline);
+		unobserveAnimation(indeterminateTimeline);
+		unobserveAnimation(progressTextFadeAnimation);
+		unobserveAnimation(iconAngleTimeline);
+		unobserveAnimation(iconColorTimeline);
+		unobserveAnimation(iconPathStrokeTimeline);
+		clearPaintTimeline();
+		clearIndeterminateTimeline();
+		indeterminateTimeline = null;
+		clearProgressTextFadeAnimation();
+		clearIconAnimationTimeline();
+		clearIconColorTimeline();
+		clearIconPathStrokeTimeline();
+		progressDelayPending = false;
+		if (frozen) {
+			frozen = false;
+			containerPane.setCache(false);
+		}
+		freezePending = false;
+		visibilityTracker.dispose();
+		if (controlVisible) {
+			controlVisible = false;
+			LoadingSpinnerAnimationScheduler.onHidden(this);
+		}
+		if (engineRegistered) {
+			engineRegistered = false;
+			LoadingSpinnerAnimationEngine.unregister(enginePulseCallback);
+		}
+	}
+}
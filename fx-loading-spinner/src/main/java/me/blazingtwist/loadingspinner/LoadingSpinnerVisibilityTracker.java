@@ -0,0 +1,193 @@
+package me.blazingtwist.loadingspinner;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * <p>Tracks whether a node can actually be seen, which requires:</p>
+ * <ul>
+ *     <li>the node and all of its ancestors are visible (this also covers the content of unselected tabs)</li>
+ *     <li>the node is part of a scene, whose window is showing and not iconified</li>
+ *     <li>the node intersects the viewport of every {@link ScrollPane} it is placed in</li>
+ * </ul>
+ * <p>Listeners are attached to the ancestors of the node and are moved when the node is re-parented.
+ * Inside a ScrollPane, the node's own bounds and transform are observed as well, so that moving or resizing it within the content re-checks the clipping.
+ * The callback is invoked whenever {@link #isShown()} changes.</p>
+ */
+public class LoadingSpinnerVisibilityTracker {
+
+	private final Node node;
+	private final Runnable onShownChanged;
+
+	private final InvalidationListener structureListener = observable -> rebuild();
+	private final InvalidationListener stateListener = observable -> update();
+
+	private final List<Node> trackedNodes = new ArrayList<>();
+	private final List<ScrollPane> trackedScrollPanes = new ArrayList<>();
+
+	/**
+	 * Child of each tracked ScrollPane that contains the node, which is the viewport (excluding the scroll bars) for the default skin.
+	 */
+	private final List<Node> trackedViewports = new ArrayList<>();
+	private boolean trackingNodeBounds = false;
+	private Scene trackedScene;
+	private Window trackedWindow;
+
+	private boolean shown = false;
+	private boolean disposed = false;
+
+	/**
+	 * @param node           node to track
+	 * @param onShownChanged invoked after {@link #isShown()} changed
+	 */
+	public LoadingSpinnerVisibilityTracker(Node node, Runnable onShownChanged) {
+		this.node = node;
+		this.onShownChanged = onShownChanged;
+		node.sceneProperty().addListener(structureListener);
+		rebuild();
+	}
+
+	public boolean isShown() {
+		return shown;
+	}
+
+	/**
+	 * Removes all listeners, {@link #isShown()} returns false afterwards.
+	 */
+	public void dispose() {
+		disposed = true;
+		node.sceneProperty().removeListener(structureListener);
+		detach();
+		shown = false;
+	}
+
+	private void detach() {
+		for (Node trackedNode : trackedNodes) {
+			trackedNode.visibleProperty().removeListener(stateListener);
+			trackedNode.parentProperty().removeListener(structureListener);
+		}
+		trackedNodes.clear();
+		for (ScrollPane scrollPane : trackedScrollPanes) {
+			scrollPane.hvalueProperty().removeListener(stateListener);
+			scrollPane.vvalueProperty().removeListener(stateListener);
+			scrollPane.viewportBoundsProperty().removeListener(stateListener);
+		}
+		trackedScrollPanes.clear();
+		trackedViewports.clear();
+		if (trackingNodeBounds) {
+			node.boundsInParentProperty().removeListener(stateListener);
+			node.localToSceneTransformProperty().removeListener(stateListener);
+			trackingNodeBounds = false;
+		}
+		if (trackedScene != null) {
+			trackedScene.windowProperty().removeListener(structureListener);
+			trackedScene = null;
+		}
+		if (trackedWindow != null) {
+			trackedWindow.showingProperty().removeListener(stateListener);
+			if (trackedWindow instanceof Stage stage) {
+				stage.iconifiedProperty().removeListener(stateListener);
+			}
+			trackedWindow = null;
+		}
+	}
+
+	private void rebuild() {
+		if (disposed) {
+			return;
+		}
+		detach();
+		Node previous = null;
+		for (Node current = node; current != null; current = current.getParent()) {
+			current.visibleProperty().addListener(stateListener);
+			current.parentProperty().addListener(structureListener);
+			trackedNodes.add(current);
+			if (current != node && current instanceof ScrollPane scrollPane) {
+				scrollPane.hvalueProperty().addListener(stateListener);
+				scrollPane.vvalueProperty().addListener(stateListener);
+				scrollPane.viewportBoundsProperty().addListener(stateListener);
+				trackedScrollPanes.add(scrollPane);
+				trackedViewports.add(previous);
+			}
+			previous = current;
+		}
+		if (!trackedScrollPanes.isEmpty()) {
+			node.boundsInParentProperty().addListener(stateListener);
+			node.localToSceneTransformProperty().addListener(stateListener);
+			trackingNodeBounds = true;
+		}
+
+		trackedScene = node.getScene();
+		if (trackedScene != null) {
+			trackedScene.windowProperty().addListener(structureListener);
+			trackedWindow = trackedScene.getWindow();
+			if (trackedWindow != null) {
+				trackedWindow.showingProperty().addListener(stateListener);
+				if (trackedWindow instanceof Stage stage) {
+					stage.iconifiedProperty().addListener(stateListener);
+				}
+			}
+		}
+		update();
+	}
+
+	private void update() {
+		if (disposed) {
+			return;
+		}
+		// every observed property is read, so that invalidation listeners fire again on the next change
+		boolean isShown = trackedScene != null && trackedWindow != null;
+		for (Node trackedNode : trackedNodes) {
+			isShown &= trackedNode.isVisible();
+		}
+		if (isShown) {
+			isShown = trackedNodes.get(trackedNodes.size() - 1) == trackedScene.getRoot();
+		}
+		if (trackedWindow != null) {
+			isShown &= trackedWindow.isShowing();
+			if (trackedWindow instanceof Stage stage) {
+				isShown &= !stage.isIconified();
+			}
+		}
+		if (trackingNodeBounds) {
+			node.getBoundsInParent();
+			node.getLocalToSceneTransform();
+		}
+		Bounds nodeBounds = isShown && trackingNodeBounds ? node.localToScene(node.getLayoutBounds()) : null;
+		for (int i = 0; i < trackedScrollPanes.size(); i++) {
+			ScrollPane scrollPane = trackedScrollPanes.get(i);
+			scrollPane.getHvalue();
+			scrollPane.getVvalue();
+			Bounds viewportBounds = scrollPane.getViewportBounds();
+			if (nodeBounds != null) {
+				isShown &= nodeBounds.intersects(getViewportSceneBounds(scrollPane, trackedViewports.get(i), viewportBounds));
+			}
+		}
+
+		if (isShown != shown) {
+			shown = isShown;
+			onShownChanged.run();
+		}
+	}
+
+	/**
+	 * @return the scene bounds of the area of the ScrollPane that shows its content
+	 */
+	private static Bounds getViewportSceneBounds(ScrollPane scrollPane, Node viewport, Bounds viewportBounds) {
+		if (viewport != null && viewport.getStyleClass().contains("viewport")) {
+			return viewport.localToScene(viewport.getLayoutBounds());
+		}
+		// no default skin, assume the viewport is placed at the insets of the ScrollPane
+		Insets insets = scrollPane.getInsets();
+		return scrollPane.localToScene(new BoundingBox(insets.getLeft(), insets.getTop(), viewportBounds.getWidth(), viewportBounds.getHeight()));
+	}
+}
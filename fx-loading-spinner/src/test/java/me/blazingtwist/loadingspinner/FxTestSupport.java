@@ -0,0 +1,116 @@
+package me.blazingtwist.loadingspinner;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit once per test run (headless, see the surefire configuration) and runs code on its thread.
+ */
+final class FxTestSupport {
+
+	private static boolean started = false;
+
+	private FxTestSupport() {
+	}
+
+	static synchronized void startToolkit() throws InterruptedException {
+		if (started) {
+			return;
+		}
+		CountDownLatch startLatch = new CountDownLatch(1);
+		try {
+			Platform.startup(startLatch::countDown);
+		} catch (IllegalStateException alreadyStarted) {
+			startLatch.countDown();
+		}
+		Platform.setImplicitExit(false);
+		if (!startLatch.await(10, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("JavaFX toolkit did not start");
+		}
+		started = true;
+	}
+
+	/**
+	 * Runs the action on the JavaFX Application Thread and waits for its result.
+	 */
+	static <T> T callOnFxThread(Callable<T> action) throws Exception {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Platform.runLater(() -> {
+			try {
+				result.complete(action.call());
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		});
+		try {
+			return result.get(60, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("JavaFX Application Thread did not respond", e);
+		}
+	}
+
+	static void runOnFxThread(Runnable action) throws Exception {
+		callOnFxThread(() -> {
+			action.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Runs the action in the next batch of the {@link LoadingSpinnerPulseDispatcher}, after every task dispatched before this call,
+	 * and waits for its result.
+	 */
+	static <T> T callOnNextDispatch(Callable<T> action) throws Exception {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		LoadingSpinnerPulseDispatcher.dispatch(() -> {
+			try {
+				result.complete(action.call());
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		});
+		try {
+			return result.get(60, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("pulse dispatcher did not run the task", e);
+		}
+	}
+
+	/**
+	 * @return true once the referent has been collected, false if it is still reachable after several garbage collections
+	 */
+	static boolean awaitCollected(WeakReference<?> reference) throws InterruptedException {
+		for (int i = 0; i < 10 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return reference.get() == null;
+	}
+
+	/**
+	 * Waits until all previously queued runnables and at least one pulse have been processed.
+	 */
+	static void waitForPulses() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			runOnFxThread(() -> {
+			});
+			Thread.sleep(20);
+		}
+	}
+}
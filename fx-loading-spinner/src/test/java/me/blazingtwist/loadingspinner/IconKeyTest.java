@@ -0,0 +1,32 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class IconKeyTest {
+
+	@Test
+	void nullKeyTargetsNoIcon() {
+		assertNull(IconKey.getByKey(null));
+	}
+
+	@Test
+	void keysAreInterned() {
+		assertSame(IconKey.getByKey(LoadingSpinner.trackSuccessIconKey), IconKey.getByKey(LoadingSpinner.trackSuccessIconKey));
+		assertSame(IconKey.getByIndex(3), IconKey.getByIndex(3));
+	}
+
+	@Test
+	void generatedKeysAreEqualWithoutInterning() {
+		for (int i = 0; i < 1000; i++) {
+			String key = "generated-" + i;
+			IconKey iconKey = IconKey.getByKey(key);
+			assertEquals(iconKey, IconKey.getByKey(key));
+			assertEquals(iconKey.hashCode(), IconKey.getByKey(key).hashCode());
+			assertEquals(key, iconKey.key);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerAnimationModelTest {
+
+	private static final int warmUpFrames = 200_000;
+	private static final int measuredFrames = 100_000;
+	private static final double frameSeconds = 1d / 60;
+
+	/**
+	 * Sink for evaluated values, so that the evaluation is not optimized away.
+	 */
+	private static double sink;
+
+	@Test
+	void indeterminateFramesDoNotAllocate() {
+		LoadingSpinnerAnimationModel model = new LoadingSpinnerAnimationModel();
+		evaluateIndeterminateFrames(model, warmUpFrames);
+
+		long allocatedBytes = measureAllocatedBytes(() -> evaluateIndeterminateFrames(model, measuredFrames));
+		assertEquals(0, allocatedBytes, "bytes allocated by " + measuredFrames + " indeterminate frames");
+	}
+
+	@Test
+	void rotateOnlyFramesDoNotAllocate() {
+		LoadingSpinnerAnimationModel model = new LoadingSpinnerAnimationModel();
+		evaluateRotateOnlyFrames(model, warmUpFrames);
+
+		long allocatedBytes = measureAllocatedBytes(() -> evaluateRotateOnlyFrames(model, measuredFrames));
+		assertEquals(0, allocatedBytes, "bytes allocated by " + measuredFrames + " rotate-only frames");
+	}
+
+	@Test
+	void recomputingKeyFramesDoesNotAllocate() {
+		LoadingSpinnerAnimationModel model = new LoadingSpinnerAnimationModel();
+		changeProgress(model, warmUpFrames);
+
+		long allocatedBytes = measureAllocatedBytes(() -> changeProgress(model, measuredFrames));
+		assertEquals(0, allocatedBytes, "bytes allocated by " + measuredFrames + " progress changes");
+	}
+
+	@Test
+	void keyFramesAreOnlyRecomputedOnChange() {
+		LoadingSpinnerAnimationModel model = new LoadingSpinnerAnimationModel();
+		assertTrue(model.setProgress(0.5));
+		double seconds = model.getIndeterminateSeconds();
+		assertFalse(model.setProgress(0.5));
+		assertEquals(seconds, model.getIndeterminateSeconds());
+		assertTrue(model.setProgress(-0.5), "direction change");
+		assertEquals(1, model.getRotationFactor());
+	}
+
+	@Test
+	void indeterminateAnimationLoopsWithoutJump() {
+		LoadingSpinnerAnimationModel model = new LoadingSpinnerAnimationModel();
+		double totalSeconds = model.getIndeterminateSeconds();
+		assertEquals(0, Math.floorMod(Math.round(model.getIndeterminateKeyAngle(LoadingSpinnerAnimationModel.indeterminateKeyFrameCount - 1)), 360));
+		assertEquals(model.getIndeterminateLength(0), model.getIndeterminateLength(totalSeconds), 1e-9);
+	}
+
+	private static void evaluateIndeterminateFrames(LoadingSpinnerAnimationModel model, int frames) {
+		double value = 0;
+		for (int frame = 0; frame < frames; frame++) {
+			double seconds = frame * frameSeconds;
+			value += model.getIndeterminateStartAngle(seconds) + model.getIndeterminateLength(seconds);
+		}
+		sink += value;
+	}
+
+	private static void evaluateRotateOnlyFrames(LoadingSpinnerAnimationModel model, int frames) {
+		double value = 0;
+		for (int frame = 0; frame < frames; frame++) {
+			value += model.getRotateOnlyAngle(frame * frameSeconds) + model.getRotateOnlyLength();
+		}
+		sink += value;
+	}
+
+	private static void changeProgress(LoadingSpinnerAnimationModel model, int changes) {
+		for (int i = 0; i < changes; i++) {
+			model.setProgress((i % 100) / 100d);
+		}
+		sink += model.getIndeterminateSeconds();
+	}
+
+	/**
+	 * @return bytes allocated by the current thread while running the action, corrected by the cost of measuring itself
+	 */
+	private static long measureAllocatedBytes(Runnable action) {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		Runnable noAction = () -> {
+		};
+		// first calls initialize the bean, they allocate
+		measure(threadBean, threadId, noAction);
+		long overhead = measure(threadBean, threadId, noAction);
+		measure(threadBean, threadId, action);
+		return measure(threadBean, threadId, action) - overhead;
+	}
+
+	private static long measure(com.sun.management.ThreadMXBean threadBean, long threadId, Runnable action) {
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		action.run();
+		return threadBean.getThreadAllocatedBytes(threadId) - before;
+	}
+}
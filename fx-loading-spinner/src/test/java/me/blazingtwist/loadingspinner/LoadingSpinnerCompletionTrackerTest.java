@@ -0,0 +1,98 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerCompletionTrackerTest {
+
+	private static final int threadCount = 4;
+	private static final int futuresPerThread = 20_000;
+
+	@BeforeAll
+	static void startToolkit() throws Exception {
+		FxTestSupport.startToolkit();
+	}
+
+	@Test
+	void concurrentCompletionsShowTheSuccessIconOnce() throws Exception {
+		assertConcurrentCompletions(false);
+	}
+
+	@Test
+	void concurrentCompletionsWithOneFailureShowTheFailureIconOnce() throws Exception {
+		assertConcurrentCompletions(true);
+	}
+
+	private static void assertConcurrentCompletions(boolean failOne) throws Exception {
+		List<CompletableFuture<Object>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount * futuresPerThread; i++) {
+			futures.add(new CompletableFuture<>());
+		}
+		List<Long> progressPulses = new ArrayList<>();
+		List<IconKey> displayedIcons = new ArrayList<>();
+		long[] pulseCount = {0};
+		Runnable countPulse = () -> pulseCount[0]++;
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.register(countPulse);
+			LoadingSpinner tracking = new LoadingSpinner();
+			tracking.trackAll(futures);
+			tracking.progressProperty().addListener((observable, oldValue, newValue) -> progressPulses.add(pulseCount[0]));
+			tracking.displayedIconProperty().addListener((observable, oldValue, newValue) -> displayedIcons.add(newValue));
+			return tracking;
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> completers = new ArrayList<>();
+			for (int thread = 0; thread < threadCount; thread++) {
+				List<CompletableFuture<Object>> ownFutures = futures.subList(thread * futuresPerThread, (thread + 1) * futuresPerThread);
+				boolean failFirst = failOne && thread == threadCount - 1;
+				completers.add(executor.submit(() -> {
+					start.await();
+					for (CompletableFuture<Object> future : ownFutures) {
+						if (failFirst && future == ownFutures.get(0)) {
+							future.completeExceptionally(new IllegalStateException("failed task"));
+						} else {
+							future.complete(null);
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> completer : completers) {
+				completer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// the last completion queued the tracker before this task was dispatched
+		FxTestSupport.callOnNextDispatch(() -> {
+			assertEquals(1, spinner.getProgress());
+			assertFalse(spinner.isIndeterminate());
+			String expectedKey = failOne ? LoadingSpinner.trackFailureIconKey : LoadingSpinner.trackSuccessIconKey;
+			assertEquals(List.of(IconKey.getByKey(expectedKey)), displayedIcons, "icon displayed once, after all completions");
+			return null;
+		});
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.unregister(countPulse);
+			assertTrue(progressPulses.size() > 0);
+			assertEquals(progressPulses.size(), new HashSet<>(progressPulses).size(), "progress updated more than once in a pulse");
+		});
+	}
+}
@@ -0,0 +1,86 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerExecutorMonitorTest {
+
+	@Test
+	void samplingDoesNotWaitForTheMainLock() throws Exception {
+		CountDownLatch terminating = new CountDownLatch(1);
+		CountDownLatch releaseTermination = new CountDownLatch(1);
+		// the pool calls terminated() while holding its main lock
+		LoadingSpinnerMonitoredExecutor executor = new LoadingSpinnerMonitoredExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+			@Override
+			protected void terminated() {
+				terminating.countDown();
+				try {
+					releaseTermination.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		executor.submit(() -> {
+		}).get(10, TimeUnit.SECONDS);
+
+		Thread shutdown = new Thread(executor::shutdown);
+		shutdown.start();
+		try {
+			assertTrue(terminating.await(10, TimeUnit.SECONDS));
+
+			CompletableFuture<Integer> lockedGetter = CompletableFuture.supplyAsync(executor::getActiveCount);
+			Thread.sleep(100);
+			assertFalse(lockedGetter.isDone(), "main lock is held, the getter of the plain pool waits for it");
+
+			LoadingSpinnerExecutorMonitor.Sample sample = CompletableFuture.supplyAsync(() -> LoadingSpinnerExecutorMonitor.sample(executor))
+					.get(1, TimeUnit.SECONDS);
+			assertEquals(0, sample.activeCount());
+			assertEquals(1, sample.capacity());
+			assertEquals(0, sample.queuedCount());
+			assertEquals(1, sample.completedCount());
+		} finally {
+			releaseTermination.countDown();
+			shutdown.join(10_000);
+		}
+	}
+
+	@Test
+	void countsRunningTasks() throws Exception {
+		LoadingSpinnerMonitoredExecutor executor = new LoadingSpinnerMonitoredExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4));
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 3; i++) {
+				executor.execute(() -> {
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+
+			LoadingSpinnerExecutorMonitor.Sample sample = LoadingSpinnerExecutorMonitor.sample(executor);
+			assertEquals(2, sample.activeCount());
+			assertEquals(1, sample.getUtilization());
+			assertEquals(-1, sample.queuedCount(), "an array queue is only counted while holding its lock");
+		} finally {
+			release.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		assertEquals(0, executor.getRunningCount());
+		assertEquals(3, executor.getFinishedCount());
+	}
+}
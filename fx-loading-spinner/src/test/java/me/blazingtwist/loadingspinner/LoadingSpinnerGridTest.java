@@ -0,0 +1,68 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerGridTest {
+
+	private static Stage stage;
+	private static StackPane root;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> stage.hide());
+	}
+
+	@Test
+	void lineCapRedrawsAllCells() throws Exception {
+		LoadingSpinnerGrid grid = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinnerGrid shown = new LoadingSpinnerGrid(2);
+			shown.setProgress(0, 0.5);
+			shown.setProgress(1, 0.25);
+			root.getChildren().setAll(shown);
+			return shown;
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerGridSkin skin = (LoadingSpinnerGridSkin) grid.getSkin();
+			assertEquals(StrokeLineCap.SQUARE, grid.getLineCap());
+			assertEquals(StrokeLineCap.SQUARE, skin.canvas.getGraphicsContext2D().getLineCap());
+			assertFalse(skin.fullRedrawRequested);
+
+			grid.setLineCap(StrokeLineCap.ROUND);
+			assertTrue(skin.fullRedrawRequested);
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerGridSkin skin = (LoadingSpinnerGridSkin) grid.getSkin();
+			assertFalse(skin.fullRedrawRequested);
+			assertEquals(StrokeLineCap.ROUND, skin.canvas.getGraphicsContext2D().getLineCap(), "bars are drawn with the grid's line cap");
+
+			grid.setLineCap(null);
+			assertEquals(StrokeLineCap.SQUARE, grid.getLineCap());
+			root.getChildren().clear();
+		});
+	}
+}
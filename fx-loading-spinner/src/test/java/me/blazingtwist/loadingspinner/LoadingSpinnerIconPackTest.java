@@ -0,0 +1,116 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerIconPackTest {
+
+	private static final LoadingSpinnerAnimatedIcon gradientIcon = new LoadingSpinnerAnimatedIcon("gradient", "M 0 0 L 10 10", null, 5d,
+			new LinearGradient(0, 0, 1, 0, true, CycleMethod.NO_CYCLE, new Stop(0, Color.RED), new Stop(1, Color.BLUE)), 10d, 90d, 1d, 2d);
+
+	@Test
+	void writtenIconsAreReadBack() throws IOException {
+		List<LoadingSpinnerAnimatedIcon> icons = List.of(LoadingSpinnerAnimatedIcon.redCross, LoadingSpinnerAnimatedIcon.greenCheckMark, gradientIcon);
+		LoadingSpinnerIconPack pack = LoadingSpinnerIconPack.read(new ByteArrayInputStream(write(icons)));
+
+		assertEquals(3, pack.getIconCount());
+		assertEquals(List.of("gradient", "greenCheckMark", "redCross"), pack.getKeys());
+		for (LoadingSpinnerAnimatedIcon icon : icons) {
+			assertIconEquals(icon, pack.getIcon(icon.getKey()));
+		}
+		assertNull(pack.getIcon("missing"));
+		assertNull(pack.getIcon(null));
+	}
+
+	@Test
+	void unsupportedPaintsAreRejectedWhenWriting() throws Exception {
+		FxTestSupport.startToolkit();
+		Paint imagePattern = FxTestSupport.callOnFxThread(() -> new ImagePattern(new WritableImage(1, 1)));
+		LoadingSpinnerAnimatedIcon icon = new LoadingSpinnerAnimatedIcon("image", "M 0 0 L 1 1", null, 1d, imagePattern, 0d, 0d, 0d, 0d);
+		assertThrows(IllegalArgumentException.class, () -> write(List.of(icon)));
+	}
+
+	@Test
+	void invalidIconsAreRejectedWhenWriting() {
+		LoadingSpinnerAnimatedIcon noKey = new LoadingSpinnerAnimatedIcon(null, "M 0 0 L 1 1", null, 1d, null, 0d, 0d, 0d, 0d);
+		assertThrows(IllegalArgumentException.class, () -> write(List.of(noKey)));
+		assertThrows(IllegalArgumentException.class, () -> write(List.of(LoadingSpinnerAnimatedIcon.redCross, LoadingSpinnerAnimatedIcon.redCross)));
+	}
+
+	@Test
+	void truncatedPacksAreCorrupt() throws IOException {
+		assertThrows(IOException.class, () -> LoadingSpinnerIconPack.read(new ByteArrayInputStream(new byte[0])));
+
+		byte[] bytes = write(List.of(LoadingSpinnerAnimatedIcon.redCross));
+		byte[] truncated = new byte[bytes.length - 4];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		LoadingSpinnerIconPack truncatedPack = LoadingSpinnerIconPack.read(new ByteArrayInputStream(truncated));
+		UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> truncatedPack.getIcon("redCross"));
+		assertTrue(error.getMessage().contains("corrupt icon pack"), error.getMessage());
+	}
+
+	@Test
+	void invalidOffsetsAndLengthsAreCorrupt() throws IOException {
+		byte[] bytes = write(List.of(LoadingSpinnerAnimatedIcon.redCross));
+		int indexEntry = 12;
+
+		ByteBuffer recordOffset = ByteBuffer.wrap(bytes.clone());
+		recordOffset.putInt(indexEntry + 8, bytes.length - 8);
+		assertCorrupt(recordOffset.array(), "redCross");
+
+		ByteBuffer negativeOffset = ByteBuffer.wrap(bytes.clone());
+		negativeOffset.putInt(indexEntry + 8, -1);
+		assertCorrupt(negativeOffset.array(), "redCross");
+
+		ByteBuffer paintLength = ByteBuffer.wrap(bytes.clone());
+		int record = paintLength.getInt(indexEntry + 8);
+		paintLength.putInt(record + 48, Integer.MAX_VALUE);
+		assertCorrupt(paintLength.array(), "redCross");
+
+		ByteBuffer keyLength = ByteBuffer.wrap(bytes.clone());
+		keyLength.putInt(indexEntry + 4, -5);
+		LoadingSpinnerIconPack keyPack = LoadingSpinnerIconPack.read(new ByteArrayInputStream(keyLength.array()));
+		assertThrows(UncheckedIOException.class, keyPack::getKeys);
+	}
+
+	private static void assertCorrupt(byte[] bytes, String key) throws IOException {
+		LoadingSpinnerIconPack pack = LoadingSpinnerIconPack.read(new ByteArrayInputStream(bytes));
+		UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> pack.getIcon(key));
+		assertTrue(error.getMessage().contains("corrupt icon pack"), error.getMessage());
+	}
+
+	private static byte[] write(List<LoadingSpinnerAnimatedIcon> icons) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		LoadingSpinnerIconPack.write(icons, output);
+		return output.toByteArray();
+	}
+
+	static void assertIconEquals(LoadingSpinnerAnimatedIcon expected, LoadingSpinnerAnimatedIcon actual) {
+		assertEquals(expected.getKey(), actual.getKey());
+		assertEquals(expected.getPath(), actual.getPath());
+		assertEquals(expected.getPathLength(), actual.getPathLength());
+		assertEquals(expected.getReferenceRadius(), actual.getReferenceRadius());
+		assertEquals(expected.getPaint(), actual.getPaint());
+		assertEquals(expected.getGapWidth(), actual.getGapWidth());
+		assertEquals(expected.getGapAngle(), actual.getGapAngle());
+		assertEquals(expected.getOffsetX(), actual.getOffsetX());
+		assertEquals(expected.getOffsetY(), actual.getOffsetY());
+	}
+}
@@ -0,0 +1,160 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerIconRegistryTest {
+
+	private static final double exact = 1e-9;
+
+	/**
+	 * Arcs are approximated by cubic curves of at most 90 degrees, which deviate from the circle by less than 0.03%.
+	 */
+	private static final double arcTolerance = 3e-4;
+
+	@Test
+	void lineLengthIsExact() {
+		LoadingSpinnerIconRegistry.Geometry geometry = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L 3 4 l 3 -4 H 0 Z");
+		assertEquals(5 + 5 + 6, geometry.getLength(), exact);
+	}
+
+	@Test
+	void straightCubicLengthIsExact() {
+		// control points on the line, with uneven speed along the curve
+		assertEquals(3, LoadingSpinnerIconRegistry.getGeometry("M 0 0 C 2.5 0 0.5 0 3 0").getLength(), exact);
+	}
+
+	@Test
+	void quadraticCurveLengthMatchesClosedForm() {
+		// B(t) = (2t, 4t(1 - t)), |B'(t)| = sqrt(4 + (4 - 8t)^2)
+		double root20 = Math.sqrt(20);
+		double expected = ((2 * root20) + (2 * Math.log(4 + root20)) - (2 * Math.log(2))) / 4;
+		assertEquals(expected, LoadingSpinnerIconRegistry.getGeometry("M 0 0 Q 1 2 2 0").getLength(), exact);
+		assertEquals(expected, LoadingSpinnerIconRegistry.getGeometry("M 0 0 q 1 2 2 0").getLength(), exact);
+	}
+
+	@Test
+	void cubicCurveLengthMatchesFineSubdivision() {
+		String path = "M 0 0 C 0 40 60 -20 30 30";
+		assertEquals(polylineLength(0, 0, 0, 40, 60, -20, 30, 30, 1_000_000), LoadingSpinnerIconRegistry.getGeometry(path).getLength(), 1e-7);
+	}
+
+	@Test
+	void fullCircleArcs() {
+		LoadingSpinnerIconRegistry.Geometry circle = LoadingSpinnerIconRegistry.getGeometry("M 10 0 A 10 10 0 1 1 -10 0 A 10 10 0 1 1 10 0");
+		assertEquals(2 * Math.PI * 10, circle.getLength(), 2 * Math.PI * 10 * arcTolerance);
+		assertEquals(-10, circle.getMinX(), 10 * arcTolerance);
+		assertEquals(10, circle.getMaxX(), 10 * arcTolerance);
+		assertEquals(-10, circle.getMinY(), 10 * arcTolerance);
+		assertEquals(10, circle.getMaxY(), 10 * arcTolerance);
+		assertEquals(0, circle.getCenterX(), 10 * arcTolerance);
+		assertEquals(0, circle.getCenterY(), 10 * arcTolerance);
+	}
+
+	@Test
+	void arcsAreSplitIntoQuarterCurves() {
+		List<PathElement> elements = LoadingSpinnerIconRegistry.getGeometry("M 10 0 A 10 10 0 1 1 -10 0 A 10 10 0 1 1 10 0").getPathElements();
+		assertEquals(1 + 4, elements.size());
+		for (PathElement element : elements.subList(1, elements.size())) {
+			assertInstanceOf(CubicCurveTo.class, element);
+		}
+		CubicCurveTo last = (CubicCurveTo) elements.get(elements.size() - 1);
+		assertEquals(10, last.getX(), exact);
+		assertEquals(0, last.getY(), exact);
+	}
+
+	@Test
+	void arcFlagsSelectTheArc() {
+		double radius = 5;
+		// small and large arc through the same end points of a circle with radius 10
+		double chordAngle = 2 * Math.asin(radius / 10);
+		assertEquals(10 * chordAngle, LoadingSpinnerIconRegistry.getGeometry("M 0 0 A 10 10 0 0 1 10 0").getLength(), 10 * chordAngle * arcTolerance);
+		double largeArc = 10 * ((2 * Math.PI) - chordAngle);
+		assertEquals(largeArc, LoadingSpinnerIconRegistry.getGeometry("M 0 0 A 10 10 0 1 1 10 0").getLength(), largeArc * arcTolerance);
+	}
+
+	@Test
+	void tooSmallArcRadiiAreScaledUp() {
+		// radius 1 cannot reach the end point, svg scales it to 5, which is a half circle
+		assertEquals(5 * Math.PI, LoadingSpinnerIconRegistry.getGeometry("M 0 0 A 1 1 0 0 1 10 0").getLength(), 5 * Math.PI * arcTolerance);
+		assertEquals(10, LoadingSpinnerIconRegistry.getGeometry("M 0 0 A 0 5 0 0 1 10 0").getLength(), exact, "zero radius is a line");
+	}
+
+	@Test
+	void packedArcFlagsAreParsed() {
+		double halfCircle = LoadingSpinnerIconRegistry.getGeometry("M 0 0 a 5 5 0 1 0 10 0").getLength();
+		assertEquals(halfCircle, LoadingSpinnerIconRegistry.getGeometry("M0 0a5 5 0 1010 0").getLength(), exact);
+		assertEquals(5 * Math.PI, halfCircle, 5 * Math.PI * arcTolerance);
+	}
+
+	@Test
+	void rotatedEllipticalArcBounds() {
+		// half of an ellipse with radii 20 and 10, rotated by 90 degrees: spans 10 to the right of the chord
+		LoadingSpinnerIconRegistry.Geometry geometry = LoadingSpinnerIconRegistry.getGeometry("M 0 -20 A 20 10 90 0 1 0 20");
+		assertEquals(10, geometry.getMaxX(), 10 * arcTolerance);
+		assertEquals(-20, geometry.getMinY(), exact);
+		assertEquals(20, geometry.getMaxY(), exact);
+	}
+
+	@Test
+	void dashLengthCoversTheLongestSubpath() {
+		LoadingSpinnerIconRegistry.Geometry geometry = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L 10 0 M 0 5 L 3 5");
+		assertEquals(13, geometry.getLength(), exact);
+		assertEquals(10, geometry.getLongestSubpathLength(), exact);
+	}
+
+	@Test
+	void pathElementsAreSharedAndResolved() {
+		LoadingSpinnerIconRegistry.Geometry geometry = LoadingSpinnerIconRegistry.getGeometry("m 1 1 l 1 0 q 1 1 2 0 t 2 0 c 0 1 1 1 1 0 s 1 -1 1 0 z");
+		List<PathElement> elements = geometry.getPathElements();
+		assertSame(elements, geometry.getPathElements());
+		assertSame(geometry, LoadingSpinnerIconRegistry.getGeometry("m 1 1 l 1 0 q 1 1 2 0 t 2 0 c 0 1 1 1 1 0 s 1 -1 1 0 z"));
+
+		assertEquals(7, elements.size());
+		assertInstanceOf(MoveTo.class, elements.get(0));
+		assertInstanceOf(LineTo.class, elements.get(1));
+		assertInstanceOf(QuadCurveTo.class, elements.get(2));
+		QuadCurveTo smoothQuad = assertInstanceOf(QuadCurveTo.class, elements.get(3));
+		assertEquals(5, smoothQuad.getControlX(), exact, "reflected control point");
+		assertEquals(0, smoothQuad.getControlY(), exact);
+		assertEquals(6, smoothQuad.getX(), exact);
+		assertInstanceOf(CubicCurveTo.class, elements.get(4));
+		CubicCurveTo smoothCubic = assertInstanceOf(CubicCurveTo.class, elements.get(5));
+		assertEquals(7, smoothCubic.getControlX1(), exact, "reflected control point");
+		assertEquals(0, smoothCubic.getControlY1(), exact);
+		assertInstanceOf(ClosePath.class, elements.get(6));
+	}
+
+	@Test
+	void malformedPathsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> LoadingSpinnerIconRegistry.getGeometry("M 0 0 L 1"));
+		assertThrows(IllegalArgumentException.class, () -> LoadingSpinnerIconRegistry.getGeometry("M 0 0 X 1 1"));
+	}
+
+	private static double polylineLength(double x0, double y0, double x1, double y1, double x2, double y2, double x3, double y3, int steps) {
+		double length = 0;
+		double previousX = x0;
+		double previousY = y0;
+		for (int step = 1; step <= steps; step++) {
+			double t = (double) step / steps;
+			double u = 1 - t;
+			double x = (u * u * u * x0) + (3 * u * u * t * x1) + (3 * u * t * t * x2) + (t * t * t * x3);
+			double y = (u * u * u * y0) + (3 * u * u * t * y1) + (3 * u * t * t * y2) + (t * t * t * y3);
+			length += Math.hypot(x - previousX, y - previousY);
+			previousX = x;
+			previousY = y;
+		}
+		return length;
+	}
+}
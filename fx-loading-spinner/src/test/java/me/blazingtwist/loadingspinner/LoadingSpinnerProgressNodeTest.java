@@ -0,0 +1,164 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerProgressNodeTest {
+
+	private static final int threadCount = 4;
+	private static final int reportsPerThread = 200_000;
+
+	@BeforeAll
+	static void startToolkit() throws Exception {
+		FxTestSupport.startToolkit();
+	}
+
+	@Test
+	void concurrentWorkIsSampledOncePerPulse() throws Exception {
+		LoadingSpinnerProgressNode root = new LoadingSpinnerProgressNode(0);
+		List<LoadingSpinnerProgressNode> stages = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			stages.add(root.createChild(1, reportsPerThread));
+		}
+		List<LoadingSpinner> spinners = new ArrayList<>();
+		List<List<Long>> sampledPulses = new ArrayList<>();
+		long[] pulseCount = {0};
+		Runnable countPulse = () -> pulseCount[0]++;
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.register(countPulse);
+			// the root and the first stage are shown on their own spinners
+			for (LoadingSpinnerProgressNode node : List.of(root, stages.get(0))) {
+				LoadingSpinner spinner = new LoadingSpinner();
+				List<Long> pulses = new ArrayList<>();
+				spinner.progressProperty().addListener((observable, oldValue, newValue) -> pulses.add(pulseCount[0]));
+				node.attach(spinner);
+				spinners.add(spinner);
+				sampledPulses.add(pulses);
+			}
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> reporters = new ArrayList<>();
+			for (LoadingSpinnerProgressNode stage : stages) {
+				reporters.add(executor.submit(() -> {
+					start.await();
+					for (int report = 0; report < reportsPerThread; report++) {
+						stage.increment();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> reporter : reporters) {
+				reporter.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// the last report requested a sample before this task was dispatched
+		FxTestSupport.callOnNextDispatch(() -> {
+			for (LoadingSpinner spinner : spinners) {
+				assertEquals(1, spinner.getProgress());
+			}
+			return null;
+		});
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.unregister(countPulse);
+			for (List<Long> pulses : sampledPulses) {
+				assertTrue(pulses.size() > 0);
+				assertEquals(pulses.size(), new HashSet<>(pulses).size(), "progress sampled more than once in a pulse");
+			}
+		});
+		assertEquals(threadCount * (long) reportsPerThread, stages.stream().mapToLong(LoadingSpinnerProgressNode::getCompletedWork).sum());
+	}
+
+	@Test
+	void collectedSpinnerDoesNotKeepItsNodeReachable() throws Exception {
+		List<WeakReference<?>> references = attachNewNode();
+		assertTrue(FxTestSupport.awaitCollected(references.get(0)));
+
+		// the next sample drops the entry of the collected spinner
+		new LoadingSpinnerProgressNode(1).increment();
+		FxTestSupport.callOnNextDispatch(() -> null);
+		assertTrue(FxTestSupport.awaitCollected(references.get(1)), "node released with its spinner");
+	}
+
+	/**
+	 * Attaches a new node to a new spinner and reports work from another thread, neither is referenced once this returns.
+	 */
+	private static List<WeakReference<?>> attachNewNode() throws Exception {
+		LoadingSpinnerProgressNode node = new LoadingSpinnerProgressNode(10);
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner created = new LoadingSpinner();
+			node.attach(created);
+			return created;
+		});
+		CompletableFuture.runAsync(() -> node.add(5)).get(10, TimeUnit.SECONDS);
+		FxTestSupport.callOnNextDispatch(() -> {
+			assertEquals(0.5, spinner.getProgress());
+			return null;
+		});
+		return List.of(new WeakReference<>(spinner), new WeakReference<>(node));
+	}
+
+	@Test
+	void completeIsNotUndoneByConcurrentWork() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			for (int round = 0; round < 100; round++) {
+				LoadingSpinnerProgressNode node = new LoadingSpinnerProgressNode(1_000_000);
+				CountDownLatch start = new CountDownLatch(1);
+				CountDownLatch done = new CountDownLatch(threadCount);
+				for (int i = 0; i < threadCount; i++) {
+					executor.execute(() -> {
+						try {
+							start.await();
+							for (int work = 0; work < 1000; work++) {
+								node.add(100);
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							done.countDown();
+						}
+					});
+				}
+				start.countDown();
+				node.complete();
+				assertTrue(done.await(10, TimeUnit.SECONDS));
+
+				assertTrue(node.isCompleted());
+				assertEquals(1, node.getProgress(), "round " + round);
+				assertEquals(1_000_000, node.getCompletedWork(), "round " + round);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void completedNodeIgnoresLaterTotalWork() {
+		LoadingSpinnerProgressNode node = new LoadingSpinnerProgressNode(10);
+		node.add(3);
+		node.complete();
+		node.setTotalWork(20);
+		assertEquals(1, node.getProgress());
+		assertEquals(20, node.getCompletedWork());
+	}
+}
@@ -0,0 +1,133 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerProgressSinkTest {
+
+	private static final int threadCount = 4;
+	private static final int sinksPerThread = 2;
+	private static final int writesPerThread = 200_000;
+
+	@BeforeAll
+	static void startToolkit() throws Exception {
+		FxTestSupport.startToolkit();
+	}
+
+	@Test
+	void concurrentWritesApplyTheLatestProgressOncePerPulse() throws Exception {
+		int spinnerCount = threadCount * sinksPerThread + 1;
+		List<LoadingSpinner> spinners = new ArrayList<>();
+		List<List<Long>> appliedPulses = new ArrayList<>();
+		long[] pulseCount = {0};
+		Runnable countPulse = () -> pulseCount[0]++;
+		List<LoadingSpinnerProgressSink> sinks = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.register(countPulse);
+			List<LoadingSpinnerProgressSink> created = new ArrayList<>();
+			for (int i = 0; i < spinnerCount; i++) {
+				LoadingSpinner spinner = new LoadingSpinner();
+				List<Long> pulses = new ArrayList<>();
+				spinner.progressProperty().addListener((observable, oldValue, newValue) -> pulses.add(pulseCount[0]));
+				spinners.add(spinner);
+				appliedPulses.add(pulses);
+				created.add(spinner.progressSink());
+			}
+			return created;
+		});
+		// every thread owns some sinks and shares the last one with all other threads
+		LoadingSpinnerProgressSink sharedSink = sinks.get(spinnerCount - 1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> writers = new ArrayList<>();
+			for (int thread = 0; thread < threadCount; thread++) {
+				List<LoadingSpinnerProgressSink> ownSinks = sinks.subList(thread * sinksPerThread, (thread + 1) * sinksPerThread);
+				writers.add(executor.submit(() -> {
+					start.await();
+					for (int write = 1; write <= writesPerThread; write++) {
+						double progress = (double) write / writesPerThread;
+						for (LoadingSpinnerProgressSink sink : ownSinks) {
+							sink.setProgress(progress);
+						}
+						sharedSink.setProgress(progress / 2);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		sharedSink.setProgress(0.75);
+
+		// the sinks were queued before this task, they are drained on the same pulse
+		FxTestSupport.callOnNextDispatch(() -> {
+			for (int i = 0; i < spinnerCount; i++) {
+				double expected = i == spinnerCount - 1 ? 0.75 : 1;
+				assertEquals(expected, spinners.get(i).getProgress(), "progress of spinner " + i);
+				assertEquals(expected, sinks.get(i).getProgress());
+			}
+			return null;
+		});
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.unregister(countPulse);
+			for (List<Long> pulses : appliedPulses) {
+				assertTrue(pulses.size() > 0);
+				assertEquals(pulses.size(), new HashSet<>(pulses).size(), "progress applied more than once in a pulse");
+			}
+		});
+	}
+
+	@Test
+	void heldSinkDoesNotKeepItsSpinnerReachable() throws Exception {
+		LoadingSpinnerProgressSink[] sink = new LoadingSpinnerProgressSink[1];
+		WeakReference<LoadingSpinner> spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner created = new LoadingSpinner();
+			sink[0] = created.progressSink();
+			return new WeakReference<>(created);
+		});
+		assertTrue(FxTestSupport.awaitCollected(spinner));
+
+		// writes to the sink of a collected spinner are ignored
+		sink[0].setProgress(0.5);
+		FxTestSupport.callOnNextDispatch(() -> null);
+		assertEquals(0.5, sink[0].getProgress());
+	}
+
+	@Test
+	void drainedSinkIsNotKeptReachable() throws Exception {
+		List<WeakReference<?>> references = writeToNewSink();
+		FxTestSupport.callOnNextDispatch(() -> null);
+
+		for (WeakReference<?> reference : references) {
+			assertTrue(FxTestSupport.awaitCollected(reference), "queued sink released after the drain");
+		}
+	}
+
+	/**
+	 * Writes to the sink of an unreferenced spinner from another thread, which queues the sink for the next drain.
+	 */
+	private static List<WeakReference<?>> writeToNewSink() throws Exception {
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(LoadingSpinner::new);
+		LoadingSpinnerProgressSink sink = FxTestSupport.callOnFxThread(spinner::progressSink);
+		CompletableFuture.runAsync(() -> sink.setProgress(0.5)).get(10, TimeUnit.SECONDS);
+		return List.of(new WeakReference<>(spinner), new WeakReference<>(sink));
+	}
+}
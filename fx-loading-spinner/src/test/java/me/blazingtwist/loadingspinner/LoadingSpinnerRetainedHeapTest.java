@@ -0,0 +1,136 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Measures the heap retained by shown, skinned spinners, as the heap growth after garbage collection divided by the number of spinners.</p>
+ * <p>The measured bytes are printed with the test output, so that they can be compared across changes.
+ * Creating every lazily created property reproduces the footprint of a spinner that creates its properties eagerly.</p>
+ */
+class LoadingSpinnerRetainedHeapTest {
+
+	private static final int spinnerCount = 1000;
+
+	private static final List<LoadingSpinnerPaintAnimationInfo> paints = List.of(
+			new LoadingSpinnerPaintAnimationInfo(Color.RED, null, null, null),
+			new LoadingSpinnerPaintAnimationInfo(Color.BLUE, null, null, null)
+	);
+	private static final List<LoadingSpinnerAnimatedIcon> icons = List.of(LoadingSpinnerAnimatedIcon.greenCheckMark, LoadingSpinnerAnimatedIcon.redCross);
+	private static final LoadingSpinnerProfile profile = new LoadingSpinnerProfile(paints, icons, 24d, 3d, Duration.millis(100), Duration.millis(200));
+
+	private static Stage stage;
+	private static StackPane root;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> stage.hide());
+	}
+
+	@Test
+	void lazyPropertiesAndSharedProfilesReduceTheRetainedHeap() throws Exception {
+		Consumer<LoadingSpinner> noSetup = spinner -> {
+		};
+		Consumer<LoadingSpinner> createAllProperties = LoadingSpinnerRetainedHeapTest::createAllProperties;
+		Consumer<LoadingSpinner> configurePerSpinner = spinner -> {
+			spinner.getPaintAnimationSequence().setAll(paints);
+			spinner.getIconSequence().setAll(icons);
+			spinner.setRadius(24);
+			spinner.setThickness(3);
+			spinner.setMinProgressInterval(Duration.millis(100));
+			spinner.setProgressSmoothing(Duration.millis(200));
+		};
+		Consumer<LoadingSpinner> configureByProfile = spinner -> spinner.setProfile(profile);
+
+		// class loading, css and skin caches
+		retainedBytesPerSpinner(createAllProperties.andThen(configurePerSpinner));
+
+		long defaultBytes = retainedBytesPerSpinner(noSetup);
+		long allPropertiesBytes = retainedBytesPerSpinner(createAllProperties);
+		long perSpinnerBytes = retainedBytesPerSpinner(configurePerSpinner);
+		long profileBytes = retainedBytesPerSpinner(configureByProfile);
+		System.out.printf("retained bytes per shown spinner: default %d, all properties created %d, configured per spinner %d, configured by profile %d%n",
+				defaultBytes, allPropertiesBytes, perSpinnerBytes, profileBytes);
+
+		assertTrue(defaultBytes < allPropertiesBytes,
+				"default spinner retains " + defaultBytes + " bytes, with all properties created " + allPropertiesBytes + " bytes");
+		assertTrue(profileBytes < perSpinnerBytes,
+				"spinner configured by a shared profile retains " + profileBytes + " bytes, configured per spinner " + perSpinnerBytes + " bytes");
+	}
+
+	private static void createAllProperties(LoadingSpinner spinner) {
+		spinner.indeterminateStyleProperty();
+		spinner.profileProperty();
+		spinner.iconPackProperty();
+		spinner.clockProperty();
+		spinner.freezeWhenIdleProperty();
+		spinner.maxFpsProperty();
+		spinner.animationPriorityProperty();
+		spinner.coalesceProgressProperty();
+		spinner.minProgressIntervalProperty();
+		spinner.progressSmoothingProperty();
+		spinner.extrapolateProgressProperty();
+		spinner.updatingProperty();
+		spinner.getPaintAnimationSequence();
+		spinner.getIconSequence();
+	}
+
+	/**
+	 * @return the fewest bytes retained per spinner in one of several runs, each showing {@link #spinnerCount} spinners set up by the given action
+	 */
+	private static long retainedBytesPerSpinner(Consumer<LoadingSpinner> setup) throws Exception {
+		long fewestBytes = Long.MAX_VALUE;
+		for (int run = 0; run < 2; run++) {
+			long baseline = usedHeapAfterGc();
+			List<LoadingSpinner> spinners = FxTestSupport.callOnFxThread(() -> {
+				List<LoadingSpinner> shown = new ArrayList<>(spinnerCount);
+				for (int i = 0; i < spinnerCount; i++) {
+					LoadingSpinner spinner = new LoadingSpinner();
+					setup.accept(spinner);
+					shown.add(spinner);
+				}
+				root.getChildren().setAll(shown);
+				return shown;
+			});
+			// skinned and laid out by the next pulse
+			FxTestSupport.waitForPulses();
+			long retainedBytes = usedHeapAfterGc() - baseline;
+			Reference.reachabilityFence(spinners);
+			FxTestSupport.runOnFxThread(() -> root.getChildren().clear());
+			fewestBytes = Math.min(fewestBytes, retainedBytes / spinnerCount);
+		}
+		return fewestBytes;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
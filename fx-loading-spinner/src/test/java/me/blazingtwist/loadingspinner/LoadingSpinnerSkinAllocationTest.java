@@ -0,0 +1,141 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import javafx.animation.Animation;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives the indeterminate timeline of a shown {@link LoadingSpinnerSkin} pulse by pulse on the FX thread,
+ * the way the toolkit's animation timer does, but without rendering in between.
+ * After each pulse the bar geometry is read like the scene graph sync does, which revalidates the properties,
+ * so that their listeners run on every pulse.
+ */
+class LoadingSpinnerSkinAllocationTest {
+
+	private static final int warmUpPulses = 100_000;
+	private static final int measuredPulses = 50_000;
+	private static final long ticksPerSecond = 6000; // resolution of the animation timer
+	private static final long ticksPerPulse = ticksPerSecond / 60;
+
+	/**
+	 * {@link Animation}'s package-private time pulse, called by the pulse receiver the animation registers at the timer.
+	 */
+	private static final MethodHandle doTimePulse;
+
+	static {
+		try {
+			Method method = Animation.class.getDeclaredMethod("doTimePulse", long.class);
+			method.setAccessible(true);
+			doTimePulse = MethodHandles.lookup().unreflect(method);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static Stage stage;
+	private static StackPane root;
+	private static long pulseTicks = 0;
+
+	/**
+	 * Sink for the read geometry, so that reading it is not optimized away.
+	 */
+	private static double sink;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.setEnabled(false);
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> stage.hide());
+	}
+
+	@Test
+	void indeterminatePulsesDoNotAllocate() throws Exception {
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner shown = new LoadingSpinner();
+			shown.setIndeterminate(true);
+			root.getChildren().setAll(shown);
+			return shown;
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			Timeline timeline = skin.indeterminateTimeline;
+			assertEquals(Animation.Status.RUNNING, timeline.getStatus());
+			long cycleTicks = Math.round(timeline.getCycleDuration().toSeconds() * ticksPerSecond);
+			assertTrue(measuredPulses * ticksPerPulse > 10 * cycleTicks, "measured pulses cover several cycle ends");
+
+			double startAngle = skin.progressBar.getStartAngle();
+			runPulses(skin, timeline, warmUpPulses);
+			assertNotEquals(startAngle, skin.progressBar.getStartAngle(), "the timeline moves the bar");
+
+			long allocatedBytes = measureAllocatedBytes(() -> runPulses(skin, timeline, measuredPulses));
+			assertEquals(0, allocatedBytes, "bytes allocated by " + measuredPulses + " indeterminate pulses");
+			assertSame(timeline, skin.indeterminateTimeline, "the looping timeline is reused across cycles");
+			root.getChildren().clear();
+		});
+	}
+
+	private static void runPulses(LoadingSpinnerSkin skin, Animation animation, int pulses) {
+		double geometry = 0;
+		try {
+			for (int i = 0; i < pulses; i++) {
+				pulseTicks += ticksPerPulse;
+				doTimePulse.invokeExact(animation, pulseTicks);
+				geometry += skin.progressBar.getStartAngle() + skin.progressBar.getLength();
+			}
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+		sink += geometry;
+	}
+
+	/**
+	 * @return the fewest bytes allocated by the current thread in one of several runs of the action, corrected by the cost of measuring itself.
+	 * A per-pulse allocation shows in every run, one-off allocations of the toolkit (e.g. a lazily initialized field) only in some.
+	 */
+	private static long measureAllocatedBytes(Runnable action) {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		Runnable noAction = () -> {
+		};
+		// first calls initialize the bean, they allocate
+		measure(threadBean, threadId, noAction);
+		long overhead = measure(threadBean, threadId, noAction);
+		long fewestBytes = Long.MAX_VALUE;
+		for (int run = 0; run < 3; run++) {
+			fewestBytes = Math.min(fewestBytes, measure(threadBean, threadId, action) - overhead);
+		}
+		return fewestBytes;
+	}
+
+	private static long measure(com.sun.management.ThreadMXBean threadBean, long threadId, Runnable action) {
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		action.run();
+		return threadBean.getThreadAllocatedBytes(threadId) - before;
+	}
+}
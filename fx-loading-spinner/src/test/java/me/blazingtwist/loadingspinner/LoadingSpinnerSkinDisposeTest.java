@@ -0,0 +1,140 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerSkinDisposeTest {
+
+	private static final int skinCount = 10_000;
+	private static final int batchSize = 500;
+	private static final long allowedHeapGrowthBytes = 16L * 1024 * 1024;
+
+	private static Stage stage;
+	private static StackPane root;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> {
+			stage.hide();
+			LoadingSpinnerAnimationEngine.setEnabled(false);
+		});
+	}
+
+	@Test
+	void disposedSkinsReleaseEngineAndHeap() throws Exception {
+		FxTestSupport.runOnFxThread(() -> LoadingSpinnerAnimationEngine.setEnabled(true));
+		// warm up class loading, css and the engine timer before taking the baseline
+		createAndDisposeSkins(batchSize, null);
+		FxTestSupport.waitForPulses();
+		int baselineEngineCount = FxTestSupport.callOnFxThread(LoadingSpinnerAnimationEngine::getRegisteredCount);
+		int baselineShownCount = FxTestSupport.callOnFxThread(LoadingSpinnerAnimationScheduler::getShownCount);
+		long baselineHeap = usedHeapAfterGc();
+
+		List<WeakReference<LoadingSpinnerSkin>> skins = new ArrayList<>(skinCount);
+		createAndDisposeSkins(skinCount, skins);
+		FxTestSupport.waitForPulses();
+
+		assertEquals(baselineEngineCount, (int) FxTestSupport.callOnFxThread(LoadingSpinnerAnimationEngine::getRegisteredCount),
+				"pulse callbacks registered after disposing");
+		assertEquals(baselineShownCount, (int) FxTestSupport.callOnFxThread(LoadingSpinnerAnimationScheduler::getShownCount),
+				"skins known to the scheduler after disposing");
+
+		long heapGrowth = usedHeapAfterGc() - baselineHeap;
+		long reachableSkins = skins.stream().filter(reference -> reference.get() != null).count();
+		assertEquals(0, reachableSkins, "disposed skins still reachable");
+		assertTrue(heapGrowth < allowedHeapGrowthBytes, "heap grew by " + heapGrowth + " bytes after disposing " + skinCount + " skins");
+	}
+
+	@Test
+	void disposedSkinIgnoresItsAnimations() throws Exception {
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.setEnabled(false);
+			LoadingSpinner shown = new LoadingSpinner();
+			shown.setIndeterminate(true);
+			shown.setFreezeWhenIdle(true);
+			root.getChildren().setAll(shown);
+			return shown;
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			Timeline timeline = skin.indeterminateTimeline;
+			assertNotNull(timeline);
+			spinner.setSkin(null);
+			root.getChildren().clear();
+
+			timeline.play();
+			timeline.stop();
+			assertFalse(skin.freezePending, "status change of a disposed skin's animation requested an idle freeze");
+			assertFalse(skin.engineRegistered);
+		});
+	}
+
+	/**
+	 * Shows animating spinners (indeterminate, engine registered), then disposes their skins while they are still shown, in batches.
+	 */
+	private static void createAndDisposeSkins(int count, List<WeakReference<LoadingSpinnerSkin>> skinReferences) throws Exception {
+		int engineCountBefore = FxTestSupport.callOnFxThread(LoadingSpinnerAnimationEngine::getRegisteredCount);
+		for (int created = 0; created < count; created += batchSize) {
+			int size = Math.min(batchSize, count - created);
+			List<LoadingSpinner> spinners = FxTestSupport.callOnFxThread(() -> {
+				List<LoadingSpinner> batch = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					LoadingSpinner spinner = new LoadingSpinner();
+					spinner.setIndeterminate(true);
+					LoadingSpinnerSkin skin = new LoadingSpinnerSkin(spinner);
+					spinner.setSkin(skin);
+					if (skinReferences != null) {
+						skinReferences.add(new WeakReference<>(skin));
+					}
+					batch.add(spinner);
+				}
+				root.getChildren().addAll(batch);
+				return batch;
+			});
+			FxTestSupport.waitForPulses();
+			int engineCountShown = FxTestSupport.callOnFxThread(LoadingSpinnerAnimationEngine::getRegisteredCount);
+			assertTrue(engineCountShown >= engineCountBefore + size, "shown spinners animate on the engine, registered: " + engineCountShown);
+			FxTestSupport.runOnFxThread(() -> {
+				for (LoadingSpinner spinner : spinners) {
+					spinner.setSkin(null);
+				}
+				root.getChildren().removeAll(spinners);
+			});
+		}
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,126 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.function.Function;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerSkinProgressTest {
+
+	private static Stage stage;
+	private static StackPane root;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerAnimationEngine.setEnabled(false);
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> stage.hide());
+	}
+
+	@Test
+	void defaultSkinCoalescesSubPixelProgress() throws Exception {
+		assertCoalescesSubPixelProgress(LoadingSpinnerSkin::new);
+	}
+
+	@Test
+	void canvasSkinCoalescesSubPixelProgress() throws Exception {
+		assertCoalescesSubPixelProgress(LoadingSpinnerCanvasSkin::new);
+	}
+
+	@Test
+	void minProgressIntervalFollowsTheClock() throws Exception {
+		LoadingSpinnerClock.Manual clock = new LoadingSpinnerClock.Manual();
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner shown = new LoadingSpinner();
+			shown.setClock(clock);
+			shown.setMinProgressInterval(Duration.millis(100));
+			shown.setProgress(0.2);
+			root.getChildren().setAll(shown);
+			return shown;
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			assertEquals(0.2, skin.appliedProgress, "the first progress is shown right away");
+			spinner.setProgress(0.4);
+			spinner.setProgress(0.6);
+			assertEquals(0.2, skin.appliedProgress, "held back by the interval");
+		});
+		// more than the interval passes in real time, but not on the clock
+		Thread.sleep(250);
+		FxTestSupport.waitForPulses();
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			assertEquals(0.2, skin.appliedProgress, "the clock has not advanced");
+			clock.advance(Duration.millis(99));
+		});
+		FxTestSupport.waitForPulses();
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			assertEquals(0.2, skin.appliedProgress, "the interval has not passed on the clock");
+			clock.advance(Duration.millis(1));
+		});
+		FxTestSupport.waitForPulses();
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			assertEquals(0.6, skin.appliedProgress, "the latest progress is shown once the interval has passed on the clock");
+			assertFalse(skin.progressDelayPending);
+			root.getChildren().clear();
+		});
+	}
+
+	private static void assertCoalescesSubPixelProgress(Function<LoadingSpinner, LoadingSpinnerSkin> skinFactory) throws Exception {
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner shown = new LoadingSpinner();
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) skinFactory.apply(shown);
+			// measuring text needs the native font library, which headless environments may lack, the text is not part of this test
+			skin.progressText.setManaged(false);
+			shown.setSkin(skin);
+			shown.setRadius(20);
+			shown.setThickness(2);
+			shown.setCoalesceProgress(true);
+			root.getChildren().setAll(shown);
+			return shown;
+		});
+		// laid out by the next pulse
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+			assertEquals(20, skin.getArcRadius(), 1e-9);
+
+			spinner.setProgress(0.5);
+			assertEquals(0.5, skin.appliedProgress);
+
+			// 0.0005 of the circumference of a 20px circle is about 0.06px
+			spinner.setProgress(0.5005);
+			assertEquals(0.5, skin.appliedProgress, "sub-pixel change is coalesced");
+			spinner.setProgress(0.502);
+			assertEquals(0.5, skin.appliedProgress, "sub-pixel change is coalesced");
+
+			// 0.01 of the circumference is about 1.26px
+			spinner.setProgress(0.51);
+			assertEquals(0.51, skin.appliedProgress, "visible change is applied");
+			assertEquals(51, skin.appliedPercent);
+			root.getChildren().clear();
+		});
+	}
+}
@@ -0,0 +1,162 @@
+package me.blazingtwist.loadingspinner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LoadingSpinnerTest {
+
+	private static final List<String> lazyProperties = List.of(
+			"updating", "indeterminateStyle", "profile", "iconPack", "clock", "freezeWhenIdle", "maxFps", "animationPriority",
+			"coalesceProgress", "minProgressInterval", "progressSmoothing", "extrapolateProgress"
+	);
+
+	private static final LoadingSpinnerPaintAnimationInfo profilePaint = new LoadingSpinnerPaintAnimationInfo(Color.RED, null, null, null);
+	private static final LoadingSpinnerProfile profile = new LoadingSpinnerProfile(
+			List.of(profilePaint), List.of(LoadingSpinnerAnimatedIcon.greenCheckMark), null, null, Duration.millis(100), null
+	);
+
+	private static Stage stage;
+	private static StackPane root;
+
+	@BeforeAll
+	static void showStage() throws Exception {
+		FxTestSupport.startToolkit();
+		FxTestSupport.runOnFxThread(() -> {
+			root = new StackPane();
+			stage = new Stage();
+			stage.setScene(new Scene(root, 200, 200));
+			stage.show();
+		});
+	}
+
+	@AfterAll
+	static void hideStage() throws Exception {
+		FxTestSupport.runOnFxThread(() -> stage.hide());
+	}
+
+	@Test
+	void shownSpinnerDoesNotCreateUnsetProperties() throws Exception {
+		LoadingSpinner spinner = FxTestSupport.callOnFxThread(() -> {
+			LoadingSpinner shown = new LoadingSpinner();
+			shown.setIndeterminate(true);
+			root.getChildren().setAll(shown);
+			shown.applyCss();
+			shown.update(s -> s.setProgress(0.5));
+			return shown;
+		});
+		FxTestSupport.waitForPulses();
+
+		FxTestSupport.runOnFxThread(() -> {
+			assertNotNull(spinner.getSkin());
+			for (String property : lazyProperties) {
+				assertNull(readField(spinner, property), property + " created without being set");
+			}
+			assertEquals(LoadingSpinnerIndeterminateStyle.INFLATE, spinner.getIndeterminateStyle());
+			assertSame(LoadingSpinnerClock.SYSTEM, spinner.getClock());
+			assertEquals(Duration.ZERO, spinner.getMinProgressInterval());
+			assertFalse(spinner.isUpdating());
+			root.getChildren().clear();
+		});
+	}
+
+	@Test
+	void unsetPropertiesUseTheProfile() throws Exception {
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinner spinner = new LoadingSpinner();
+			spinner.setProfile(profile);
+			assertEquals(Duration.millis(100), spinner.getMinProgressInterval());
+			assertNull(readField(spinner, "minProgressInterval"));
+
+			spinner.setMinProgressInterval(Duration.millis(20));
+			assertEquals(Duration.millis(20), spinner.getMinProgressInterval());
+		});
+	}
+
+	@Test
+	void styledPropertiesAreCreated() throws Exception {
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinner spinner = new LoadingSpinner();
+			spinner.setStyle(LoadingSpinner.css_property_maxFps + ": 30; " + LoadingSpinner.css_property_indeterminateStyle + ": rotate;");
+			root.getChildren().setAll(spinner);
+			spinner.applyCss();
+			assertEquals(30, spinner.getMaxFps());
+			assertEquals(LoadingSpinnerIndeterminateStyle.ROTATE, spinner.getIndeterminateStyle());
+			assertNull(readField(spinner, "animationPriority"));
+			root.getChildren().clear();
+		});
+	}
+
+	@Test
+	void skinObservesLazilyCreatedSettings() throws Exception {
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinner spinner = new LoadingSpinner();
+			spinner.setIndeterminate(true);
+			root.getChildren().setAll(spinner);
+			spinner.applyCss();
+			LoadingSpinnerSkin skin = (LoadingSpinnerSkin) spinner.getSkin();
+
+			spinner.setIndeterminateStyle(LoadingSpinnerIndeterminateStyle.ROTATE);
+			spinner.setMaxFps(24);
+			assertEquals(LoadingSpinnerIndeterminateStyle.ROTATE, skin.observedIndeterminateStyle);
+			assertEquals(24, skin.observedMaxFps);
+
+			spinner.update(s -> {
+				s.setProfile(profile);
+				assertTrue(s.isUpdating());
+				assertSame(profile, skin.observedProfile);
+				assertTrue((skin.pendingUpdates & LoadingSpinnerSkin.pendingUpdate_paint) != 0, "paint change deferred until the update ends");
+			});
+			assertEquals(0, skin.pendingUpdates);
+			root.getChildren().clear();
+		});
+	}
+
+	@Test
+	void modifiedSequencesOverrideTheProfileEvenWhenEmpty() throws Exception {
+		FxTestSupport.runOnFxThread(() -> {
+			LoadingSpinner spinner = new LoadingSpinner();
+			spinner.setProfile(profile);
+			spinner.getPaintAnimationSequence();
+			spinner.getIconSequence();
+			assertEquals(List.of(profilePaint), spinner.getEffectivePaintAnimationSequence(), "accessing the list does not set it");
+			assertSame(LoadingSpinnerAnimatedIcon.greenCheckMark, spinner.getAnimatedIcon(IconKey.getByIndex(0)));
+
+			spinner.getPaintAnimationSequence().add(new LoadingSpinnerPaintAnimationInfo(Color.BLUE, null, null, null));
+			spinner.getPaintAnimationSequence().clear();
+			spinner.getIconSequence().add(LoadingSpinnerAnimatedIcon.redCross);
+			spinner.getIconSequence().clear();
+			assertEquals(List.of(), spinner.getEffectivePaintAnimationSequence());
+			assertNull(spinner.getAnimatedIcon(IconKey.getByIndex(0)));
+
+			spinner.resetPaintAnimationSequence();
+			spinner.resetIconSequence();
+			assertEquals(List.of(profilePaint), spinner.getEffectivePaintAnimationSequence());
+			assertSame(LoadingSpinnerAnimatedIcon.greenCheckMark, spinner.getAnimatedIcon(IconKey.getByIndex(0)));
+		});
+	}
+
+	private static Object readField(LoadingSpinner spinner, String name) {
+		try {
+			Field field = LoadingSpinner.class.getDeclaredField(name);
+			field.setAccessible(true);
+			return field.get(spinner);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
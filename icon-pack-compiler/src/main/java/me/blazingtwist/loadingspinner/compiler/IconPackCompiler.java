@@ -0,0 +1,68 @@
+package me.blazingtwist.loadingspinner.compiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import me.blazingtwist.loadingspinner.LoadingSpinnerAnimatedIcon;
+import me.blazingtwist.loadingspinner.LoadingSpinnerIconPack;
+
+/**
+ * <p>Compiles svg files into a {@link LoadingSpinnerIconPack}.</p>
+ * <p>Usage: {@code IconPackCompiler <output file> <svg file or directory>...}</p>
+ * <p>Directories are searched recursively for '.svg' files, see {@link SvgIconReader} for how each file is converted.</p>
+ */
+public final class IconPackCompiler {
+
+	private IconPackCompiler() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: IconPackCompiler <output file> <svg file or directory>...");
+			System.exit(1);
+		}
+
+		List<Path> svgFiles = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			collectSvgFiles(Path.of(args[i]), svgFiles);
+		}
+		Path output = Path.of(args[0]);
+		compile(svgFiles, output);
+		System.out.println("compiled " + svgFiles.size() + " icons into " + output);
+	}
+
+	/**
+	 * Converts the given svg files and writes them as an icon pack.
+	 */
+	public static void compile(List<Path> svgFiles, Path output) throws IOException {
+		SvgIconReader reader = new SvgIconReader();
+		List<LoadingSpinnerAnimatedIcon> icons = new ArrayList<>(svgFiles.size());
+		for (Path svgFile : svgFiles) {
+			icons.add(reader.read(svgFile));
+		}
+
+		Path parent = output.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (OutputStream outputStream = Files.newOutputStream(output)) {
+			LoadingSpinnerIconPack.write(icons, outputStream);
+		}
+	}
+
+	private static void collectSvgFiles(Path path, List<Path> svgFiles) throws IOException {
+		if (!Files.isDirectory(path)) {
+			svgFiles.add(path);
+			return;
+		}
+		try (Stream<Path> files = Files.walk(path)) {
+			files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().toLowerCase().endsWith(".svg"))
+					.sorted()
+					.forEach(svgFiles::add);
+		}
+	}
+}
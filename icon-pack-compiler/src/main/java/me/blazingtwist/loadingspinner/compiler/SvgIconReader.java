@@ -0,0 +1,209 @@
+package me.blazingtwist.loadingspinner.compiler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javafx.scene.paint.Paint;
+import me.blazingtwist.loadingspinner.LoadingSpinnerAnimatedIcon;
+import me.blazingtwist.loadingspinner.LoadingSpinnerIconRegistry;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>Converts an svg file into a {@link LoadingSpinnerAnimatedIcon}.</p>
+ * <p>The 'd' attributes of all path elements are joined into the icon path, the stroke of the first path (or the svg element) becomes its paint.</p>
+ * <p>The remaining fields are derived from the file, each can be overridden by an attribute of the svg element:</p>
+ * <ul>
+ *     <li>'data-key': file name without the '.svg' extension (the whole file name if it has another extension)</li>
+ *     <li>'data-path-length': exact length of the longest subpath</li>
+ *     <li>'data-reference-radius': half the smaller side of the viewBox, the viewBox is the spinner's inner square</li>
+ *     <li>'data-offset-x', 'data-offset-y': offset of the path's center from the viewBox center</li>
+ *     <li>'data-gap-angle', 'data-gap-width': opening of the progress bar around the parts of the path that reach the ring</li>
+ *     <li>'data-paint': any value accepted by {@link Paint#valueOf(String)}</li>
+ * </ul>
+ */
+public class SvgIconReader {
+
+	/**
+	 * Parts of the path further from the center than this share of the reference radius open a gap in the progress bar.
+	 */
+	private static final double gapDistanceFactor = 0.75;
+
+	/**
+	 * Added to both sides of the gap, in °degrees, so that the bar does not touch the stroke.
+	 */
+	private static final double gapPadding = 10;
+
+	private static final int curveSamples = 32;
+
+	private static final String svgExtension = ".svg";
+
+	private final DocumentBuilder documentBuilder;
+
+	public SvgIconReader() {
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			factory.setExpandEntityReferences(false);
+			documentBuilder = factory.newDocumentBuilder();
+		} catch (ParserConfigurationException e) {
+			throw new IllegalStateException("failed to create svg parser", e);
+		}
+	}
+
+	public LoadingSpinnerAnimatedIcon read(Path svgFile) throws IOException {
+		Document document;
+		try {
+			document = documentBuilder.parse(svgFile.toFile());
+		} catch (SAXException e) {
+			throw new IOException("malformed svg file: " + svgFile, e);
+		}
+		Element svg = document.getDocumentElement();
+
+		List<String> pathData = new ArrayList<>();
+		String stroke = null;
+		NodeList pathElements = svg.getElementsByTagName("path");
+		for (int i = 0; i < pathElements.getLength(); i++) {
+			Element pathElement = (Element) pathElements.item(i);
+			String d = pathElement.getAttribute("d").strip();
+			if (!d.isEmpty()) {
+				// a leading relative move-to is absolute within its own element, but would not be after joining
+				pathData.add(d.charAt(0) == 'm' ? 'M' + d.substring(1) : d);
+			}
+			if (stroke == null) {
+				stroke = getPaintAttribute(pathElement);
+			}
+		}
+		if (pathData.isEmpty()) {
+			throw new IOException("svg file contains no path: " + svgFile);
+		}
+		String path = String.join(" ", pathData);
+		LoadingSpinnerIconRegistry.Geometry geometry;
+		try {
+			geometry = LoadingSpinnerIconRegistry.getGeometry(path);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("malformed path in svg file: " + svgFile, e);
+		}
+
+		String key = getAttribute(svg, "data-key", getDefaultKey(svgFile));
+		String paint = getAttribute(svg, "data-paint", stroke != null ? stroke : getPaintAttribute(svg));
+
+		double[] viewBox = parseViewBox(svg);
+		double referenceRadius;
+		double offsetX;
+		double offsetY;
+		if (viewBox != null) {
+			referenceRadius = Math.min(viewBox[2], viewBox[3]) / 2;
+			offsetX = geometry.getCenterX() - (viewBox[0] + (viewBox[2] / 2));
+			offsetY = geometry.getCenterY() - (viewBox[1] + (viewBox[3] / 2));
+		} else {
+			referenceRadius = Math.max(geometry.getMaxX() - geometry.getMinX(), geometry.getMaxY() - geometry.getMinY()) / 2;
+			offsetX = 0;
+			offsetY = 0;
+		}
+		referenceRadius = getDoubleAttribute(svg, "data-reference-radius", referenceRadius);
+		offsetX = getDoubleAttribute(svg, "data-offset-x", offsetX);
+		offsetY = getDoubleAttribute(svg, "data-offset-y", offsetY);
+
+		double[] gap = computeGap(geometry, referenceRadius, offsetX, offsetY);
+		return new LoadingSpinnerAnimatedIcon(
+				key,
+				path,
+				getDoubleAttribute(svg, "data-path-length", geometry.getLongestSubpathLength()),
+				referenceRadius,
+				paint != null ? Paint.valueOf(paint) : null,
+				getDoubleAttribute(svg, "data-gap-width", gap[0]),
+				getDoubleAttribute(svg, "data-gap-angle", gap[1]),
+				offsetX,
+				offsetY
+		);
+	}
+
+	/**
+	 * @return [gapWidth, gapAngle] spanning all points of the path that come close to the ring of the spinner
+	 */
+	static double[] computeGap(LoadingSpinnerIconRegistry.Geometry geometry, double referenceRadius, double offsetX, double offsetY) {
+		if (referenceRadius <= 0) {
+			return new double[]{0, -45};
+		}
+		double[] points = geometry.samplePoints(curveSamples);
+		double[] angles = new double[points.length / 2];
+		int angleCount = 0;
+		for (int i = 0; i < points.length; i += 2) {
+			// skins center the path on its bounds, then apply the offset
+			double x = points[i] - geometry.getCenterX() + offsetX;
+			double y = points[i + 1] - geometry.getCenterY() + offsetY;
+			if (Math.hypot(x, y) >= referenceRadius * gapDistanceFactor) {
+				angles[angleCount++] = Math.toDegrees(Math.atan2(y, x)); // clockwise from 3 o'clock, as y points down
+			}
+		}
+		if (angleCount == 0) {
+			return new double[]{0, -45};
+		}
+
+		// the smallest arc containing all angles is the complement of the largest empty arc between them
+		Arrays.sort(angles, 0, angleCount);
+		double largestEmptyArc = (angles[0] + 360) - angles[angleCount - 1];
+		double arcStart = angles[0];
+		for (int i = 1; i < angleCount; i++) {
+			double emptyArc = angles[i] - angles[i - 1];
+			if (emptyArc > largestEmptyArc) {
+				largestEmptyArc = emptyArc;
+				arcStart = angles[i];
+			}
+		}
+		double span = 360 - largestEmptyArc;
+		double gapAngle = arcStart + (span / 2);
+		gapAngle = gapAngle > 180 ? gapAngle - 360 : gapAngle;
+		return new double[]{Math.min(360, span + (2 * gapPadding)), gapAngle};
+	}
+
+	/**
+	 * @return the file name without the '.svg' extension (in any case), or the whole file name if it does not end with it
+	 */
+	private static String getDefaultKey(Path svgFile) {
+		String fileName = svgFile.getFileName().toString();
+		int keyLength = fileName.length() - svgExtension.length();
+		return keyLength > 0 && fileName.regionMatches(true, keyLength, svgExtension, 0, svgExtension.length())
+				? fileName.substring(0, keyLength)
+				: fileName;
+	}
+
+	private static double[] parseViewBox(Element svg) {
+		String viewBox = svg.getAttribute("viewBox").strip();
+		if (viewBox.isEmpty()) {
+			return null;
+		}
+		String[] values = viewBox.split("[\\s,]+");
+		if (values.length != 4) {
+			throw new IllegalArgumentException("malformed viewBox: " + viewBox);
+		}
+		double[] result = new double[4];
+		for (int i = 0; i < 4; i++) {
+			result[i] = Double.parseDouble(values[i]);
+		}
+		return result;
+	}
+
+	private static String getPaintAttribute(Element element) {
+		String stroke = element.getAttribute("stroke").strip();
+		return stroke.isEmpty() || stroke.equals("none") || stroke.equals("currentColor") ? null : stroke;
+	}
+
+	private static String getAttribute(Element element, String name, String defaultValue) {
+		return element.hasAttribute(name) ? element.getAttribute(name).strip() : defaultValue;
+	}
+
+	private static double getDoubleAttribute(Element element, String name, double defaultValue) {
+		return element.hasAttribute(name) ? Double.parseDouble(element.getAttribute(name).strip()) : defaultValue;
+	}
+}
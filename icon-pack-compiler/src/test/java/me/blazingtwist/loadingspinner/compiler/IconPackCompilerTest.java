@@ -0,0 +1,144 @@
+package me.blazingtwist.loadingspinner.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import me.blazingtwist.loadingspinner.LoadingSpinnerAnimatedIcon;
+import me.blazingtwist.loadingspinner.LoadingSpinnerIconPack;
+import me.blazingtwist.loadingspinner.LoadingSpinnerIconRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IconPackCompilerTest {
+
+	private static final double exact = 1e-9;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void compiledPackReadsBackDerivedFields() throws IOException {
+		// check mark in a 40x40 viewBox, drawn with a relative move-to in each element
+		Path check = writeSvg("check.svg", """
+				<svg xmlns="http://www.w3.org/2000/svg" viewBox="0 0 40 40">
+				    <path d="m 10 20 l 6 8" stroke="#47da37"/>
+				    <path d="m 16 28 l 14 -18" stroke="#ff0000"/>
+				</svg>
+				""");
+		Path pack = directory.resolve("out/icons.lsip");
+		IconPackCompiler.compile(List.of(check), pack);
+
+		LoadingSpinnerAnimatedIcon icon = LoadingSpinnerIconPack.open(pack).getIcon("check");
+		assertEquals("M 10 20 l 6 8 M 16 28 l 14 -18", icon.getPath(), "leading relative move-to of each element becomes absolute");
+		assertEquals(Paint.valueOf("#47da37"), icon.getPaint(), "stroke of the first path");
+		assertEquals(20, icon.getReferenceRadius(), exact);
+
+		LoadingSpinnerIconRegistry.Geometry geometry = LoadingSpinnerIconRegistry.getGeometry(icon.getPath());
+		assertEquals(Math.hypot(14, 18), icon.getPathLength(), exact, "longest subpath");
+		assertEquals(geometry.getCenterX() - 20, icon.getOffsetX(), exact);
+		assertEquals(geometry.getCenterY() - 20, icon.getOffsetY(), exact);
+	}
+
+	@Test
+	void attributesOverrideDerivedFields() throws IOException {
+		Path svg = writeSvg("ignored-name.svg", """
+				<svg xmlns="http://www.w3.org/2000/svg" viewBox="0 0 40 40" data-key="custom" data-paint="#0000ff"
+				     data-path-length="12.5" data-reference-radius="30" data-offset-x="1" data-offset-y="-2"
+				     data-gap-width="70" data-gap-angle="-90">
+				    <path d="M 0 0 L 10 10" stroke="#ff0000"/>
+				</svg>
+				""");
+		Path pack = directory.resolve("icons.lsip");
+		IconPackCompiler.compile(List.of(svg), pack);
+
+		try (InputStream input = Files.newInputStream(pack)) {
+			LoadingSpinnerIconPack readPack = LoadingSpinnerIconPack.read(input);
+			assertEquals(List.of("custom"), readPack.getKeys());
+			LoadingSpinnerAnimatedIcon icon = readPack.getIcon("custom");
+			assertEquals(Color.BLUE, icon.getPaint());
+			assertEquals(12.5, icon.getPathLength(), exact);
+			assertEquals(30, icon.getReferenceRadius(), exact);
+			assertEquals(1, icon.getOffsetX(), exact);
+			assertEquals(-2, icon.getOffsetY(), exact);
+			assertEquals(70, icon.getGapWidth(), exact);
+			assertEquals(-90, icon.getGapAngle(), exact);
+		}
+	}
+
+	@Test
+	void svgWithoutViewBoxUsesPathBounds() throws IOException {
+		Path svg = writeSvg("plain.svg", """
+				<svg xmlns="http://www.w3.org/2000/svg"><path d="M 0 0 L 30 0 L 30 10"/></svg>
+				""");
+		LoadingSpinnerAnimatedIcon icon = new SvgIconReader().read(svg);
+		assertEquals("plain", icon.getKey());
+		assertNull(icon.getPaint());
+		assertEquals(15, icon.getReferenceRadius(), exact);
+		assertEquals(0, icon.getOffsetX(), exact);
+		assertEquals(0, icon.getOffsetY(), exact);
+	}
+
+	@Test
+	void keyStripsOnlyTheSvgExtension() throws IOException {
+		String content = "<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"M 0 0 L 10 10\"/></svg>";
+		SvgIconReader reader = new SvgIconReader();
+		assertEquals("upper", reader.read(writeSvg("upper.SVG", content)).getKey());
+		assertEquals("icon.xml", reader.read(writeSvg("icon.xml", content)).getKey());
+		assertEquals("a", reader.read(writeSvg("a", content)).getKey(), "names shorter than the extension are kept");
+		assertEquals(".svg", reader.read(writeSvg(".svg", content)).getKey(), "the extension alone is not stripped to an empty key");
+	}
+
+	@Test
+	void invalidSvgFilesAreRejected() throws IOException {
+		SvgIconReader reader = new SvgIconReader();
+		assertThrows(IOException.class, () -> reader.read(writeSvg("empty.svg", "<svg xmlns=\"http://www.w3.org/2000/svg\"/>")));
+		assertThrows(IOException.class, () -> reader.read(writeSvg("broken.svg", "<svg><path d=\"M 0 0 L 1\"/></svg>")));
+		assertThrows(IOException.class, () -> reader.read(writeSvg("malformed.svg", "<svg><path")));
+	}
+
+	@Test
+	void gapSpansThePartsThatReachTheRing() {
+		// vertical line from the center to the top of the ring, the skin centers the path, the offset moves it back up
+		LoadingSpinnerIconRegistry.Geometry upwards = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L 0 -10");
+		assertArrayEquals(new double[]{20, -90}, SvgIconReader.computeGap(upwards, 10, 0, -5), exact);
+
+		// two spokes at -30 and 30 degrees, the gap opens around 0 degrees (3 o'clock)
+		double x = 10 * Math.cos(Math.toRadians(30));
+		double y = 10 * Math.sin(Math.toRadians(30));
+		LoadingSpinnerIconRegistry.Geometry spokes = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L " + x + " " + -y + " M 0 0 L " + x + " " + y);
+		double[] gap = SvgIconReader.computeGap(spokes, 10, x / 2, 0);
+		assertEquals(60 + 20, gap[0], 1e-6);
+		assertEquals(0, gap[1], 1e-6);
+	}
+
+	@Test
+	void gapWrapsAroundNineOClock() {
+		// spokes at 170 and -170 degrees, the gap is centered on 180 degrees instead of spanning the right side
+		double x = 10 * Math.cos(Math.toRadians(170));
+		double y = 10 * Math.sin(Math.toRadians(170));
+		LoadingSpinnerIconRegistry.Geometry spokes = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L " + x + " " + y + " M 0 0 L " + x + " " + -y);
+		double[] gap = SvgIconReader.computeGap(spokes, 10, x / 2, 0);
+		assertEquals(20 + 20, gap[0], 1e-6);
+		assertEquals(180, Math.abs(gap[1]), 1e-6);
+	}
+
+	@Test
+	void gapDefaultsWithoutReachingPoints() {
+		LoadingSpinnerIconRegistry.Geometry small = LoadingSpinnerIconRegistry.getGeometry("M 0 0 L 1 1");
+		assertArrayEquals(new double[]{0, -45}, SvgIconReader.computeGap(small, 10, 0, 0), exact);
+		assertArrayEquals(new double[]{0, -45}, SvgIconReader.computeGap(small, 0, 0, 0), exact);
+	}
+
+	private Path writeSvg(String fileName, String content) throws IOException {
+		return Files.writeString(directory.resolve(fileName), content);
+	}
+}